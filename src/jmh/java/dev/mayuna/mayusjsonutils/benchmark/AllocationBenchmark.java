@@ -0,0 +1,118 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.mayuna.mayusjsonutils.BulkLoadResult;
+import dev.mayuna.mayusjsonutils.BulkLoader;
+import dev.mayuna.mayusjsonutils.LoadOptions;
+import dev.mayuna.mayusjsonutils.MayuJson;
+import dev.mayuna.mayusjsonutils.ObjectLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures allocations of loading and saving small files, run with <code>-prof gc</code> and compare <code>gc.alloc.rate.norm</code> (bytes
+ * allocated per operation). {@link #parseInMemory()} parses the same JSON from {@link String} already in memory, so it allocates little more than
+ * the resulting tree, which is the floor for {@link #loadJsonObject()}. {@link #bulkLoadJsonObjects()} loads {@link #BULK_FILE_COUNT} files
+ * with {@link BulkLoader} on its default executor (virtual threads when supported) and reports allocations per file, so it shows whether pooled
+ * buffers are reused there.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+    private static final int BULK_FILE_COUNT = 64;
+
+    @Param({"1KB", "10KB"})
+    public String size;
+
+    private Path directory;
+    private Path inputPath;
+    private Path outputPath;
+    private Gson gson;
+    private String json;
+    private JsonObject jsonObject;
+    private BenchmarkConfig config;
+    private LoadOptions utf8ParserLoadOptions;
+    private List<Path> bulkInputPaths;
+    private BulkLoader bulkLoader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkDocuments.createTempDirectory();
+        inputPath = directory.resolve("input.json");
+        outputPath = directory.resolve("output.json");
+        gson = BenchmarkDocuments.gson("pretty");
+        config = BenchmarkDocuments.createConfig(size);
+        utf8ParserLoadOptions = LoadOptions.builder().utf8Parser(true).build();
+
+        BenchmarkDocuments.write(config, inputPath, gson);
+        json = new String(Files.readAllBytes(inputPath), StandardCharsets.UTF_8);
+        jsonObject = JsonParser.parseString(json).getAsJsonObject();
+
+        bulkInputPaths = new ArrayList<>();
+
+        for (int index = 0; index < BULK_FILE_COUNT; index++) {
+            Path bulkInputPath = directory.resolve("bulk-" + index + ".json");
+            Files.copy(inputPath, bulkInputPath);
+            bulkInputPaths.add(bulkInputPath);
+        }
+
+        bulkLoader = BulkLoader.builder().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        bulkLoader.close();
+        BenchmarkDocuments.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public JsonElement parseInMemory() {
+        return JsonParser.parseString(json);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObject() throws IOException {
+        return MayuJson.loadJsonObject(inputPath);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObjectUtf8Parser() throws IOException {
+        return MayuJson.loadJsonObject(inputPath, StandardCharsets.UTF_8, utf8ParserLoadOptions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_FILE_COUNT)
+    public BulkLoadResult<MayuJson> bulkLoadJsonObjects() {
+        return bulkLoader.loadJsonObjects(bulkInputPaths);
+    }
+
+    @Benchmark
+    public void saveJson() throws IOException {
+        MayuJson.saveJson(jsonObject, outputPath, gson);
+    }
+
+    @Benchmark
+    public BenchmarkConfig loadOrCreateFrom() throws IOException {
+        return ObjectLoader.loadOrCreateFrom(BenchmarkConfig.class, inputPath, gson);
+    }
+
+    @Benchmark
+    public void saveTo() throws IOException {
+        ObjectLoader.saveTo(config, outputPath, gson);
+    }
+}
@@ -0,0 +1,26 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Config-like class used by the {@link dev.mayuna.mayusjsonutils.ObjectLoader} benchmarks
+ */
+public class BenchmarkConfig {
+
+    public String name = "benchmark";
+    public int version = 1;
+    public boolean enabled = true;
+    public Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public static class Entry {
+
+        public String id;
+        public String description;
+        public long createdAt;
+        public double score;
+        public boolean active;
+        public List<String> tags;
+    }
+}
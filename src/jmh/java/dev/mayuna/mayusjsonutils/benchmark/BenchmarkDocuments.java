@@ -0,0 +1,142 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import dev.mayuna.mayusjsonutils.MayuJson;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Generates benchmark documents of approximate sizes and the {@link Gson} instances the benchmarks are parametrized with
+ */
+public final class BenchmarkDocuments {
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Creates new {@link Gson} for the specified style. The <code>pretty</code> style is configured the same way as {@link MayuJson#DEFAULT_GSON},
+     * the <code>compact</code> style just does not pretty print.<br>
+     * New instance is created every time, so cold benchmarks do not share cached type adapters with the setup code
+     *
+     * @param style <code>pretty</code> or <code>compact</code>
+     *
+     * @return Non-null {@link Gson}
+     */
+    public static Gson gson(String style) {
+        switch (style) {
+            case "pretty":
+                return new GsonBuilder().serializeNulls().setPrettyPrinting().create();
+            case "compact":
+                return new GsonBuilder().serializeNulls().create();
+            default:
+                throw new IllegalArgumentException("Unknown gson style: " + style);
+        }
+    }
+
+    /**
+     * Parses size such as <code>1KB</code>, <code>1MB</code> or <code>100MB</code> into bytes
+     *
+     * @param size Size
+     *
+     * @return Size in bytes
+     */
+    public static long parseSize(String size) {
+        String upperSize = size.toUpperCase(Locale.ROOT);
+
+        if (upperSize.endsWith("KB")) {
+            return Long.parseLong(upperSize.substring(0, upperSize.length() - 2)) * 1024;
+        }
+
+        if (upperSize.endsWith("MB")) {
+            return Long.parseLong(upperSize.substring(0, upperSize.length() - 2)) * 1024 * 1024;
+        }
+
+        return Long.parseLong(upperSize);
+    }
+
+    /**
+     * Creates {@link BenchmarkConfig} which serializes (compactly) into approximately the specified amount of bytes
+     *
+     * @param size Size, see {@link #parseSize(String)}
+     *
+     * @return Non-null {@link BenchmarkConfig}
+     */
+    public static BenchmarkConfig createConfig(String size) {
+        long targetBytes = parseSize(size);
+        BenchmarkConfig config = new BenchmarkConfig();
+        Random random = new Random(42);
+
+        // One compact entry is roughly 200 bytes
+        long entryCount = Math.max(1, targetBytes / 200);
+
+        for (int i = 0; i < entryCount; i++) {
+            BenchmarkConfig.Entry entry = new BenchmarkConfig.Entry();
+            entry.id = "entry-" + i;
+            entry.description = "Benchmark entry number " + i + " with some text";
+            entry.createdAt = 1_700_000_000_000L + random.nextInt(Integer.MAX_VALUE);
+            entry.score = random.nextDouble() * 1000;
+            entry.active = random.nextBoolean();
+            entry.tags = Arrays.asList("tag-" + random.nextInt(100), "tag-" + random.nextInt(100));
+            config.entries.put(entry.id, entry);
+        }
+
+        return config;
+    }
+
+    /**
+     * Writes the specified {@link BenchmarkConfig} into the specified {@link Path} using the specified {@link Gson}
+     *
+     * @param config Config
+     * @param path   Path
+     * @param gson   Gson
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static void write(BenchmarkConfig config, Path path, Gson gson) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            gson.toJson(config, writer);
+        }
+    }
+
+    /**
+     * Creates temporary directory for benchmark files
+     *
+     * @return Non-null {@link Path}
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static Path createTempDirectory() throws IOException {
+        return Files.createTempDirectory("mayus-json-utilities-benchmark");
+    }
+
+    /**
+     * Deletes the specified directory with all of its files (non-recursive)
+     *
+     * @param directory Directory
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static void deleteDirectory(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+
+        List<Path> files = new ArrayList<>();
+
+        try (java.util.stream.Stream<Path> stream = Files.list(directory)) {
+            stream.forEach(files::add);
+        }
+
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+
+        Files.deleteIfExists(directory);
+    }
+}
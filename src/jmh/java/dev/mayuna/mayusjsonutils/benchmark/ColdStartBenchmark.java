@@ -0,0 +1,80 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import dev.mayuna.mayusjsonutils.MayuJson;
+import dev.mayuna.mayusjsonutils.ObjectLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold JVM benchmarks - every measurement is the first invocation in a freshly forked JVM (no warmup), which is what the application sees on
+ * startup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark {
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    @Param({"pretty", "compact"})
+    public String style;
+
+    private Path directory;
+    private Path inputPath;
+    private Path outputPath;
+    private Gson gson;
+    private BenchmarkConfig config;
+    private JsonObject jsonObject;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkDocuments.createTempDirectory();
+        inputPath = directory.resolve("input.json");
+        outputPath = directory.resolve("output.json");
+        gson = BenchmarkDocuments.gson(style);
+
+        config = BenchmarkDocuments.createConfig(size);
+        Gson setupGson = BenchmarkDocuments.gson(style);
+        BenchmarkDocuments.write(config, inputPath, setupGson);
+        jsonObject = setupGson.toJsonTree(config).getAsJsonObject();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkDocuments.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObject() throws IOException {
+        return MayuJson.loadJsonObject(inputPath);
+    }
+
+    @Benchmark
+    public void saveJson() throws IOException {
+        MayuJson.saveJson(jsonObject, outputPath, gson);
+    }
+
+    @Benchmark
+    public BenchmarkConfig loadOrCreateFrom() throws IOException {
+        return ObjectLoader.loadOrCreateFrom(BenchmarkConfig.class, inputPath, gson);
+    }
+
+    @Benchmark
+    public GeneratedBenchmarkConfig loadOrCreateFromGenerated() throws IOException {
+        return ObjectLoader.loadOrCreateFrom(GeneratedBenchmarkConfig.class, inputPath, gson);
+    }
+
+    @Benchmark
+    public void saveTo() throws IOException {
+        ObjectLoader.saveTo(config, outputPath, gson);
+    }
+}
@@ -0,0 +1,110 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import dev.mayuna.mayusjsonutils.ConcurrentMayuJson;
+import dev.mayuna.mayusjsonutils.MayuJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark of {@link ConcurrentMayuJson} against {@link MayuJson} guarded by one global lock, at 1, 8 and 32 threads<br>
+ * Every operation is a read (90 %) or a write (10 %) of a random member of a document with {@link #MEMBERS} members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentMayuJsonBenchmark {
+
+    private static final int MEMBERS = 100;
+    private static final String[] MEMBER_NAMES = new String[MEMBERS];
+
+    static {
+        for (int i = 0; i < MEMBERS; i++) {
+            MEMBER_NAMES[i] = "member-" + i;
+        }
+    }
+
+    private MayuJson mayuJson;
+    private ConcurrentMayuJson concurrentMayuJson;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        JsonObject jsonObject = new JsonObject();
+
+        for (String memberName : MEMBER_NAMES) {
+            jsonObject.addProperty(memberName, 0);
+        }
+
+        mayuJson = new MayuJson(Paths.get("unused.json"), jsonObject.deepCopy());
+        concurrentMayuJson = new ConcurrentMayuJson(Paths.get("unused.json"), jsonObject);
+    }
+
+    private JsonElement globalLock() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String memberName = MEMBER_NAMES[random.nextInt(MEMBERS)];
+
+        synchronized (mayuJson) {
+            if (random.nextInt(10) == 0) {
+                mayuJson.addProperty(memberName, random.nextInt());
+                return null;
+            }
+
+            return mayuJson.getOrNull(memberName);
+        }
+    }
+
+    private JsonElement concurrent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String memberName = MEMBER_NAMES[random.nextInt(MEMBERS)];
+
+        if (random.nextInt(10) == 0) {
+            concurrentMayuJson.addProperty(memberName, random.nextInt());
+            return null;
+        }
+
+        return concurrentMayuJson.getOrNull(memberName);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public JsonElement globalLock_1() {
+        return globalLock();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JsonElement globalLock_8() {
+        return globalLock();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public JsonElement globalLock_32() {
+        return globalLock();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public JsonElement concurrent_1() {
+        return concurrent();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JsonElement concurrent_8() {
+        return concurrent();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public JsonElement concurrent_32() {
+        return concurrent();
+    }
+}
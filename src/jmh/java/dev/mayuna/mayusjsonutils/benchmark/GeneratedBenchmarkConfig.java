@@ -0,0 +1,30 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import dev.mayuna.mayusjsonutils.GenerateTypeAdapter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The same as {@link BenchmarkConfig}, but bound with generated type adapters instead of reflection
+ */
+@GenerateTypeAdapter
+public class GeneratedBenchmarkConfig {
+
+    public String name = "benchmark";
+    public int version = 1;
+    public boolean enabled = true;
+    public Map<String, Entry> entries = new LinkedHashMap<>();
+
+    @GenerateTypeAdapter
+    public static class Entry {
+
+        public String id;
+        public String description;
+        public long createdAt;
+        public double score;
+        public boolean active;
+        public List<String> tags;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import dev.mayuna.mayusjsonutils.JsonArrayReader;
+import dev.mayuna.mayusjsonutils.JsonArrayWriter;
+import dev.mayuna.mayusjsonutils.JsonPath;
+import dev.mayuna.mayusjsonutils.MayuJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares iterating over big array of {@link BenchmarkConfig.Entry} loaded with {@link MayuJson} and streamed with {@link JsonArrayReader}, and
+ * writing it with {@link JsonArrayWriter}. The array is the <code>entries</code> member of the document. Run with <code>-prof gc</code> to see
+ * the difference in allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonArrayBenchmark {
+
+    @Param({"1MB", "100MB"})
+    public String size;
+
+    private Path directory;
+    private Path inputPath;
+    private Path outputPath;
+    private Gson gson;
+    private JsonPath entriesPath;
+    private List<BenchmarkConfig.Entry> entries;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkDocuments.createTempDirectory();
+        inputPath = directory.resolve("input.json");
+        outputPath = directory.resolve("output.json");
+        gson = BenchmarkDocuments.gson("compact");
+        entriesPath = JsonPath.compile("entries");
+        entries = new ArrayList<>(BenchmarkDocuments.createConfig(size).entries.values());
+
+        JsonObject document = new JsonObject();
+        document.add("entries", gson.toJsonTree(entries));
+
+        try (Writer writer = Files.newBufferedWriter(inputPath, StandardCharsets.UTF_8)) {
+            gson.toJson(document, writer);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkDocuments.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public double eagerSumScores() throws IOException {
+        JsonArray array = MayuJson.loadJsonObject(inputPath).getJsonObject().getAsJsonArray("entries");
+        double sum = 0;
+
+        for (JsonElement element : array) {
+            sum += element.getAsJsonObject().get("score").getAsDouble();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public double streamSumScores() throws IOException {
+        double sum = 0;
+
+        try (JsonArrayReader<BenchmarkConfig.Entry> reader = JsonArrayReader.open(inputPath, entriesPath, BenchmarkConfig.Entry.class, gson)) {
+            while (reader.hasNext()) {
+                sum += reader.next().score;
+            }
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public void streamWrite() throws IOException {
+        try (JsonArrayWriter<BenchmarkConfig.Entry> writer = JsonArrayWriter.open(outputPath, BenchmarkConfig.Entry.class, gson)) {
+            writer.writeAll(entries.iterator());
+        }
+    }
+}
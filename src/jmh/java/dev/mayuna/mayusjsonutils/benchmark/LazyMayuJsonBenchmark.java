@@ -0,0 +1,96 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import dev.mayuna.mayusjsonutils.JsonPath;
+import dev.mayuna.mayusjsonutils.LazyMayuJson;
+import dev.mayuna.mayusjsonutils.MayuJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading (and updating) a few top-level members of big document with {@link MayuJson}, {@link LazyMayuJson} and {@link JsonPath}. The
+ * document has one top-level member per {@link BenchmarkConfig.Entry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyMayuJsonBenchmark {
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    @Param({"pretty", "compact"})
+    public String style;
+
+    private Path directory;
+    private Path inputPath;
+    private Path outputPath;
+    private Gson gson;
+    private String memberName;
+    private JsonPath scorePath;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkDocuments.createTempDirectory();
+        inputPath = directory.resolve("input.json");
+        outputPath = directory.resolve("output.json");
+        gson = BenchmarkDocuments.gson(style);
+
+        JsonObject entries = gson.toJsonTree(BenchmarkDocuments.createConfig(size)).getAsJsonObject().getAsJsonObject("entries");
+        memberName = entries.keySet().iterator().next();
+        scorePath = JsonPath.compile("$['" + memberName + "'].score");
+
+        try (Writer writer = Files.newBufferedWriter(inputPath, StandardCharsets.UTF_8)) {
+            gson.toJson(entries, writer);
+        }
+
+        // Updates always write the same value, so the output stays the same size across invocations
+        Files.copy(inputPath, outputPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkDocuments.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public JsonElement eagerGetMember() throws IOException {
+        return MayuJson.loadJsonObject(inputPath).getOrNull(memberName);
+    }
+
+    @Benchmark
+    public JsonElement lazyGetMember() throws IOException {
+        return LazyMayuJson.loadJsonObject(inputPath).getOrNull(memberName);
+    }
+
+    @Benchmark
+    public JsonElement jsonPathGetMember() throws IOException {
+        return scorePath.read(inputPath);
+    }
+
+    @Benchmark
+    public void eagerUpdateMember() throws IOException {
+        MayuJson mayuJson = MayuJson.loadJsonObject(outputPath);
+        mayuJson.getOrNull(memberName).getAsJsonObject().addProperty("active", true);
+        mayuJson.save(gson);
+    }
+
+    @Benchmark
+    public void lazyUpdateMember() throws IOException {
+        LazyMayuJson lazyMayuJson = LazyMayuJson.loadJsonObject(outputPath);
+        lazyMayuJson.getOrNull(memberName).getAsJsonObject().addProperty("active", true);
+        lazyMayuJson.save(gson);
+    }
+}
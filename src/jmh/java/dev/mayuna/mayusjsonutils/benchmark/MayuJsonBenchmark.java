@@ -0,0 +1,110 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import dev.mayuna.mayusjsonutils.LoadOptions;
+import dev.mayuna.mayusjsonutils.MayuJson;
+import dev.mayuna.mayusjsonutils.SaveOptions;
+import dev.mayuna.mayusjsonutils.StorageFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm JVM benchmarks of {@link MayuJson#loadJsonObject(Path)} and {@link MayuJson#saveJson(com.google.gson.JsonElement, Path, Gson)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MayuJsonBenchmark {
+
+    private static final SaveOptions BINARY = SaveOptions.builder().storageFormat(StorageFormat.BINARY).build();
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    @Param({"pretty", "compact"})
+    public String style;
+
+    private Path directory;
+    private Path inputPath;
+    private Path binaryInputPath;
+    private Path gzipInputPath;
+    private Path outputPath;
+    private Path gzipOutputPath;
+    private Gson gson;
+    private JsonObject jsonObject;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkDocuments.createTempDirectory();
+        inputPath = directory.resolve("input.json");
+        binaryInputPath = directory.resolve("input.bin");
+        gzipInputPath = directory.resolve("input.json.gz");
+        outputPath = directory.resolve("output.json");
+        gzipOutputPath = directory.resolve("output.json.gz");
+        gson = BenchmarkDocuments.gson(style);
+
+        BenchmarkConfig config = BenchmarkDocuments.createConfig(size);
+        BenchmarkDocuments.write(config, inputPath, gson);
+        jsonObject = gson.toJsonTree(config).getAsJsonObject();
+        MayuJson.saveJson(jsonObject, binaryInputPath, StandardCharsets.UTF_8, gson, BINARY);
+        MayuJson.saveJson(jsonObject, gzipInputPath, StandardCharsets.UTF_8, gson, SaveOptions.DEFAULT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkDocuments.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObject() throws IOException {
+        return MayuJson.loadJsonObject(inputPath);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObjectMemoryMapped() throws IOException {
+        return MayuJson.loadJsonObject(inputPath, StandardCharsets.UTF_8, LoadOptions.MEMORY_MAPPED);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObjectUtf8Parser() throws IOException {
+        return MayuJson.loadJsonObject(inputPath, StandardCharsets.UTF_8, LoadOptions.UTF8_PARSER);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObjectBinary() throws IOException {
+        return MayuJson.loadJsonObject(binaryInputPath);
+    }
+
+    @Benchmark
+    public MayuJson loadJsonObjectGzip() throws IOException {
+        return MayuJson.loadJsonObject(gzipInputPath);
+    }
+
+    @Benchmark
+    public void saveJson() throws IOException {
+        MayuJson.saveJson(jsonObject, outputPath, gson);
+    }
+
+    @Benchmark
+    public void saveJsonAtomic() throws IOException {
+        MayuJson.saveJson(jsonObject, outputPath, StandardCharsets.UTF_8, gson, SaveOptions.ATOMIC);
+    }
+
+    @Benchmark
+    public void saveJsonBinary() throws IOException {
+        MayuJson.saveJson(jsonObject, outputPath, StandardCharsets.UTF_8, gson, BINARY);
+    }
+
+    @Benchmark
+    public void saveJsonGzip() throws IOException {
+        MayuJson.saveJson(jsonObject, gzipOutputPath, gson);
+    }
+}
@@ -0,0 +1,102 @@
+package dev.mayuna.mayusjsonutils.benchmark;
+
+import com.google.gson.Gson;
+import dev.mayuna.mayusjsonutils.ObjectLoader;
+import dev.mayuna.mayusjsonutils.ObjectLoaderCache;
+import dev.mayuna.mayusjsonutils.SaveOptions;
+import dev.mayuna.mayusjsonutils.StorageFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm JVM benchmarks of {@link ObjectLoader#loadOrCreateFrom(Class, Path, Gson)} and {@link ObjectLoader#saveTo(Object, Path, Gson)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectLoaderBenchmark {
+
+    private static final SaveOptions BINARY = SaveOptions.builder().storageFormat(StorageFormat.BINARY).build();
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    @Param({"pretty", "compact"})
+    public String style;
+
+    private Path directory;
+    private Path inputPath;
+    private Path binaryInputPath;
+    private Path outputPath;
+    private Gson gson;
+    private BenchmarkConfig config;
+    private GeneratedBenchmarkConfig generatedConfig;
+    private ObjectLoaderCache cache;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkDocuments.createTempDirectory();
+        inputPath = directory.resolve("input.json");
+        binaryInputPath = directory.resolve("input.bin");
+        outputPath = directory.resolve("output.json");
+        gson = BenchmarkDocuments.gson(style);
+
+        config = BenchmarkDocuments.createConfig(size);
+        BenchmarkDocuments.write(config, inputPath, gson);
+        ObjectLoader.saveTo(config, binaryInputPath, StandardCharsets.UTF_8, gson, BINARY);
+        generatedConfig = ObjectLoader.loadOrCreateFrom(GeneratedBenchmarkConfig.class, inputPath, gson);
+        cache = ObjectLoaderCache.builder().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkDocuments.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public BenchmarkConfig loadOrCreateFrom() throws IOException {
+        return ObjectLoader.loadOrCreateFrom(BenchmarkConfig.class, inputPath, gson);
+    }
+
+    @Benchmark
+    public BenchmarkConfig loadOrCreateFromBinary() throws IOException {
+        return ObjectLoader.loadOrCreateFrom(BenchmarkConfig.class, binaryInputPath, StandardCharsets.UTF_8, gson, BINARY);
+    }
+
+    @Benchmark
+    public GeneratedBenchmarkConfig loadOrCreateFromGenerated() throws IOException {
+        return ObjectLoader.loadOrCreateFrom(GeneratedBenchmarkConfig.class, inputPath, gson);
+    }
+
+    @Benchmark
+    public BenchmarkConfig loadOrCreateFromCached() throws IOException {
+        return cache.loadOrCreateFrom(BenchmarkConfig.class, inputPath, gson);
+    }
+
+    @Benchmark
+    public void saveTo() throws IOException {
+        ObjectLoader.saveTo(config, outputPath, gson);
+    }
+
+    @Benchmark
+    public void saveToGenerated() throws IOException {
+        ObjectLoader.saveTo(generatedConfig, outputPath, gson);
+    }
+
+    @Benchmark
+    public void saveToAtomic() throws IOException {
+        ObjectLoader.saveTo(config, outputPath, StandardCharsets.UTF_8, gson, SaveOptions.ATOMIC);
+    }
+
+    @Benchmark
+    public void saveToBinary() throws IOException {
+        ObjectLoader.saveTo(config, outputPath, StandardCharsets.UTF_8, gson, BINARY);
+    }
+}
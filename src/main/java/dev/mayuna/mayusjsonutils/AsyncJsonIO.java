@@ -0,0 +1,451 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous variants of {@link MayuJson} and {@link ObjectLoader} methods, which run on a bounded I/O executor and return
+ * {@link CompletableFuture}<br>
+ * Writes into the same file are executed one at a time in submission order. A write which is still waiting while a newer write into the same
+ * file is submitted is superseded: it is dropped and its {@link CompletableFuture} completes together with the newer one. Writes into different
+ * files run in parallel. Loads are not ordered with writes, but since they never observe partially written file when the writes are atomic
+ * (see {@link SaveOptions#ATOMIC}), they see either the previous or the new content.<br>
+ * {@link CompletableFuture}s are completed on the I/O threads, so do not block in their dependent actions, or use their {@code *Async}
+ * variants with your own executor. Failures complete them exceptionally with {@link IOException} (or {@link RejectedExecutionException} when the
+ * executor is saturated).<br>
+ * Use {@link #builder()} to create one. Do not forget to {@link #close()} it.
+ */
+public final class AsyncJsonIO implements Closeable {
+
+    private final @Getter int threads;
+    private final @Getter int queueCapacity;
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Map<Path, WriteQueue> writeQueues = new ConcurrentHashMap<>();
+
+    /**
+     * Creates {@link AsyncJsonIO}
+     *
+     * @param executor      Nullable {@link ExecutorService} to run the I/O on (it is not shut down by {@link #close()}), defaults to
+     *                      {@link ThreadPoolExecutor} with {@code threads} daemon threads and queue of {@code queueCapacity} tasks
+     * @param threads       Nullable number of I/O threads of the default executor, defaults to the number of available processors
+     * @param queueCapacity Nullable capacity of the queue of the default executor, defaults to 1024. When it is full, new operations fail with
+     *                      {@link RejectedExecutionException}.
+     */
+    @Builder
+    private AsyncJsonIO(ExecutorService executor, Integer threads, Integer queueCapacity) {
+        this.threads = threads != null ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity != null ? queueCapacity : 1024;
+
+        if (this.threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive");
+        }
+
+        if (this.queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+
+        if (executor != null) {
+            this.executor = executor;
+            this.ownsExecutor = false;
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(this.threads, this.threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(this.queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "MayuJson-AsyncJsonIO-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ((ThreadPoolExecutor) this.executor).allowCoreThreadTimeOut(true);
+            this.ownsExecutor = true;
+        }
+    }
+
+    /**
+     * Loads {@link MayuJson} asynchronously, see {@link MayuJson#loadJsonObject(Path, Charset, LoadOptions)}
+     *
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param loadOptions Non-null {@link LoadOptions}
+     *
+     * @return Non-null {@link CompletableFuture} with nullable {@link MayuJson} (null when the file does not exist)
+     */
+    public CompletableFuture<MayuJson> loadAsync(@NonNull Path path, @NonNull Charset charset, @NonNull LoadOptions loadOptions) {
+        return supply(() -> MayuJson.loadJsonObject(path, charset, loadOptions));
+    }
+
+    /**
+     * Loads {@link MayuJson} asynchronously with {@link StandardCharsets#UTF_8}, see {@link #loadAsync(Path, Charset, LoadOptions)}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Non-null {@link CompletableFuture} with nullable {@link MayuJson} (null when the file does not exist)
+     */
+    public CompletableFuture<MayuJson> loadAsync(@NonNull Path path) {
+        return loadAsync(path, StandardCharsets.UTF_8, LoadOptions.DEFAULT);
+    }
+
+    /**
+     * Creates or loads {@link MayuJson} asynchronously, see {@link MayuJson#createOrLoadJsonObject(Path, Charset, LoadOptions)}
+     *
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param loadOptions Non-null {@link LoadOptions}
+     *
+     * @return Non-null {@link CompletableFuture} with non-null {@link MayuJson}
+     */
+    public CompletableFuture<MayuJson> createOrLoadAsync(@NonNull Path path, @NonNull Charset charset, @NonNull LoadOptions loadOptions) {
+        return supply(() -> MayuJson.createOrLoadJsonObject(path, charset, loadOptions));
+    }
+
+    /**
+     * Creates or loads {@link MayuJson} asynchronously with {@link StandardCharsets#UTF_8}, see
+     * {@link #createOrLoadAsync(Path, Charset, LoadOptions)}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Non-null {@link CompletableFuture} with non-null {@link MayuJson}
+     */
+    public CompletableFuture<MayuJson> createOrLoadAsync(@NonNull Path path) {
+        return createOrLoadAsync(path, StandardCharsets.UTF_8, LoadOptions.DEFAULT);
+    }
+
+    /**
+     * Loads or creates object asynchronously, see {@link ObjectLoader#loadOrCreateFrom(Class, Path, Charset, Gson, SaveOptions, LoadOptions)}<br>
+     * If the file is written back (because it did not exist or it was not up-to-date), the write is ordered with other writes into the file.
+     *
+     * @param clazz       Non-null {@link Class} with the object you want to load
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param gson        Non-null {@link Gson}
+     * @param saveOptions Non-null {@link SaveOptions}
+     * @param loadOptions Non-null {@link LoadOptions}
+     * @param <T>         Your object type, specified in the {@link Class}
+     *
+     * @return Non-null {@link CompletableFuture} with non-null object
+     */
+    public <T> CompletableFuture<T> loadOrCreateFromAsync(@NonNull Class<T> clazz, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions, @NonNull LoadOptions loadOptions) {
+        // May write, so it cannot be superseded by (nor supersede) other writes
+        return write(path, false, () -> ObjectLoader.loadOrCreateFrom(clazz, path, charset, gson, saveOptions, loadOptions));
+    }
+
+    /**
+     * Loads or creates object asynchronously with {@link StandardCharsets#UTF_8} and {@link MayuJson#DEFAULT_GSON}, see
+     * {@link #loadOrCreateFromAsync(Class, Path, Charset, Gson, SaveOptions, LoadOptions)}
+     *
+     * @param clazz Non-null {@link Class} with the object you want to load
+     * @param path  Non-null {@link Path}
+     * @param <T>   Your object type, specified in the {@link Class}
+     *
+     * @return Non-null {@link CompletableFuture} with non-null object
+     */
+    public <T> CompletableFuture<T> loadOrCreateFromAsync(@NonNull Class<T> clazz, @NonNull Path path) {
+        return loadOrCreateFromAsync(clazz, path, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON, SaveOptions.DEFAULT, LoadOptions.DEFAULT);
+    }
+
+    /**
+     * Saves {@link JsonElement} asynchronously, see {@link MayuJson#saveJson(JsonElement, Path, Charset, Gson, SaveOptions)}<br>
+     * The {@link JsonElement} is serialized on the I/O thread, so it must not be modified until the returned {@link CompletableFuture}
+     * completes.
+     *
+     * @param jsonElement Non-null {@link JsonElement}
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param gson        Non-null {@link Gson}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @return Non-null {@link CompletableFuture} which completes when the {@link JsonElement} (or a newer write which superseded it) is written
+     */
+    public CompletableFuture<Void> saveAsync(@NonNull JsonElement jsonElement, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions) {
+        return write(path, true, () -> {
+            MayuJson.saveJson(jsonElement, path, charset, gson, saveOptions);
+            return null;
+        });
+    }
+
+    /**
+     * Saves {@link JsonElement} asynchronously with {@link StandardCharsets#UTF_8} and {@link MayuJson#DEFAULT_GSON}, see
+     * {@link #saveAsync(JsonElement, Path, Charset, Gson, SaveOptions)}
+     *
+     * @param jsonElement Non-null {@link JsonElement}
+     * @param path        Non-null {@link Path}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @return Non-null {@link CompletableFuture}
+     */
+    public CompletableFuture<Void> saveAsync(@NonNull JsonElement jsonElement, @NonNull Path path, @NonNull SaveOptions saveOptions) {
+        return saveAsync(jsonElement, path, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON, saveOptions);
+    }
+
+    /**
+     * Saves object asynchronously, see {@link ObjectLoader#saveTo(Object, Path, Charset, Gson, SaveOptions)}<br>
+     * The object is serialized on the I/O thread, so it must not be modified until the returned {@link CompletableFuture} completes.
+     *
+     * @param object      Non-null object
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param gson        Non-null {@link Gson}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @return Non-null {@link CompletableFuture} which completes when the object (or a newer write which superseded it) is written
+     */
+    public CompletableFuture<Void> saveToAsync(@NonNull Object object, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions) {
+        return write(path, true, () -> {
+            ObjectLoader.saveTo(object, path, charset, gson, saveOptions);
+            return null;
+        });
+    }
+
+    /**
+     * Saves object asynchronously with {@link StandardCharsets#UTF_8} and {@link MayuJson#DEFAULT_GSON}, see
+     * {@link #saveToAsync(Object, Path, Charset, Gson, SaveOptions)}
+     *
+     * @param object      Non-null object
+     * @param path        Non-null {@link Path}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @return Non-null {@link CompletableFuture}
+     */
+    public CompletableFuture<Void> saveToAsync(@NonNull Object object, @NonNull Path path, @NonNull SaveOptions saveOptions) {
+        return saveToAsync(object, path, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON, saveOptions);
+    }
+
+    /**
+     * Saves {@link MayuJson} asynchronously, see {@link MayuJson#save(Gson)}<br>
+     * The content is snapshotted when the write is executed, so a superseded save loses nothing: the newer save writes the newer content.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     * @param gson     Non-null {@link Gson}
+     *
+     * @return Non-null {@link CompletableFuture} which completes when the {@link MayuJson} is written
+     */
+    public CompletableFuture<Void> saveAsync(@NonNull MayuJson mayuJson, @NonNull Gson gson) {
+        return write(mayuJson.getPath(), true, () -> {
+            mayuJson.save(gson);
+            return null;
+        });
+    }
+
+    /**
+     * Saves {@link MayuJson} asynchronously with {@link MayuJson#DEFAULT_GSON}, see {@link #saveAsync(MayuJson, Gson)}
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @return Non-null {@link CompletableFuture}
+     */
+    public CompletableFuture<Void> saveAsync(@NonNull MayuJson mayuJson) {
+        return saveAsync(mayuJson, MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Reloads {@link MayuJson} asynchronously, see {@link MayuJson#forceReload()}
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @return Non-null {@link CompletableFuture} which completes when the {@link MayuJson} is reloaded
+     */
+    public CompletableFuture<Void> reloadAsync(@NonNull MayuJson mayuJson) {
+        return supply(() -> {
+            mayuJson.forceReload();
+            return null;
+        });
+    }
+
+    /**
+     * Reloads {@link MayuJson} asynchronously if its file has changed, see {@link MayuJson#reloadIfChanged()}
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @return Non-null {@link CompletableFuture} with true if the file was reloaded
+     */
+    public CompletableFuture<Boolean> reloadIfChangedAsync(@NonNull MayuJson mayuJson) {
+        return supply(mayuJson::reloadIfChanged);
+    }
+
+    /**
+     * Returns number of writes which are running or waiting
+     *
+     * @return Number of writes
+     */
+    public int getPendingWrites() {
+        int pendingWrites = 0;
+
+        for (WriteQueue writeQueue : writeQueues.values()) {
+            synchronized (writeQueue) {
+                pendingWrites += (writeQueue.running != null ? 1 : 0) + writeQueue.waiting.size();
+            }
+        }
+
+        return pendingWrites;
+    }
+
+    /**
+     * Shuts down the default executor after all submitted operations are executed and waits for them. Executor passed to the builder is not
+     * shut down.
+     */
+    @Override
+    public void close() {
+        if (!ownsExecutor) {
+            return;
+        }
+
+        executor.shutdown();
+
+        try {
+            //noinspection ResultOfMethodCallIgnored
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(IOSupplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> complete(future, supplier));
+        } catch (RejectedExecutionException exception) {
+            future.completeExceptionally(exception);
+        }
+
+        return future;
+    }
+
+    private <T> CompletableFuture<T> write(Path path, boolean supersedable, IOSupplier<T> supplier) {
+        Path normalizedPath = path.toAbsolutePath().normalize();
+        Write<T> write = new Write<>(normalizedPath, supersedable, supplier);
+
+        writeQueues.compute(normalizedPath, (ignored, writeQueue) -> {
+            if (writeQueue == null) {
+                writeQueue = new WriteQueue();
+            }
+
+            synchronized (writeQueue) {
+                Write<?> lastWaiting = writeQueue.waiting.peekLast();
+
+                if (writeQueue.running == null) {
+                    writeQueue.running = write;
+                    write.scheduled = true;
+                } else if (supersedable && lastWaiting != null && lastWaiting.supersedable) {
+                    supersede(writeQueue.waiting.pollLast(), write);
+                    writeQueue.waiting.addLast(write);
+                } else {
+                    writeQueue.waiting.addLast(write);
+                }
+            }
+
+            return writeQueue;
+        });
+
+        if (write.scheduled) {
+            execute(write);
+        }
+
+        return write.future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void supersede(Write<?> superseded, Write<?> successor) {
+        CompletableFuture<Object> future = (CompletableFuture<Object>) superseded.future;
+
+        successor.future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(null);
+            }
+        });
+    }
+
+    private void execute(Write<?> write) {
+        try {
+            executor.execute(() -> {
+                try {
+                    write.run();
+                } finally {
+                    next(write);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            write.future.completeExceptionally(exception);
+            next(write);
+        }
+    }
+
+    /**
+     * Starts the next write into the file of the specified finished {@link Write}, or removes the file's {@link WriteQueue} if there is none
+     */
+    private void next(Write<?> finishedWrite) {
+        Write<?>[] nextWrite = new Write<?>[1];
+
+        writeQueues.computeIfPresent(finishedWrite.path, (ignored, writeQueue) -> {
+            synchronized (writeQueue) {
+                writeQueue.running = writeQueue.waiting.pollFirst();
+                nextWrite[0] = writeQueue.running;
+                return writeQueue.running != null ? writeQueue : null;
+            }
+        });
+
+        if (nextWrite[0] != null) {
+            execute(nextWrite[0]);
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, IOSupplier<T> supplier) {
+        try {
+            future.complete(supplier.get());
+        } catch (UncheckedIOException exception) {
+            future.completeExceptionally(exception.getCause());
+        } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+
+        T get() throws IOException;
+    }
+
+    /**
+     * Writes into single file: the running one and the ones waiting for it in submission order, guarded by its monitor
+     */
+    private static final class WriteQueue {
+
+        private final ArrayDeque<Write<?>> waiting = new ArrayDeque<>();
+        private Write<?> running;
+    }
+
+    private static final class Write<T> {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final Path path;
+        private final boolean supersedable;
+        private final IOSupplier<T> supplier;
+        private boolean scheduled;
+
+        private Write(Path path, boolean supersedable, IOSupplier<T> supplier) {
+            this.path = path;
+            this.supersedable = supersedable;
+            this.supplier = supplier;
+        }
+
+        private void run() {
+            complete(future, supplier);
+        }
+    }
+}
@@ -0,0 +1,535 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import lombok.NonNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link JsonElement}, used by {@link StorageFormat#BINARY}<br>
+ * The encoding starts with header (byte <code>0x89</code>, <code>MJB</code> and version byte), followed by single type-tagged value. Strings
+ * and numbers in text form are prefixed by their length, arrays and objects by their number of elements, all as unsigned varints. Member names
+ * are deduplicated: the first occurrence is written inline and every repeated one is written as an index into the table of already written
+ * names. Integers are written as zigzag varints, other numbers as their JSON text, so the encoding round-trips losslessly to the JSON form.<br>
+ * Files can be converted with {@link #toJson(Path, Path, Charset, Gson)} and {@link #toBinary(Path, Path, Charset)}, or from the command line
+ * with {@link #main(String[])}.
+ */
+public final class BinaryJson {
+
+    private static final byte[] HEADER = {(byte) 0x89, 'M', 'J', 'B', 1};
+    private static final int MAX_NESTING = 255;
+    private static final int STRING_CHUNK_SIZE = 65536;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_FALSE = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_NUMBER = 4;
+    private static final int TAG_STRING = 5;
+    private static final int TAG_ARRAY = 6;
+    private static final int TAG_OBJECT = 7;
+
+    private BinaryJson() {
+    }
+
+    /**
+     * Writes the specified {@link JsonElement} in the binary encoding into the specified {@link OutputStream}. The {@link OutputStream} is
+     * flushed, not closed.
+     *
+     * @param jsonElement  Non-null {@link JsonElement}
+     * @param outputStream Non-null {@link OutputStream}
+     *
+     * @throws IOException When I/O exception occurs (unable to write)
+     */
+    public static void write(@NonNull JsonElement jsonElement, @NonNull OutputStream outputStream) throws IOException {
+        Encoder encoder = new Encoder(outputStream);
+        encoder.writeBytes(HEADER, 0, HEADER.length);
+        encoder.writeValue(jsonElement);
+        encoder.flush();
+    }
+
+    /**
+     * Reads {@link JsonElement} in the binary encoding from the specified {@link InputStream}. The whole {@link InputStream} is read, not closed.
+     *
+     * @param inputStream Non-null {@link InputStream}
+     *
+     * @return Non-null {@link JsonElement}
+     *
+     * @throws IOException         When I/O exception occurs (unable to read)
+     * @throws JsonSyntaxException When the input is not valid binary encoding
+     */
+    public static JsonElement read(@NonNull InputStream inputStream) throws IOException {
+        Decoder decoder = new Decoder(inputStream);
+
+        for (byte headerByte : HEADER) {
+            if (decoder.readByte() != (headerByte & 0xFF)) {
+                throw new JsonSyntaxException("Not a binary JSON or unsupported version");
+            }
+        }
+
+        JsonElement jsonElement = decoder.readValue(0);
+
+        if (decoder.read() != -1) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
+        }
+
+        return jsonElement;
+    }
+
+    /**
+     * Converts binary file into JSON file (written atomically)
+     *
+     * @param binaryPath Non-null {@link Path} of the binary file
+     * @param jsonPath   Non-null {@link Path} of the JSON file
+     * @param charset    Non-null {@link Charset} of the JSON file
+     * @param gson       Non-null {@link Gson}
+     *
+     * @throws IOException When I/O exception occurs (unable to read or write file)
+     */
+    public static void toJson(@NonNull Path binaryPath, @NonNull Path jsonPath, @NonNull Charset charset, @NonNull Gson gson) throws IOException {
+        JsonElement jsonElement;
+
+        try (InputStream inputStream = JsonIO.newInputStream(binaryPath, LoadOptions.DEFAULT)) {
+            jsonElement = read(inputStream);
+        }
+
+        JsonIO.writeJson(jsonElement, jsonPath, charset, gson, SaveOptions.ATOMIC);
+    }
+
+    /**
+     * Converts binary file into JSON file (written atomically) with {@link StandardCharsets#UTF_8} and {@link MayuJson#DEFAULT_GSON}
+     *
+     * @param binaryPath Non-null {@link Path} of the binary file
+     * @param jsonPath   Non-null {@link Path} of the JSON file
+     *
+     * @throws IOException When I/O exception occurs (unable to read or write file)
+     */
+    public static void toJson(@NonNull Path binaryPath, @NonNull Path jsonPath) throws IOException {
+        toJson(binaryPath, jsonPath, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Converts JSON file into binary file (written atomically)
+     *
+     * @param jsonPath   Non-null {@link Path} of the JSON file
+     * @param binaryPath Non-null {@link Path} of the binary file
+     * @param charset    Non-null {@link Charset} of the JSON file
+     *
+     * @throws IOException         When I/O exception occurs (unable to read or write file)
+     * @throws JsonSyntaxException When the JSON file is not valid JSON
+     */
+    public static void toBinary(@NonNull Path jsonPath, @NonNull Path binaryPath, @NonNull Charset charset) throws IOException {
+        JsonElement jsonElement;
+
+        try (Reader reader = new InputStreamReader(JsonIO.newInputStream(jsonPath, LoadOptions.DEFAULT), charset)) {
+            jsonElement = JsonParser.parseReader(reader);
+        } catch (JsonIOException exception) {
+            throw JsonIO.unwrap(exception);
+        }
+
+        SaveOptions saveOptions = SaveOptions.builder().atomic(true).storageFormat(StorageFormat.BINARY).build();
+        JsonIO.writeJson(jsonElement, binaryPath, charset, MayuJson.DEFAULT_GSON, saveOptions);
+    }
+
+    /**
+     * Converts JSON file into binary file (written atomically) with {@link StandardCharsets#UTF_8}
+     *
+     * @param jsonPath   Non-null {@link Path} of the JSON file
+     * @param binaryPath Non-null {@link Path} of the binary file
+     *
+     * @throws IOException When I/O exception occurs (unable to read or write file)
+     */
+    public static void toBinary(@NonNull Path jsonPath, @NonNull Path binaryPath) throws IOException {
+        toBinary(jsonPath, binaryPath, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Command line converter: <code>to-json &lt;binary file&gt; &lt;json file&gt;</code> or
+     * <code>to-binary &lt;json file&gt; &lt;binary file&gt;</code>. JSON files are in {@link StandardCharsets#UTF_8}.
+     *
+     * @param args Arguments
+     *
+     * @throws IOException              When I/O exception occurs
+     * @throws IllegalArgumentException When the arguments are invalid, with the usage as its message
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("to-json")) {
+            toJson(new File(args[1]).toPath(), new File(args[2]).toPath());
+        } else if (args.length == 3 && args[0].equals("to-binary")) {
+            toBinary(new File(args[1]).toPath(), new File(args[2]).toPath());
+        } else {
+            throw new IllegalArgumentException("Usage: to-json <binary file> <json file>\n       to-binary <json file> <binary file>");
+        }
+    }
+
+    /**
+     * Reads header of the specified {@link PushbackInputStream} and unreads it
+     *
+     * @param inputStream Non-null {@link PushbackInputStream} with push back buffer of at least {@link #headerLength()} bytes
+     *
+     * @return true if the stream starts with the binary encoding header
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    static boolean isBinary(@NonNull PushbackInputStream inputStream) throws IOException {
+        byte[] header = new byte[HEADER.length];
+        int read = 0;
+
+        while (read < header.length) {
+            int count = inputStream.read(header, read, header.length - read);
+
+            if (count == -1) {
+                break;
+            }
+
+            read += count;
+        }
+
+        if (read > 0) {
+            inputStream.unread(header, 0, read);
+        }
+
+        // Version is checked when reading
+        return read == header.length && header[0] == HEADER[0] && header[1] == HEADER[1] && header[2] == HEADER[2] && header[3] == HEADER[3];
+    }
+
+    /**
+     * Returns length of the binary encoding header
+     *
+     * @return Length in bytes
+     */
+    static int headerLength() {
+        return HEADER.length;
+    }
+
+    private static final class Encoder {
+
+        private final OutputStream outputStream;
+        private final byte[] buffer = new byte[8192];
+        private final Map<String, Integer> names = new HashMap<>();
+        private int position;
+
+        private Encoder(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        private void writeValue(JsonElement jsonElement) throws IOException {
+            if (jsonElement.isJsonNull()) {
+                writeByte(TAG_NULL);
+            } else if (jsonElement.isJsonPrimitive()) {
+                writePrimitive(jsonElement.getAsJsonPrimitive());
+            } else if (jsonElement.isJsonArray()) {
+                JsonArray jsonArray = jsonElement.getAsJsonArray();
+                writeByte(TAG_ARRAY);
+                writeVarint(jsonArray.size());
+
+                for (JsonElement element : jsonArray) {
+                    writeValue(element);
+                }
+            } else {
+                JsonObject jsonObject = jsonElement.getAsJsonObject();
+                writeByte(TAG_OBJECT);
+                writeVarint(jsonObject.size());
+
+                for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+                    writeName(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            }
+        }
+
+        private void writePrimitive(JsonPrimitive jsonPrimitive) throws IOException {
+            if (jsonPrimitive.isBoolean()) {
+                writeByte(jsonPrimitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+            } else if (jsonPrimitive.isString()) {
+                writeByte(TAG_STRING);
+                writeString(jsonPrimitive.getAsString());
+            } else {
+                Number number = jsonPrimitive.getAsNumber();
+
+                if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+                    writeInteger(number.longValue());
+                    return;
+                }
+
+                // The same text JsonWriter writes
+                String text = number.toString();
+                Long integer = parseCanonicalLong(text);
+
+                if (integer != null) {
+                    writeInteger(integer);
+                } else {
+                    writeByte(TAG_NUMBER);
+                    writeString(text);
+                }
+            }
+        }
+
+        private void writeInteger(long value) throws IOException {
+            writeByte(TAG_INTEGER);
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeName(String name) throws IOException {
+            Integer index = names.get(name);
+
+            if (index != null) {
+                writeVarint(index + 1);
+                return;
+            }
+
+            names.put(name, names.size());
+            writeVarint(0);
+            writeString(name);
+        }
+
+        private void writeString(String string) throws IOException {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        private void writeVarint(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+
+            writeByte((int) value);
+        }
+
+        private void writeByte(int value) throws IOException {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+            if (length > buffer.length - position) {
+                flushBuffer();
+
+                if (length > buffer.length) {
+                    outputStream.write(bytes, offset, length);
+                    return;
+                }
+            }
+
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        private void flushBuffer() throws IOException {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+
+        private void flush() throws IOException {
+            flushBuffer();
+            outputStream.flush();
+        }
+
+        /**
+         * Parses the specified text as long, if it is written exactly as {@link Long#toString(long)} would write it
+         */
+        private static Long parseCanonicalLong(String text) {
+            int length = text.length();
+
+            if (length == 0 || length > 20) {
+                return null;
+            }
+
+            int start = text.charAt(0) == '-' ? 1 : 0;
+
+            if (start == length || (text.charAt(start) == '0' && length > start + 1)) {
+                return null;
+            }
+
+            for (int i = start; i < length; i++) {
+                char character = text.charAt(i);
+
+                if (character < '0' || character > '9') {
+                    return null;
+                }
+            }
+
+            try {
+                long value = Long.parseLong(text);
+                return value == 0 && start == 1 ? null : value; // -0
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+    }
+
+    private static final class Decoder {
+
+        private final InputStream inputStream;
+        private final byte[] buffer = new byte[8192];
+        private final List<String> names = new ArrayList<>();
+        private int position;
+        private int limit;
+
+        private Decoder(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        private JsonElement readValue(int depth) throws IOException {
+            int tag = readByte();
+
+            switch (tag) {
+                case TAG_NULL:
+                    return JsonNull.INSTANCE;
+                case TAG_FALSE:
+                    return new JsonPrimitive(false);
+                case TAG_TRUE:
+                    return new JsonPrimitive(true);
+                case TAG_INTEGER:
+                    long value = readVarint();
+                    return new JsonPrimitive((value >>> 1) ^ -(value & 1));
+                case TAG_NUMBER:
+                    return new JsonPrimitive(new TextNumber(readString()));
+                case TAG_STRING:
+                    return new JsonPrimitive(readString());
+                case TAG_ARRAY: {
+                    checkNesting(depth);
+                    int size = readSize();
+                    JsonArray jsonArray = new JsonArray(Math.min(size, 1024));
+
+                    for (int i = 0; i < size; i++) {
+                        jsonArray.add(readValue(depth + 1));
+                    }
+
+                    return jsonArray;
+                }
+                case TAG_OBJECT: {
+                    checkNesting(depth);
+                    int size = readSize();
+                    JsonObject jsonObject = new JsonObject();
+
+                    for (int i = 0; i < size; i++) {
+                        String name = readName();
+                        jsonObject.add(name, readValue(depth + 1));
+                    }
+
+                    return jsonObject;
+                }
+                default:
+                    throw new JsonSyntaxException("Unknown binary JSON tag " + tag);
+            }
+        }
+
+        private String readName() throws IOException {
+            int reference = readSize();
+
+            if (reference == 0) {
+                String name = readString();
+                names.add(name);
+                return name;
+            }
+
+            if (reference > names.size()) {
+                throw new JsonSyntaxException("Invalid binary JSON name reference " + reference);
+            }
+
+            return names.get(reference - 1);
+        }
+
+        private String readString() throws IOException {
+            int length = readSize();
+
+            if (length <= limit - position) {
+                String string = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return string;
+            }
+
+            // The length comes from the file, so the array grows only as the bytes are actually read and a corrupt length cannot allocate more
+            // than the rest of the file
+            byte[] bytes = new byte[Math.min(length, Math.max(STRING_CHUNK_SIZE, limit - position))];
+            int read = Math.min(length, limit - position);
+            System.arraycopy(buffer, position, bytes, 0, read);
+            position += read;
+
+            while (read < length) {
+                if (read == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, bytes.length * 2L));
+                }
+
+                int count = inputStream.read(bytes, read, bytes.length - read);
+
+                if (count == -1) {
+                    throw new EOFException("Unexpected end of binary JSON");
+                }
+
+                read += count;
+            }
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int readSize() throws IOException {
+            long size = readVarint();
+
+            if (size < 0 || size > Integer.MAX_VALUE) {
+                throw new JsonSyntaxException("Invalid binary JSON size " + size);
+            }
+
+            return (int) size;
+        }
+
+        private long readVarint() throws IOException {
+            long value = 0;
+
+            for (int shift = 0; shift < 64; shift += 7) {
+                int current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+
+            throw new JsonSyntaxException("Invalid binary JSON varint");
+        }
+
+        private int readByte() throws IOException {
+            int value = read();
+
+            if (value == -1) {
+                throw new EOFException("Unexpected end of binary JSON");
+            }
+
+            return value;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = inputStream.read(buffer, 0, buffer.length);
+                position = 0;
+
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+
+            return buffer[position++] & 0xFF;
+        }
+
+        private static void checkNesting(int depth) {
+            if (depth >= MAX_NESTING) {
+                throw new JsonSyntaxException("Binary JSON is nested too deeply");
+            }
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Pool of the buffers, encoders and decoders used when loading and saving files, so reading or writing small file does not allocate them over
+ * and over<br>
+ * Sets of fixed-size {@link Buffers} ({@link #BUFFER_SIZE} bytes and chars) are borrowed by {@link #acquire()} and returned by
+ * {@link #release(Buffers)}. They are kept in {@link ObjectPool} shared by all threads, so they are reused on virtual threads as well. When the
+ * pool is empty (e.g., more files are loaded and saved at once than the pool holds), a new set is created, which is dropped when
+ * released into full pool.
+ */
+final class BufferPool {
+
+    /**
+     * Size of the pooled byte and char buffers
+     */
+    static final int BUFFER_SIZE = 8192;
+
+    private static final ObjectPool<Buffers> BUFFERS = new ObjectPool<>();
+
+    private BufferPool() {
+    }
+
+    /**
+     * Borrows pooled {@link Buffers}, or new ones when the pool is empty
+     *
+     * @return Non-null {@link Buffers}, which have to be returned by {@link #release(Buffers)}
+     */
+    static Buffers acquire() {
+        Buffers buffers = BUFFERS.poll();
+        return buffers != null ? buffers : new Buffers();
+    }
+
+    /**
+     * Returns the specified {@link Buffers}, they must not be used afterward
+     *
+     * @param buffers Non-null {@link Buffers}
+     */
+    static void release(@NonNull Buffers buffers) {
+        BUFFERS.offer(buffers);
+    }
+
+    /**
+     * Creates {@link Reader} which decodes the specified {@link InputStream} with pooled buffers and decoder, replacing malformed input the same
+     * as {@link java.io.InputStreamReader} does. Closing the {@link Reader} returns the buffers, but does not close the {@link InputStream}.
+     *
+     * @param inputStream Non-null {@link InputStream}
+     * @param charset     Non-null {@link Charset}
+     *
+     * @return Non-null {@link Reader}, which has to be closed
+     */
+    static Reader newReader(@NonNull InputStream inputStream, @NonNull Charset charset) {
+        return new PooledReader(inputStream, charset, acquire());
+    }
+
+    /**
+     * Creates buffered {@link Writer} which encodes into the specified {@link OutputStream} with pooled buffers and encoder, replacing malformed
+     * input the same as {@link java.io.OutputStreamWriter} does. Closing the {@link Writer} writes all buffered content, flushes the
+     * {@link OutputStream} and returns the buffers, but does not close the {@link OutputStream}.
+     *
+     * @param outputStream Non-null {@link OutputStream}
+     * @param charset      Non-null {@link Charset}
+     *
+     * @return Non-null {@link Writer}, which has to be closed
+     */
+    static Writer newWriter(@NonNull OutputStream outputStream, @NonNull Charset charset) {
+        return new PooledWriter(outputStream, charset, acquire());
+    }
+
+    /**
+     * Byte and char buffers with encoder and decoder of the last used {@link Charset}
+     */
+    static final class Buffers {
+
+        final byte[] bytes = new byte[BUFFER_SIZE];
+        final char[] chars = new char[BUFFER_SIZE];
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+        final CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+        private CharsetDecoder decoder;
+        private CharsetEncoder encoder;
+
+        private Buffers() {
+        }
+
+        private CharsetDecoder decoder(Charset charset) {
+            if (decoder == null || !decoder.charset().equals(charset)) {
+                decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+
+            return decoder.reset();
+        }
+
+        private CharsetEncoder encoder(Charset charset) {
+            if (encoder == null || !encoder.charset().equals(charset)) {
+                encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+
+            return encoder.reset();
+        }
+    }
+
+    /**
+     * {@link Reader} decoding bytes read into the pooled byte buffer into the pooled char buffer, which is then copied out
+     */
+    private static final class PooledReader extends Reader {
+
+        private final InputStream inputStream;
+        private final CharsetDecoder decoder;
+        private Buffers buffers;
+        private boolean endOfInput;
+        private boolean flushed;
+
+        private PooledReader(InputStream inputStream, Charset charset, Buffers buffers) {
+            this.inputStream = inputStream;
+            this.decoder = buffers.decoder(charset);
+            this.buffers = buffers;
+
+            // Both buffers start empty, in the state for reading from them
+            buffers.byteBuffer.clear().limit(0);
+            buffers.charBuffer.clear().limit(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            char[] singleChar = new char[1];
+            return read(singleChar, 0, 1) == -1 ? -1 : singleChar[0];
+        }
+
+        @Override
+        public int read(char[] chars, int offset, int length) throws IOException {
+            if (buffers == null) {
+                throw new IOException("Stream closed");
+            }
+
+            if (length == 0) {
+                return 0;
+            }
+
+            CharBuffer charBuffer = buffers.charBuffer;
+
+            if (!charBuffer.hasRemaining() && !decode()) {
+                return -1;
+            }
+
+            int count = Math.min(length, charBuffer.remaining());
+            charBuffer.get(chars, offset, count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (buffers != null) {
+                release(buffers);
+                buffers = null;
+            }
+        }
+
+        /**
+         * Decodes more chars into the empty char buffer, reading more bytes when needed
+         *
+         * @return false if the end of input was reached and there are no more chars
+         */
+        private boolean decode() throws IOException {
+            ByteBuffer byteBuffer = buffers.byteBuffer;
+            CharBuffer charBuffer = buffers.charBuffer;
+            charBuffer.clear();
+
+            while (true) {
+                if (flushed) {
+                    break;
+                }
+
+                CoderResult result = decoder.decode(byteBuffer, charBuffer, endOfInput);
+
+                if (endOfInput && result.isUnderflow()) {
+                    result = decoder.flush(charBuffer);
+
+                    if (result.isUnderflow()) {
+                        flushed = true;
+                    }
+                }
+
+                // Overflow, or some chars were decoded from the available bytes
+                if (result.isOverflow() || charBuffer.position() > 0) {
+                    break;
+                }
+
+                if (!endOfInput) {
+                    fill(byteBuffer);
+                }
+            }
+
+            charBuffer.flip();
+            return charBuffer.hasRemaining();
+        }
+
+        /**
+         * Reads more bytes into the byte buffer, keeping the undecoded ones
+         */
+        private void fill(ByteBuffer byteBuffer) throws IOException {
+            byteBuffer.compact();
+            int read = inputStream.read(byteBuffer.array(), byteBuffer.position(), byteBuffer.remaining());
+
+            if (read == -1) {
+                endOfInput = true;
+            } else {
+                byteBuffer.position(byteBuffer.position() + read);
+            }
+
+            byteBuffer.flip();
+        }
+    }
+
+    /**
+     * {@link Writer} buffering chars in the pooled char buffer, which are encoded into the pooled byte buffer when it is full
+     */
+    private static final class PooledWriter extends Writer {
+
+        private final OutputStream outputStream;
+        private final CharsetEncoder encoder;
+        private Buffers buffers;
+        private int count;
+
+        private PooledWriter(OutputStream outputStream, Charset charset, Buffers buffers) {
+            this.outputStream = outputStream;
+            this.encoder = buffers.encoder(charset);
+            this.buffers = buffers;
+            buffers.byteBuffer.clear();
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            ensureSpace();
+            buffers.chars[count++] = (char) value;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            while (length > 0) {
+                int space = ensureSpace();
+                int written = Math.min(space, length);
+                System.arraycopy(chars, offset, buffers.chars, count, written);
+                count += written;
+                offset += written;
+                length -= written;
+            }
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            while (length > 0) {
+                int space = ensureSpace();
+                int written = Math.min(space, length);
+                string.getChars(offset, offset + written, buffers.chars, count);
+                count += written;
+                offset += written;
+                length -= written;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            encode(false);
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (buffers == null) {
+                return;
+            }
+
+            try {
+                encode(true);
+                outputStream.flush();
+            } finally {
+                release(buffers);
+                buffers = null;
+            }
+        }
+
+        /**
+         * Encodes buffered chars when the char buffer is full
+         *
+         * @return Number of chars which can be buffered
+         */
+        private int ensureSpace() throws IOException {
+            ensureOpen();
+
+            if (count == BUFFER_SIZE) {
+                encode(false);
+            }
+
+            return BUFFER_SIZE - count;
+        }
+
+        /**
+         * Encodes all buffered chars and writes them into the {@link OutputStream}. Unpaired high surrogate at the end stays buffered, unless
+         * it is the end of input.
+         */
+        private void encode(boolean endOfInput) throws IOException {
+            CharBuffer charBuffer = buffers.charBuffer;
+            ByteBuffer byteBuffer = buffers.byteBuffer;
+            charBuffer.clear().limit(count);
+
+            while (encoder.encode(charBuffer, byteBuffer, endOfInput).isOverflow()) {
+                writeBytes(byteBuffer);
+            }
+
+            if (endOfInput) {
+                while (encoder.flush(byteBuffer).isOverflow()) {
+                    writeBytes(byteBuffer);
+                }
+            }
+
+            writeBytes(byteBuffer);
+
+            count = charBuffer.remaining();
+            System.arraycopy(buffers.chars, charBuffer.position(), buffers.chars, 0, count);
+        }
+
+        private void writeBytes(ByteBuffer byteBuffer) throws IOException {
+            if (byteBuffer.position() > 0) {
+                outputStream.write(byteBuffer.array(), 0, byteBuffer.position());
+                byteBuffer.clear();
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (buffers == null) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+}
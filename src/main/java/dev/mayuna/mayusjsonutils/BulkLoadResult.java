@@ -0,0 +1,69 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of {@link BulkLoader}. Contains loaded objects and exceptions of files which could not be loaded, both in the order of the requested
+ * {@link Path}s.
+ *
+ * @param <T> Type of loaded objects
+ */
+public final class BulkLoadResult<T> {
+
+    private final @Getter Map<Path, T> results;
+    private final @Getter Map<Path, Exception> errors;
+
+    BulkLoadResult(@NonNull Map<Path, T> results, @NonNull Map<Path, Exception> errors) {
+        this.results = Collections.unmodifiableMap(new LinkedHashMap<>(results));
+        this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    /**
+     * Determines if any file could not be loaded
+     *
+     * @return true if there are any errors, false otherwise
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * Result of loading single file, passed to the listener of {@link BulkLoader} as soon as the file is loaded
+     *
+     * @param <T> Type of loaded object
+     */
+    @Value
+    public static class Entry<T> {
+
+        /**
+         * Path of the file
+         */
+        Path path;
+
+        /**
+         * Loaded object, null if the file could not be loaded
+         */
+        T result;
+
+        /**
+         * Exception which occurred while loading the file, null if it was loaded
+         */
+        Exception error;
+
+        /**
+         * Determines if the file was loaded
+         *
+         * @return true if loaded, false if it could not be loaded
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.Gson;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads many files in parallel, e.g., whole directory of per-entity JSON files on startup<br>
+ * By default, files are loaded on virtual threads when running on JDK which supports them, otherwise on {@link ForkJoinPool} sized to the number
+ * of available processors. At most {@link #getParallelism()} files are loaded at once.<br>
+ * Use {@link #builder()} to create one and do not forget to {@link #close()} it, which shuts down the default executor (executor you supplied
+ * is left running).
+ */
+public final class BulkLoader implements Closeable {
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final @Getter int parallelism;
+
+    /**
+     * Creates {@link BulkLoader}
+     *
+     * @param executor    Nullable {@link ExecutorService} to load files on, defaults to virtual threads or {@link ForkJoinPool} (see
+     *                    {@link BulkLoader})
+     * @param parallelism Maximum number of files loaded at once, defaults to the number of available processors
+     */
+    @Builder
+    private BulkLoader(ExecutorService executor, Integer parallelism) {
+        this.ownsExecutor = executor == null;
+        this.executor = executor != null ? executor : createDefaultExecutor();
+        this.parallelism = parallelism != null ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        if (this.parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+    }
+
+    /**
+     * Lists all regular files with the specified extension in the specified directory and its subdirectories, sorted by their {@link Path}
+     *
+     * @param directory Non-null {@link Path} of directory
+     * @param extension Non-null extension, e.g., <code>.json</code>
+     *
+     * @return Non-null {@link List} of {@link Path}s
+     *
+     * @throws IOException When I/O exception occurs (unable to list the directory)
+     */
+    public static List<Path> findFiles(@NonNull Path directory, @NonNull String extension) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream.filter(path -> path.getFileName().toString().endsWith(extension))
+                         .filter(Files::isRegularFile)
+                         .sorted()
+                         .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Loads {@link MayuJson}s of all <code>.json</code> files in the specified directory and its subdirectories with
+     * {@link MayuJson#loadJsonObject(Path, Charset)}
+     *
+     * @param directory Non-null {@link Path} of directory
+     * @param charset   Non-null {@link Charset}
+     *
+     * @return Non-null {@link BulkLoadResult}
+     *
+     * @throws IOException When I/O exception occurs (unable to list the directory). Exceptions of single files are in {@link BulkLoadResult}.
+     */
+    public BulkLoadResult<MayuJson> loadJsonObjects(@NonNull Path directory, @NonNull Charset charset) throws IOException {
+        return loadJsonObjects(findFiles(directory, ".json"), charset);
+    }
+
+    /**
+     * Loads {@link MayuJson}s of the specified files with {@link MayuJson#loadJsonObject(Path, Charset)}
+     *
+     * @param paths   Non-null {@link Collection} of {@link Path}s
+     * @param charset Non-null {@link Charset}
+     *
+     * @return Non-null {@link BulkLoadResult}
+     */
+    public BulkLoadResult<MayuJson> loadJsonObjects(@NonNull Collection<Path> paths, @NonNull Charset charset) {
+        return load(paths, path -> {
+            MayuJson mayuJson = MayuJson.loadJsonObject(path, charset);
+
+            if (mayuJson == null) {
+                throw new NoSuchFileException(path.toString());
+            }
+
+            return mayuJson;
+        });
+    }
+
+    /**
+     * Loads {@link MayuJson}s of the specified files with {@link MayuJson#loadJsonObject(Path)}
+     *
+     * @param paths Non-null {@link Collection} of {@link Path}s
+     *
+     * @return Non-null {@link BulkLoadResult}
+     */
+    public BulkLoadResult<MayuJson> loadJsonObjects(@NonNull Collection<Path> paths) {
+        return loadJsonObjects(paths, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Loads objects of the specified files with {@link ObjectLoader#loadOrCreateFrom(Class, Path, Charset, Gson)}
+     *
+     * @param clazz   Non-null {@link Class} with the object you want to load
+     * @param paths   Non-null {@link Collection} of {@link Path}s
+     * @param charset Non-null {@link Charset}
+     * @param gson    Non-null {@link Gson}
+     * @param <T>     Your object type, specified in the {@link Class}
+     *
+     * @return Non-null {@link BulkLoadResult}
+     */
+    public <T> BulkLoadResult<T> loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Collection<Path> paths, @NonNull Charset charset, @NonNull Gson gson) {
+        return load(paths, path -> ObjectLoader.loadOrCreateFrom(clazz, path, charset, gson));
+    }
+
+    /**
+     * Loads objects of the specified files with {@link ObjectLoader#loadOrCreateFrom(Class, Path)}
+     *
+     * @param clazz Non-null {@link Class} with the object you want to load
+     * @param paths Non-null {@link Collection} of {@link Path}s
+     * @param <T>   Your object type, specified in the {@link Class}
+     *
+     * @return Non-null {@link BulkLoadResult}
+     */
+    public <T> BulkLoadResult<T> loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Collection<Path> paths) {
+        return loadOrCreateFrom(clazz, paths, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Loads the specified files with the specified {@link PathLoader} in parallel and waits for all of them
+     *
+     * @param paths  Non-null {@link Collection} of {@link Path}s
+     * @param loader Non-null {@link PathLoader}
+     * @param <T>    Type of loaded objects
+     *
+     * @return Non-null {@link BulkLoadResult}
+     */
+    public <T> BulkLoadResult<T> load(@NonNull Collection<Path> paths, @NonNull PathLoader<T> loader) {
+        Map<Path, T> results = new HashMap<>();
+        Map<Path, Exception> errors = new HashMap<>();
+
+        load(paths, loader, entry -> {
+            if (entry.isSuccess()) {
+                results.put(entry.getPath(), entry.getResult());
+            } else {
+                errors.put(entry.getPath(), entry.getError());
+            }
+        });
+
+        // Keep the requested order
+        Map<Path, T> orderedResults = new LinkedHashMap<>();
+        Map<Path, Exception> orderedErrors = new LinkedHashMap<>();
+
+        for (Path path : paths) {
+            if (results.containsKey(path)) {
+                orderedResults.put(path, results.get(path));
+            } else if (errors.containsKey(path)) {
+                orderedErrors.put(path, errors.get(path));
+            }
+        }
+
+        return new BulkLoadResult<>(orderedResults, orderedErrors);
+    }
+
+    /**
+     * Loads the specified files with the specified {@link PathLoader} in parallel and passes every {@link BulkLoadResult.Entry} to the specified
+     * listener as soon as the file is loaded (in completion order, not in the requested order). The listener is invoked on the calling thread,
+     * this method returns after all files are loaded.
+     *
+     * @param paths    Non-null {@link Collection} of {@link Path}s
+     * @param loader   Non-null {@link PathLoader}
+     * @param listener Non-null {@link Consumer} of {@link BulkLoadResult.Entry}
+     * @param <T>      Type of loaded objects
+     */
+    public <T> void load(@NonNull Collection<Path> paths, @NonNull PathLoader<T> loader, @NonNull Consumer<BulkLoadResult.Entry<T>> listener) {
+        CompletionService<BulkLoadResult.Entry<T>> completionService = new ExecutorCompletionService<>(executor);
+        Iterator<Path> iterator = paths.iterator();
+        int running = 0;
+
+        try {
+            while (iterator.hasNext() || running > 0) {
+                while (running < parallelism && iterator.hasNext()) {
+                    Path path = iterator.next();
+
+                    completionService.submit(() -> {
+                        try {
+                            return new BulkLoadResult.Entry<>(path, loader.load(path), null);
+                        } catch (Exception exception) {
+                            return new BulkLoadResult.Entry<>(path, null, exception);
+                        }
+                    });
+
+                    running++;
+                }
+
+                BulkLoadResult.Entry<T> entry = completionService.take().get();
+                running--;
+                listener.accept(entry);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while bulk loading");
+        } catch (ExecutionException exception) {
+            // Tasks catch all exceptions, so this could be only an Error
+            throw new IllegalStateException("Bulk loading failed", exception.getCause());
+        }
+    }
+
+    /**
+     * Shuts down the default executor. Executor supplied to the builder is left running.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        try {
+            // Java 21+
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Loads an object from {@link Path}
+     *
+     * @param <T> Type of loaded object
+     */
+    @FunctionalInterface
+    public interface PathLoader<T> {
+
+        /**
+         * Loads an object from the specified {@link Path}
+         *
+         * @param path Non-null {@link Path}
+         *
+         * @return Loaded object
+         *
+         * @throws Exception When the object could not be loaded
+         */
+        T load(Path path) throws Exception;
+    }
+}
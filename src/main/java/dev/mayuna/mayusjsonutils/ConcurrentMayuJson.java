@@ -0,0 +1,436 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe variant of {@link MayuJson}<br>
+ * Members are kept in {@link ConcurrentHashMap}, each with the sequence number of its insertion, which snapshots are sorted by to keep the
+ * insertion order of the members. Therefore:
+ * <ul>
+ *     <li>Reads ({@link #getOrNull(String)}, {@link #has(String)}, ...) are lock-free</li>
+ *     <li>Mutations of different members do not block each other, {@link #getOrCreate(String, JsonElement)} is atomic</li>
+ *     <li>{@link #save()} writes a consistent snapshot. Writers are blocked only while the snapshot is copied in memory, not during I/O.</li>
+ * </ul>
+ * Members are shared between this class and its snapshots, so {@link JsonElement}s returned by this class and {@link JsonElement}s passed to it
+ * must be treated as immutable. Use {@link #update(Consumer)} to apply multiple changes atomically.
+ */
+@SuppressWarnings("unused")
+public final class ConcurrentMayuJson {
+
+    private volatile @Setter @Getter @NonNull Path path;
+    private volatile @Setter @Getter @NonNull Charset charset;
+    private volatile @Setter @Getter @NonNull SaveOptions saveOptions = SaveOptions.DEFAULT;
+
+    private final ConcurrentHashMap<String, Member> members = new ConcurrentHashMap<>();
+    private final AtomicLong memberOrder = new AtomicLong();
+    // Writers share the read lock, taking the snapshot (or applying bulk change) takes the write lock
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final Object saveLock = new Object();
+
+    /**
+     * Constructs {@link ConcurrentMayuJson} with specified {@link Path}, {@link Charset} and members of the specified {@link JsonObject}. The
+     * members must not be modified afterward.
+     *
+     * @param path       Non-null {@link Path}
+     * @param charset    Non-null {@link Charset}
+     * @param jsonObject Non-null {@link JsonObject}
+     */
+    public ConcurrentMayuJson(@NonNull Path path, @NonNull Charset charset, @NonNull JsonObject jsonObject) {
+        this.path = path;
+        this.charset = charset;
+        putAll(jsonObject);
+    }
+
+    /**
+     * Constructs {@link ConcurrentMayuJson} with specified {@link Path} and members of the specified {@link JsonObject}. Uses
+     * {@link StandardCharsets#UTF_8} as charset. The members must not be modified afterward.
+     *
+     * @param path       Non-null {@link Path}
+     * @param jsonObject Non-null {@link JsonObject}
+     */
+    public ConcurrentMayuJson(@NonNull Path path, @NonNull JsonObject jsonObject) {
+        this(path, StandardCharsets.UTF_8, jsonObject);
+    }
+
+    /**
+     * Creates or loads {@link ConcurrentMayuJson} from specified {@link Path}. Also creates any missing directories leading to the specified
+     * {@link Path}<br>
+     * Internally invokes {@link MayuJson#createOrLoadJsonObject(Path, Charset)}
+     *
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}
+     *
+     * @return Non-null {@link ConcurrentMayuJson}
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public static ConcurrentMayuJson createOrLoadJsonObject(@NonNull Path path, @NonNull Charset charset) throws IOException {
+        return new ConcurrentMayuJson(path, charset, MayuJson.createOrLoadJsonObject(path, charset).getJsonObject());
+    }
+
+    /**
+     * Creates or loads {@link ConcurrentMayuJson} from specified {@link Path} with {@link StandardCharsets#UTF_8}. Also creates any missing
+     * directories leading to the specified {@link Path}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Non-null {@link ConcurrentMayuJson}
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public static ConcurrentMayuJson createOrLoadJsonObject(@NonNull Path path) throws IOException {
+        return createOrLoadJsonObject(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Loads {@link ConcurrentMayuJson} from specified {@link Path}. Returns null when the specified file in {@link Path} does not exist.<br>
+     * Internally invokes {@link MayuJson#loadJsonObject(Path, Charset)}
+     *
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}
+     *
+     * @return Nullable {@link ConcurrentMayuJson} (null when the specified file in {@link Path} does not exist)
+     *
+     * @throws IOException When I/O exception occurs (unable to read file)
+     */
+    public static ConcurrentMayuJson loadJsonObject(@NonNull Path path, @NonNull Charset charset) throws IOException {
+        MayuJson mayuJson = MayuJson.loadJsonObject(path, charset);
+        return mayuJson == null ? null : new ConcurrentMayuJson(path, charset, mayuJson.getJsonObject());
+    }
+
+    /**
+     * Loads {@link ConcurrentMayuJson} from specified {@link Path} with {@link StandardCharsets#UTF_8}. Returns null when the specified file in
+     * {@link Path} does not exist.
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Nullable {@link ConcurrentMayuJson} (null when the specified file in {@link Path} does not exist)
+     *
+     * @throws IOException When I/O exception occurs (unable to read file)
+     */
+    public static ConcurrentMayuJson loadJsonObject(@NonNull Path path) throws IOException {
+        return loadJsonObject(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reloads current {@link ConcurrentMayuJson} from the filesystem<br>
+     * Internally invokes {@link MayuJson#createOrLoadJsonObject(Path, Charset)} and replaces all members with the loaded ones
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public void reload() throws IOException {
+        setJsonObject(MayuJson.createOrLoadJsonObject(path, charset).getJsonObject());
+    }
+
+    /**
+     * Saves consistent snapshot to the filesystem to the current {@link Path} with current {@link Charset} and {@link SaveOptions}<br>
+     * Writers are blocked only while the snapshot is taken. Concurrent saves are serialized, so the last save always writes the latest
+     * snapshot. Journals left over for the file are deleted, see {@link MayuJsonJournal}.
+     *
+     * @param gson Non-null {@link Gson} to use when converting {@link JsonObject} into JSON
+     *
+     * @throws IOException When I/O exception occurs while saving file
+     */
+    public void save(@NonNull Gson gson) throws IOException {
+        synchronized (saveLock) {
+            JsonIO.writeJson(getJsonObject(), path, charset, gson, saveOptions);
+            MayuJsonJournal.deleteJournals(path);
+        }
+    }
+
+    /**
+     * Saves consistent snapshot to the filesystem to the current {@link Path} with current {@link Charset} and {@link SaveOptions}<br>
+     * Uses {@link MayuJson#DEFAULT_GSON}
+     *
+     * @throws IOException When I/O exception occurs while saving file
+     */
+    public void save() throws IOException {
+        save(MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Returns {@link JsonElement} with specified name. Lock-free.
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Nullable {@link JsonElement} (null when there is no such specified member or the member is {@link JsonNull})
+     */
+    public JsonElement getOrNull(@NonNull String memberName) {
+        Member member = members.get(memberName);
+
+        if (member == null || member.value.isJsonNull()) {
+            return null;
+        }
+
+        return member.value;
+    }
+
+    /**
+     * Atomically returns {@link JsonElement} with specified name if exists. Otherwise, adds the specified value and returns the same specified
+     * value.
+     *
+     * @param memberName   Non-null member name
+     * @param defaultValue Non-null {@link JsonElement}
+     *
+     * @return Non-null {@link JsonElement} (returns the same instance of specified <code>defaultValue</code> if specified member does not exist)
+     */
+    public JsonElement getOrCreate(@NonNull String memberName, @NonNull JsonElement defaultValue) {
+        JsonElement existingElement = getOrNull(memberName);
+
+        if (existingElement != null) {
+            return existingElement;
+        }
+
+        snapshotLock.readLock().lock();
+
+        try {
+            return members.compute(memberName, (name, member) -> {
+                if (member != null && !member.value.isJsonNull()) {
+                    return member;
+                }
+
+                return new Member(member != null ? member.order : memberOrder.incrementAndGet(), defaultValue);
+            }).value;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies all changes made by the specified {@link Consumer} atomically with respect to other writers, {@link #save()} and
+     * {@link #getJsonObject()}. The {@link Consumer} gets a deep copy of the current members (so even changes of nested elements are not visible
+     * until it returns), which replace the current members after the {@link Consumer} returns. Writers are blocked meanwhile, so keep it short.
+     * Lock-free readers observe the changed members one by one.
+     *
+     * @param mutator Non-null {@link Consumer} which modifies the {@link JsonObject}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public ConcurrentMayuJson update(@NonNull Consumer<JsonObject> mutator) {
+        snapshotLock.writeLock().lock();
+
+        try {
+            JsonObject jsonObject = getJsonObject().deepCopy();
+            mutator.accept(jsonObject);
+            replaceAll(jsonObject);
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds {@link JsonElement}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link JsonElement}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public ConcurrentMayuJson add(@NonNull String memberName, @NonNull JsonElement value) {
+        snapshotLock.readLock().lock();
+
+        try {
+            members.compute(memberName, (name, member) -> new Member(member != null ? member.order : memberOrder.incrementAndGet(), value));
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds {@link Number}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Number}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public ConcurrentMayuJson addProperty(@NonNull String memberName, @NonNull Number value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link String}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link String}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public ConcurrentMayuJson addProperty(@NonNull String memberName, @NonNull String value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link Boolean}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Boolean}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public ConcurrentMayuJson addProperty(@NonNull String memberName, @NonNull Boolean value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link Character}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Character}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public ConcurrentMayuJson addProperty(@NonNull String memberName, @NonNull Character value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Removes member
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Returns itself, great for chaining
+     */
+    public ConcurrentMayuJson remove(@NonNull String memberName) {
+        snapshotLock.readLock().lock();
+
+        try {
+            members.remove(memberName);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if a member with the specified name is present. Lock-free.
+     *
+     * @param memberName Non-null member name
+     *
+     * @return true if there is a member with the specified name, false otherwise
+     */
+    public boolean has(@NonNull String memberName) {
+        return members.containsKey(memberName);
+    }
+
+    /**
+     * Determines if specified member is {@link JsonNull}. Lock-free.
+     *
+     * @param memberName Non-null member name
+     *
+     * @return <code>true</code> the specified member is {@link JsonNull} <code>false</code> otherwise (<strong><code>false</code> also when the
+     * specified member does not exist</strong>)
+     */
+    public boolean isJsonNull(@NonNull String memberName) {
+        Member member = members.get(memberName);
+        return member != null && member.value.isJsonNull();
+    }
+
+    /**
+     * Returns consistent snapshot of all members, in their insertion order. Adding or removing members of the returned {@link JsonObject} does
+     * not modify this {@link ConcurrentMayuJson}, but nested {@link JsonObject}s and {@link com.google.gson.JsonArray}s are the live member
+     * values, so do not modify them, use {@link #update(Consumer)} for that.
+     *
+     * @return Non-null {@link JsonObject}
+     */
+    public JsonObject getJsonObject() {
+        List<Map.Entry<String, Member>> entries;
+
+        snapshotLock.writeLock().lock();
+
+        try {
+            entries = new ArrayList<>(members.entrySet());
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().order));
+        JsonObject jsonObject = new JsonObject();
+
+        for (Map.Entry<String, Member> entry : entries) {
+            jsonObject.add(entry.getKey(), entry.getValue().value);
+        }
+
+        return jsonObject;
+    }
+
+    /**
+     * Replaces all members with the members of the specified {@link JsonObject}, atomically with respect to other writers, {@link #save()} and
+     * {@link #getJsonObject()}. The members must not be modified afterward.
+     *
+     * @param jsonObject Non-null {@link JsonObject}
+     */
+    public void setJsonObject(@NonNull JsonObject jsonObject) {
+        snapshotLock.writeLock().lock();
+
+        try {
+            replaceAll(jsonObject);
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Creates {@link MayuJson} with deep copy of current snapshot
+     *
+     * @return Non-null {@link MayuJson}
+     */
+    public MayuJson toMayuJson() {
+        MayuJson mayuJson = new MayuJson(path, charset, getJsonObject().deepCopy());
+        mayuJson.setSaveOptions(saveOptions);
+        return mayuJson;
+    }
+
+    private void replaceAll(JsonObject jsonObject) {
+        // Members which did not change are kept, so lock-free readers never miss them
+        members.keySet().removeIf(memberName -> !jsonObject.has(memberName));
+
+        for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+            members.compute(entry.getKey(), (name, member) -> {
+                if (member != null && member.value == entry.getValue()) {
+                    return member;
+                }
+
+                return new Member(member != null ? member.order : memberOrder.incrementAndGet(), entry.getValue());
+            });
+        }
+    }
+
+    private void putAll(JsonObject jsonObject) {
+        for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+            members.put(entry.getKey(), new Member(memberOrder.incrementAndGet(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Member value with its insertion order
+     */
+    private static final class Member {
+
+        private final long order;
+        private final JsonElement value;
+
+        private Member(long order, JsonElement value) {
+            this.order = order;
+            this.value = value;
+        }
+    }
+}
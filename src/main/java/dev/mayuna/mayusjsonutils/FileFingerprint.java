@@ -0,0 +1,78 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * State of a file at the time it was loaded or saved, used to skip reloading of files which have not changed since
+ */
+@Value
+class FileFingerprint {
+
+    Path path;
+    Charset charset;
+    FileTime lastModifiedTime;
+    long size;
+    JsonIO.Checksum checksum;
+
+    /**
+     * Creates {@link FileFingerprint} of the specified {@link Path} with current attributes of the file and the specified {@link JsonIO.Checksum}
+     *
+     * @param path     Non-null {@link Path}
+     * @param charset  Non-null {@link Charset}
+     * @param checksum Non-null {@link JsonIO.Checksum} of the file content
+     *
+     * @return Non-null {@link FileFingerprint}
+     *
+     * @throws IOException When I/O exception occurs (unable to read file attributes)
+     */
+    static FileFingerprint of(@NonNull Path path, @NonNull Charset charset, @NonNull JsonIO.Checksum checksum) throws IOException {
+        return of(path, charset, Files.readAttributes(path, BasicFileAttributes.class), checksum);
+    }
+
+    /**
+     * Creates {@link FileFingerprint} of the specified {@link Path} with the specified {@link BasicFileAttributes} and {@link JsonIO.Checksum}
+     *
+     * @param path       Non-null {@link Path}
+     * @param charset    Non-null {@link Charset}
+     * @param attributes Non-null {@link BasicFileAttributes}
+     * @param checksum   Non-null {@link JsonIO.Checksum} of the file content
+     *
+     * @return Non-null {@link FileFingerprint}
+     */
+    static FileFingerprint of(@NonNull Path path, @NonNull Charset charset, @NonNull BasicFileAttributes attributes, @NonNull JsonIO.Checksum checksum) {
+        return new FileFingerprint(path, charset, attributes.lastModifiedTime(), attributes.size(), checksum);
+    }
+
+    /**
+     * Determines if the file has surely not changed since this fingerprint was taken, without reading the file. When this method returns false,
+     * the file may still have the same content (e.g., it was just touched), see {@link #hasSameContent(JsonIO.Checksum)}.
+     *
+     * @param path       Non-null {@link Path} of the file
+     * @param charset    Non-null {@link Charset} of the file
+     * @param attributes Non-null current {@link BasicFileAttributes} of the file
+     *
+     * @return true if unchanged, false otherwise
+     */
+    boolean isUnchanged(@NonNull Path path, @NonNull Charset charset, @NonNull BasicFileAttributes attributes) {
+        return this.path.equals(path) && this.charset.equals(charset) && lastModifiedTime.equals(attributes.lastModifiedTime()) && size == attributes.size();
+    }
+
+    /**
+     * Determines if the content with the specified {@link JsonIO.Checksum} is the same as the content this fingerprint was taken of
+     *
+     * @param checksum Non-null {@link JsonIO.Checksum}
+     *
+     * @return true if same, false otherwise
+     */
+    boolean hasSameContent(@NonNull JsonIO.Checksum checksum) {
+        return this.checksum.equals(checksum);
+    }
+}
@@ -0,0 +1,27 @@
+package dev.mayuna.mayusjsonutils;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks class for which {@link com.google.gson.TypeAdapter} should be generated at compile time, so {@link ObjectLoader} binds it without
+ * reflection<br>
+ * Generating requires the library and its artifact with classifier {@code processor} on the annotation processor path, e.g.,
+ * {@code annotationProcessor 'dev.mayuna:mayus-json-utilities:<version>:processor'} in Gradle. For class {@code com.example.Config}, {@code com.example.Config_GeneratedTypeAdapter} implementing
+ * {@link GeneratedTypeAdapterFactory} is generated (nested class {@code Outer.Inner} results in {@code Outer_Inner_GeneratedTypeAdapter}), which
+ * is then found by {@link GeneratedTypeAdapters}.<br>
+ * The class must not be abstract nor generic, must have non-private no-args constructor and if it is nested, it must be static. All non-static
+ * and non-transient fields (including inherited ones) are bound in the same order and under the same names as Gson does, respecting
+ * {@link com.google.gson.annotations.SerializedName}. Fields must not be final, and must be accessible from the class's package, either directly
+ * or through getter and setter (including ones generated by Lombok's {@code @Getter}, {@code @Setter} and {@code @Data}).<br>
+ * Fields must not be annotated with {@link com.google.gson.annotations.JsonAdapter}, {@link com.google.gson.annotations.Expose},
+ * {@link com.google.gson.annotations.Since} nor {@link com.google.gson.annotations.Until}, nor the class with
+ * {@link com.google.gson.annotations.JsonAdapter}, which is reported as compilation error. When the {@link com.google.gson.Gson} uses different
+ * {@link com.google.gson.FieldNamingStrategy} than {@link com.google.gson.FieldNamingPolicy#IDENTITY} or any exclusions, or it has its own
+ * adapter of the class, the generated adapter is not used.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateTypeAdapter {
+
+}
@@ -0,0 +1,38 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+
+/**
+ * Factory of {@link TypeAdapter} generated at compile time for class annotated with {@link GenerateTypeAdapter}<br>
+ * Implementations are generated by the annotation processor and looked up by {@link GeneratedTypeAdapters} by their name, or registered with
+ * {@link GeneratedTypeAdapters#register(GeneratedTypeAdapterFactory)}.
+ *
+ * @param <T> Type of the bound class
+ */
+public interface GeneratedTypeAdapterFactory<T> {
+
+    /**
+     * Returns class bound by adapters of this factory
+     *
+     * @return Non-null {@link Class}
+     */
+    Class<T> getType();
+
+    /**
+     * Creates new instance of the bound class with its no-args constructor
+     *
+     * @return Non-null object
+     */
+    T newInstance();
+
+    /**
+     * Creates {@link TypeAdapter} of the bound class. Members which are not of primitive types or {@link String} are bound with adapters from
+     * the specified {@link Gson}.
+     *
+     * @param gson Non-null {@link Gson}
+     *
+     * @return Non-null {@link TypeAdapter}
+     */
+    TypeAdapter<T> create(Gson gson);
+}
@@ -0,0 +1,338 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import com.google.gson.internal.Excluder;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link GeneratedTypeAdapterFactory}s of classes annotated with {@link GenerateTypeAdapter}<br>
+ * {@link ObjectLoader} (and everything built on it, like {@link ObjectLoaderCache} and {@link AsyncJsonIO}) looks the generated adapters up
+ * automatically, so annotated classes are bound and created without reflective field access. The generated factory of a class is found by its
+ * name once and then cached with the class. Members of annotated classes, including ones nested in collections and maps, are bound with the
+ * generated adapters as well.<br>
+ * To use the generated adapters with your own {@link Gson}, register {@link #TYPE_ADAPTER_FACTORY} in its {@link GsonBuilder}. Adapters of
+ * the annotated class registered in the {@link Gson} (including ones by {@link com.google.gson.annotations.JsonAdapter}) take precedence over
+ * the generated one.<br>
+ * The static helper methods are used by the generated adapters, you should not need them.
+ */
+public final class GeneratedTypeAdapters {
+
+    /**
+     * Suffix of the generated {@link GeneratedTypeAdapterFactory} class name
+     */
+    public static final String CLASS_NAME_SUFFIX = "_GeneratedTypeAdapter";
+
+    /**
+     * {@link TypeAdapterFactory} which creates the generated adapters of annotated classes, unless the {@link Gson} uses
+     * {@link FieldNamingStrategy} other than {@link FieldNamingPolicy#IDENTITY} or exclusion strategies (including
+     * {@link GsonBuilder#excludeFieldsWithoutExposeAnnotation()} and {@link GsonBuilder#setVersion(double)}), or it has its own adapter of the
+     * class
+     */
+    public static final TypeAdapterFactory TYPE_ADAPTER_FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            if (!(typeToken.getType() instanceof Class) || !isSupported(gson)) {
+                return null;
+            }
+
+            GeneratedTypeAdapterFactory<T> factory = getFactory((Class<T>) typeToken.getType());
+
+            if (factory == null) {
+                return null;
+            }
+
+            // Factories registered later take precedence in Gson, so the ones registered by the user (and @JsonAdapter) are asked here, the
+            // generated adapter only replaces the reflective one
+            TypeAdapter<T> delegate = gson.getDelegateAdapter(this, typeToken);
+            return delegate.getClass().getName().startsWith(REFLECTIVE_ADAPTER_CLASS_NAME_PREFIX) ? factory.create(gson) : null;
+        }
+    };
+
+    /**
+     * Prefix of class names of Gson's reflective adapters, which are nested in its internal {@code ReflectiveTypeAdapterFactory}
+     */
+    private static final String REFLECTIVE_ADAPTER_CLASS_NAME_PREFIX = "com.google.gson.internal.bind.ReflectiveTypeAdapterFactory$";
+
+    private static final Map<Class<?>, GeneratedTypeAdapterFactory<?>> REGISTERED = new ConcurrentHashMap<>();
+
+    private static final ClassValue<GeneratedTypeAdapterFactory<?>> FACTORIES = new ClassValue<GeneratedTypeAdapterFactory<?>>() {
+        @Override
+        protected GeneratedTypeAdapterFactory<?> computeValue(Class<?> type) {
+            GeneratedTypeAdapterFactory<?> factory = REGISTERED.get(type);
+            return factory != null ? factory : findGenerated(type);
+        }
+    };
+
+    /**
+     * {@link Gson} instances with {@link #TYPE_ADAPTER_FACTORY} registered, by the {@link Gson} they were derived from
+     */
+    private static final Map<Gson, Gson> DERIVED_GSONS = new WeakHashMap<>();
+
+    /**
+     * The derived {@link Gson} instances themselves, which are used as they are
+     */
+    private static final Set<Gson> DERIVED_GSON_SET = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private GeneratedTypeAdapters() {
+    }
+
+    /**
+     * Registers the specified {@link GeneratedTypeAdapterFactory}, replacing the generated one of the same class
+     *
+     * @param factory Non-null {@link GeneratedTypeAdapterFactory}
+     */
+    public static void register(@NonNull GeneratedTypeAdapterFactory<?> factory) {
+        REGISTERED.put(factory.getType(), factory);
+        FACTORIES.remove(factory.getType());
+    }
+
+    /**
+     * Returns {@link GeneratedTypeAdapterFactory} of the specified class
+     *
+     * @param clazz Non-null {@link Class}
+     * @param <T>   Type of the class
+     *
+     * @return Nullable {@link GeneratedTypeAdapterFactory} (null when the class is not annotated with {@link GenerateTypeAdapter} or the
+     * annotation processor did not run)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> GeneratedTypeAdapterFactory<T> getFactory(@NonNull Class<T> clazz) {
+        return (GeneratedTypeAdapterFactory<T>) FACTORIES.get(clazz);
+    }
+
+    /**
+     * Returns {@link TypeAdapter} of the specified class with generated adapter from {@link Gson} derived from the specified one with
+     * {@link #TYPE_ADAPTER_FACTORY} registered. It is the generated adapter, unless the {@link Gson} has its own adapter of the class, which is
+     * returned then.
+     *
+     * @param gson  Non-null {@link Gson}
+     * @param clazz Non-null {@link Class}
+     * @param <T>   Type of the class
+     *
+     * @return Nullable {@link TypeAdapter} (null when there is no generated adapter, or the {@link Gson} does not support it, see
+     * {@link #TYPE_ADAPTER_FACTORY})
+     */
+    public static <T> TypeAdapter<T> getAdapter(@NonNull Gson gson, @NonNull Class<T> clazz) {
+        if (getFactory(clazz) == null || !isSupported(gson)) {
+            return null;
+        }
+
+        return withTypeAdapterFactory(gson).getAdapter(clazz);
+    }
+
+    /**
+     * Returns {@link TypeAdapter} of member of generated adapter: the generated one if the type is class with generated adapter, otherwise the
+     * one from the specified {@link Gson}
+     *
+     * @param gson      Non-null {@link Gson}
+     * @param typeToken Non-null {@link TypeToken}
+     * @param <T>       Member type
+     *
+     * @return Non-null {@link TypeAdapter}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TypeAdapter<T> getMemberAdapter(@NonNull Gson gson, @NonNull TypeToken<T> typeToken) {
+        if (typeToken.getType() instanceof Class) {
+            TypeAdapter<T> adapter = getAdapter(gson, (Class<T>) typeToken.getType());
+
+            if (adapter != null) {
+                return adapter;
+            }
+        }
+
+        return gson.getAdapter(typeToken);
+    }
+
+    /**
+     * Returns {@link TypeAdapter} of member of generated adapter whose type contains classes with generated adapters, e.g., {@code List<Entry>},
+     * from {@link Gson} derived from the specified one with {@link #TYPE_ADAPTER_FACTORY} registered. The derived {@link Gson} is created once
+     * per {@link Gson} and only when some member needs it, since creating it is not free on cold JVM.
+     *
+     * @param gson      Non-null {@link Gson}
+     * @param typeToken Non-null {@link TypeToken}
+     * @param <T>       Member type
+     *
+     * @return Non-null {@link TypeAdapter}
+     */
+    public static <T> TypeAdapter<T> getNestingMemberAdapter(@NonNull Gson gson, @NonNull TypeToken<T> typeToken) {
+        return (isSupported(gson) ? withTypeAdapterFactory(gson) : gson).getAdapter(typeToken);
+    }
+
+    /**
+     * Reads {@code int} like Gson does, the next token must not be JSON null
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Read value
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static int readInt(@NonNull JsonReader reader) throws IOException {
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException exception) {
+            throw new JsonSyntaxException(exception);
+        }
+    }
+
+    /**
+     * Reads {@code long} like Gson does, the next token must not be JSON null
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Read value
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static long readLong(@NonNull JsonReader reader) throws IOException {
+        try {
+            return reader.nextLong();
+        } catch (NumberFormatException exception) {
+            throw new JsonSyntaxException(exception);
+        }
+    }
+
+    /**
+     * Reads {@code boolean} like Gson does (string {@code "true"} is accepted as well), the next token must not be JSON null
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Read value
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static boolean readBoolean(@NonNull JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+
+        return reader.nextBoolean();
+    }
+
+    /**
+     * Reads {@link String} like Gson does (numbers and booleans are accepted as well)
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Nullable {@link String} (null when the next token is JSON null)
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static String readString(@NonNull JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+
+        return reader.nextString();
+    }
+
+    /**
+     * Writes the specified value of non-final declared type like Gson does: with the adapter of its runtime class, if it differs from the
+     * declared one
+     *
+     * @param gson            Non-null {@link Gson}
+     * @param declaredAdapter Non-null {@link TypeAdapter} of the declared type
+     * @param declaredClass   Non-null raw declared {@link Class}
+     * @param writer          Non-null {@link JsonWriter}
+     * @param value           Nullable value
+     * @param <T>             Declared type
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void writeRuntimeType(@NonNull Gson gson, @NonNull TypeAdapter<T> declaredAdapter, @NonNull Class<?> declaredClass, @NonNull JsonWriter writer, T value) throws IOException {
+        if (value == null || value.getClass() == declaredClass) {
+            declaredAdapter.write(writer, value);
+            return;
+        }
+
+        ((TypeAdapter<T>) gson.getAdapter(value.getClass())).write(writer, value);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean isSupported(Gson gson) {
+        if (gson.fieldNamingStrategy() != FieldNamingPolicy.IDENTITY) {
+            return false;
+        }
+
+        try {
+            // Any exclusion strategy, @Expose, versioning or non-default excluded modifiers replace the default Excluder
+            return gson.excluder() == Excluder.DEFAULT;
+        } catch (LinkageError error) {
+            // Gson's internal package is not accessible (e.g., on module path), so the exclusions cannot be checked
+            return false;
+        }
+    }
+
+    /**
+     * Returns {@link Gson} derived from the specified one with {@link #TYPE_ADAPTER_FACTORY} registered, derived instances are cached, so the
+     * adapters of members are cached by {@link Gson} as usual
+     */
+    private static Gson withTypeAdapterFactory(Gson gson) {
+        synchronized (DERIVED_GSONS) {
+            // Generated adapters bind their members with the derived Gson, which must not be derived again
+            if (DERIVED_GSON_SET.contains(gson)) {
+                return gson;
+            }
+
+            Gson derivedGson = DERIVED_GSONS.get(gson);
+
+            if (derivedGson == null) {
+                derivedGson = gson.newBuilder().registerTypeAdapterFactory(TYPE_ADAPTER_FACTORY).create();
+                DERIVED_GSONS.put(gson, derivedGson);
+                DERIVED_GSON_SET.add(derivedGson);
+            }
+
+            return derivedGson;
+        }
+    }
+
+    /**
+     * Finds generated {@link GeneratedTypeAdapterFactory} of the specified class by its name, see {@link GenerateTypeAdapter}
+     */
+    private static GeneratedTypeAdapterFactory<?> findGenerated(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+
+        if (classLoader == null || type.isPrimitive() || type.isArray()) {
+            return null;
+        }
+
+        Class<?> factoryClass;
+
+        try {
+            factoryClass = Class.forName(type.getName().replace('$', '_') + CLASS_NAME_SUFFIX, true, classLoader);
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return null;
+        }
+
+        if (!GeneratedTypeAdapterFactory.class.isAssignableFrom(factoryClass)) {
+            return null;
+        }
+
+        try {
+            GeneratedTypeAdapterFactory<?> factory = (GeneratedTypeAdapterFactory<?>) factoryClass.getConstructor().newInstance();
+            return factory.getType() == type ? factory : null;
+        } catch (ReflectiveOperationException exception) {
+            throw new JsonIOException("Could not create generated type adapter factory " + factoryClass.getName() + "!", exception);
+        }
+    }
+}
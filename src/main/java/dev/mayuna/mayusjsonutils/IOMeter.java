@@ -0,0 +1,174 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.NonNull;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Measures single load or save of a file and reports it to {@link JsonMetricsListener}<br>
+ * Obtained by {@link #start(Path)}, which returns null when {@link JsonMetrics} are disabled, so callers have to null-check it. Not thread-safe.
+ */
+final class IOMeter {
+
+    private final JsonMetricsListener listener;
+    private final Path path;
+    private final long startTime = System.nanoTime();
+
+    private long ioNanos;
+    private long ioBytes;
+    private long fsyncNanos;
+    private boolean fsynced;
+
+    private IOMeter(JsonMetricsListener listener, Path path) {
+        this.listener = listener;
+        this.path = path;
+    }
+
+    /**
+     * Starts measuring operation with the file specified by {@link Path}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Nullable {@link IOMeter} (null when metrics are disabled)
+     */
+    static IOMeter start(@NonNull Path path) {
+        JsonMetricsListener listener = JsonMetrics.getListener();
+        return listener != null ? new IOMeter(listener, path) : null;
+    }
+
+    /**
+     * Reports reload skip of the file specified by {@link Path}, if metrics are enabled
+     *
+     * @param path Non-null {@link Path}
+     */
+    static void reloadSkipped(@NonNull Path path) {
+        JsonMetricsListener listener = JsonMetrics.getListener();
+
+        if (listener != null) {
+            listener.onReloadSkipped(path);
+        }
+    }
+
+    /**
+     * Wraps the specified {@link InputStream} of the file, so time spent reading it and the number of read bytes are measured
+     */
+    InputStream meter(@NonNull InputStream inputStream) {
+        return new FilterInputStream(inputStream) {
+            @Override
+            public int read() throws IOException {
+                long start = System.nanoTime();
+                int value = in.read();
+                ioNanos += System.nanoTime() - start;
+
+                if (value != -1) {
+                    ioBytes++;
+                }
+
+                return value;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                long start = System.nanoTime();
+                int read = in.read(bytes, offset, length);
+                ioNanos += System.nanoTime() - start;
+
+                if (read > 0) {
+                    ioBytes += read;
+                }
+
+                return read;
+            }
+        };
+    }
+
+    /**
+     * Wraps the specified {@link OutputStream} of the file, so time spent writing into it and the number of written bytes are measured
+     */
+    OutputStream meter(@NonNull OutputStream outputStream) {
+        return new FilterOutputStream(outputStream) {
+            @Override
+            public void write(int value) throws IOException {
+                long start = System.nanoTime();
+                out.write(value);
+                ioNanos += System.nanoTime() - start;
+                ioBytes++;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                long start = System.nanoTime();
+                out.write(bytes, offset, length);
+                ioNanos += System.nanoTime() - start;
+                ioBytes += length;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                long start = System.nanoTime();
+                out.flush();
+                ioNanos += System.nanoTime() - start;
+            }
+
+            @Override
+            public void close() throws IOException {
+                long start = System.nanoTime();
+                out.close();
+                ioNanos += System.nanoTime() - start;
+            }
+        };
+    }
+
+    /**
+     * Adds time spent in fsync
+     *
+     * @param nanos Nanoseconds
+     */
+    void addFsync(long nanos) {
+        fsyncNanos += nanos;
+        fsynced = true;
+    }
+
+    /**
+     * Reports successful load
+     *
+     * @param clazz Nullable {@link Class} of the bound object (null when the file was parsed into {@link com.google.gson.JsonObject})
+     */
+    void loaded(Class<?> clazz) {
+        long processingNanos = System.nanoTime() - startTime - ioNanos;
+        listener.onRead(path, ioNanos, ioBytes);
+
+        if (clazz != null) {
+            listener.onBind(path, clazz, processingNanos);
+        } else {
+            listener.onParse(path, processingNanos);
+        }
+    }
+
+    /**
+     * Reports successful save
+     */
+    void saved() {
+        listener.onSerialize(path, System.nanoTime() - startTime - ioNanos - fsyncNanos);
+        listener.onWrite(path, ioNanos, ioBytes);
+
+        if (fsynced) {
+            listener.onFsync(path, fsyncNanos);
+        }
+    }
+
+    /**
+     * Reports failure
+     *
+     * @param operation Non-null {@link JsonMetricsListener.Operation}
+     * @param throwable Non-null {@link Throwable}
+     */
+    void failed(@NonNull JsonMetricsListener.Operation operation, @NonNull Throwable throwable) {
+        listener.onFailure(path, operation, throwable);
+    }
+}
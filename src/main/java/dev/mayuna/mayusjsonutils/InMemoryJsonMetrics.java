@@ -0,0 +1,304 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link JsonMetricsListener} which collects metrics in memory<br>
+ * Durations are recorded into {@link LatencyHistogram}s with power-of-two buckets, so recording is a few {@link LongAdder} increments without
+ * any locking or allocation. Read the collected metrics with the getters, e.g., from your metrics exporter.<br>
+ * Example: {@code JsonMetrics.setListener(metrics = new InMemoryJsonMetrics())}
+ */
+public final class InMemoryJsonMetrics implements JsonMetricsListener {
+
+    private final @Getter LatencyHistogram readLatency = new LatencyHistogram();
+    private final @Getter LatencyHistogram parseLatency = new LatencyHistogram();
+    private final @Getter LatencyHistogram bindLatency = new LatencyHistogram();
+    private final @Getter LatencyHistogram serializeLatency = new LatencyHistogram();
+    private final @Getter LatencyHistogram writeLatency = new LatencyHistogram();
+    private final @Getter LatencyHistogram fsyncLatency = new LatencyHistogram();
+
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder reloadSkips = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder saveFailures = new LongAdder();
+
+    private final ConcurrentHashMap<Path, LongAdder> failuresByPath = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRead(Path path, long nanos, long bytes) {
+        readLatency.record(nanos);
+        bytesRead.add(bytes);
+    }
+
+    @Override
+    public void onParse(Path path, long nanos) {
+        parseLatency.record(nanos);
+    }
+
+    @Override
+    public void onBind(Path path, Class<?> clazz, long nanos) {
+        bindLatency.record(nanos);
+    }
+
+    @Override
+    public void onSerialize(Path path, long nanos) {
+        serializeLatency.record(nanos);
+    }
+
+    @Override
+    public void onWrite(Path path, long nanos, long bytes) {
+        writeLatency.record(nanos);
+        bytesWritten.add(bytes);
+    }
+
+    @Override
+    public void onFsync(Path path, long nanos) {
+        fsyncLatency.record(nanos);
+    }
+
+    @Override
+    public void onReloadSkipped(Path path) {
+        reloadSkips.increment();
+    }
+
+    @Override
+    public void onFailure(Path path, Operation operation, Throwable throwable) {
+        if (operation == Operation.LOAD) {
+            loadFailures.increment();
+        } else {
+            saveFailures.increment();
+        }
+
+        failuresByPath.computeIfAbsent(path.toAbsolutePath().normalize(), ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns number of bytes read from files (before they were decoded by {@link StorageCodec})
+     *
+     * @return Number of bytes
+     */
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * Returns number of bytes written into files (after they were encoded by {@link StorageCodec})
+     *
+     * @return Number of bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Returns number of {@link MayuJson#reloadIfChanged()} invocations which did not reload the file
+     *
+     * @return Number of reload skips
+     */
+    public long getReloadSkips() {
+        return reloadSkips.sum();
+    }
+
+    /**
+     * Returns number of failed loads
+     *
+     * @return Number of failed loads
+     */
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+
+    /**
+     * Returns number of failed saves
+     *
+     * @return Number of failed saves
+     */
+    public long getSaveFailures() {
+        return saveFailures.sum();
+    }
+
+    /**
+     * Returns number of failures of the file specified by {@link Path}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Number of failed loads and saves
+     */
+    public long getFailures(@NonNull Path path) {
+        LongAdder failures = failuresByPath.get(path.toAbsolutePath().normalize());
+        return failures != null ? failures.sum() : 0;
+    }
+
+    /**
+     * Returns number of failures of all files which have failed at least once
+     *
+     * @return Non-null unmodifiable {@link Map} of absolute file {@link Path}s and their number of failed loads and saves
+     */
+    public Map<Path, Long> getFailuresByPath() {
+        Map<Path, Long> failures = new HashMap<>();
+        failuresByPath.forEach((path, count) -> failures.put(path, count.sum()));
+        return Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Resets all collected metrics
+     */
+    public void reset() {
+        readLatency.reset();
+        parseLatency.reset();
+        bindLatency.reset();
+        serializeLatency.reset();
+        writeLatency.reset();
+        fsyncLatency.reset();
+        bytesRead.reset();
+        bytesWritten.reset();
+        reloadSkips.reset();
+        loadFailures.reset();
+        saveFailures.reset();
+        failuresByPath.clear();
+    }
+
+    /**
+     * Histogram of durations in nanoseconds with power-of-two buckets: bucket {@code i} counts durations in {@code [2^(i-1), 2^i)}, so
+     * percentiles are accurate up to a factor of two. Thread-safe.
+     */
+    public static final class LatencyHistogram {
+
+        private static final int BUCKET_COUNT = 64;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private LatencyHistogram() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records duration
+         *
+         * @param nanos Duration in nanoseconds, negative durations are recorded as zero
+         */
+        void record(long nanos) {
+            nanos = Math.max(nanos, 0);
+            buckets[Math.min(BUCKET_COUNT - Long.numberOfLeadingZeros(nanos), BUCKET_COUNT - 1)].increment();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        /**
+         * Returns number of recorded durations
+         *
+         * @return Number of recorded durations
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns sum of all recorded durations
+         *
+         * @return Sum in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * Returns longest recorded duration
+         *
+         * @return Maximum in nanoseconds, 0 when nothing was recorded
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Returns mean of recorded durations
+         *
+         * @return Mean in nanoseconds, 0 when nothing was recorded
+         */
+        public double getMeanNanos() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) getTotalNanos() / count;
+        }
+
+        /**
+         * Returns upper bound of the bucket which contains the specified percentile
+         *
+         * @param percentile Percentile between 0 and 100, e.g., 99.9
+         *
+         * @return Upper bound of the percentile in nanoseconds (at most {@link #getMaxNanos()}), 0 when nothing was recorded
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100, got " + percentile);
+            }
+
+            long[] counts = new long[BUCKET_COUNT];
+            long total = 0;
+
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = Math.max((long) Math.ceil(total * percentile / 100), 1);
+            long seen = 0;
+
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+
+                if (seen >= rank) {
+                    long upperBound = i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.min(upperBound, getMaxNanos());
+                }
+            }
+
+            return getMaxNanos();
+        }
+
+        /**
+         * Returns number of durations recorded in each bucket, see {@link LatencyHistogram}
+         *
+         * @return Non-null array of 64 bucket counts
+         */
+        public long[] getBucketCounts() {
+            long[] counts = new long[BUCKET_COUNT];
+
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets[i].sum();
+            }
+
+            return counts;
+        }
+
+        private void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads elements of JSON array one at a time, e.g., of file with huge event log, without ever holding the whole array in memory<br>
+ * The array may be the whole document or a value found by {@link JsonPath}, e.g., <code>events</code> in <code>{"events": [...]}</code>. Elements
+ * are bound straight from {@link JsonReader} with the adapter of the element {@link Class} from the specified {@link Gson} (or its generated
+ * adapter, see {@link GenerateTypeAdapter}), so only the current element is materialized. Missing array, JSON null and empty file are read as
+ * empty array.<br>
+ * Since {@link Iterator} cannot throw checked exceptions, I/O errors during the iteration are thrown as {@link UncheckedIOException}. The reader
+ * holds the file open until it is closed, so use it with try-with-resources, the same goes for {@link #stream()}. Not thread-safe.
+ *
+ * @param <T> Type of the elements
+ */
+public final class JsonArrayReader<T> implements Iterator<T>, Closeable {
+
+    private final Reader reader;
+    private final JsonReader jsonReader;
+    private final TypeAdapter<T> adapter;
+    private final boolean wholeDocument;
+
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Number of elements read so far
+     */
+    private @Getter long count;
+
+    private JsonArrayReader(Reader reader, JsonPath arrayPath, Class<T> clazz, Gson gson) throws IOException {
+        this.reader = reader;
+        this.jsonReader = new JsonReader(reader);
+        this.jsonReader.setStrictness(Strictness.LENIENT);
+        this.adapter = GeneratedTypeAdapters.getMemberAdapter(gson, TypeToken.get(clazz));
+        this.wholeDocument = arrayPath.getSegments().isEmpty();
+
+        try {
+            finished = !seekArray(arrayPath);
+        } catch (EOFException | MalformedJsonException exception) {
+            throw new JsonSyntaxException(exception);
+        }
+    }
+
+    /**
+     * Opens the file specified by {@link Path} with {@link StandardCharsets#UTF_8} and reads elements of the array which is the whole document
+     *
+     * @param path  Non-null {@link Path}
+     * @param clazz Non-null {@link Class} of the elements
+     * @param gson  Non-null {@link Gson}
+     * @param <T>   Type of the elements
+     *
+     * @return Non-null {@link JsonArrayReader}
+     *
+     * @throws IOException         When I/O exception occurs (unable to open file)
+     * @throws JsonSyntaxException When the document is not JSON array
+     */
+    public static <T> JsonArrayReader<T> open(@NonNull Path path, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        return open(path, StandardCharsets.UTF_8, LoadOptions.DEFAULT, JsonPath.compile("$"), clazz, gson);
+    }
+
+    /**
+     * Opens the file specified by {@link Path} with {@link StandardCharsets#UTF_8} and reads elements of the array found by the specified
+     * {@link JsonPath}
+     *
+     * @param path      Non-null {@link Path}
+     * @param arrayPath Non-null {@link JsonPath} of the array
+     * @param clazz     Non-null {@link Class} of the elements
+     * @param gson      Non-null {@link Gson}
+     * @param <T>       Type of the elements
+     *
+     * @return Non-null {@link JsonArrayReader}
+     *
+     * @throws IOException         When I/O exception occurs (unable to open file)
+     * @throws JsonSyntaxException When the JSON is not valid (up to the array) or the value is not JSON array
+     */
+    public static <T> JsonArrayReader<T> open(@NonNull Path path, @NonNull JsonPath arrayPath, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        return open(path, StandardCharsets.UTF_8, LoadOptions.DEFAULT, arrayPath, clazz, gson);
+    }
+
+    /**
+     * Opens the file specified by {@link Path} with respect to the specified {@link LoadOptions} and reads elements of the array found by the
+     * specified {@link JsonPath}. Files in {@link StorageFormat#BINARY} cannot be read as a stream.
+     *
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param loadOptions Non-null {@link LoadOptions}
+     * @param arrayPath   Non-null {@link JsonPath} of the array
+     * @param clazz       Non-null {@link Class} of the elements
+     * @param gson        Non-null {@link Gson}
+     * @param <T>         Type of the elements
+     *
+     * @return Non-null {@link JsonArrayReader}
+     *
+     * @throws IOException         When I/O exception occurs (unable to open file)
+     * @throws JsonSyntaxException When the JSON is not valid (up to the array), the value is not JSON array or the file is in binary format
+     */
+    public static <T> JsonArrayReader<T> open(@NonNull Path path, @NonNull Charset charset, @NonNull LoadOptions loadOptions, @NonNull JsonPath arrayPath, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        PushbackInputStream inputStream = new PushbackInputStream(JsonIO.newInputStream(path, loadOptions), BinaryJson.headerLength());
+
+        try {
+            if (BinaryJson.isBinary(inputStream)) {
+                throw new JsonSyntaxException("File " + path + " is in binary format, which cannot be read as a stream");
+            }
+
+            return new JsonArrayReader<>(new InputStreamReader(inputStream, charset), arrayPath, clazz, gson);
+        } catch (IOException | RuntimeException exception) {
+            inputStream.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Reads elements of the array found by the specified {@link JsonPath} from the specified {@link Reader}, which is closed by
+     * {@link #close()}
+     *
+     * @param reader    Non-null {@link Reader}
+     * @param arrayPath Non-null {@link JsonPath} of the array
+     * @param clazz     Non-null {@link Class} of the elements
+     * @param gson      Non-null {@link Gson}
+     * @param <T>       Type of the elements
+     *
+     * @return Non-null {@link JsonArrayReader}
+     *
+     * @throws IOException         When I/O exception occurs (unable to read)
+     * @throws JsonSyntaxException When the JSON is not valid (up to the array) or the value is not JSON array
+     */
+    public static <T> JsonArrayReader<T> open(@NonNull Reader reader, @NonNull JsonPath arrayPath, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        return new JsonArrayReader<>(reader, arrayPath, clazz, gson);
+    }
+
+    /**
+     * Opens the file specified by {@link Path} with {@link StandardCharsets#UTF_8} and returns {@link Stream} of elements of the array which is
+     * the whole document, see {@link #stream()}
+     *
+     * @param path  Non-null {@link Path}
+     * @param clazz Non-null {@link Class} of the elements
+     * @param gson  Non-null {@link Gson}
+     * @param <T>   Type of the elements
+     *
+     * @return Non-null {@link Stream}, which has to be closed
+     *
+     * @throws IOException         When I/O exception occurs (unable to open file)
+     * @throws JsonSyntaxException When the document is not JSON array
+     */
+    public static <T> Stream<T> stream(@NonNull Path path, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        return open(path, clazz, gson).stream();
+    }
+
+    /**
+     * Opens the file specified by {@link Path} with {@link StandardCharsets#UTF_8} and returns {@link Stream} of elements of the array found by
+     * the specified {@link JsonPath}, see {@link #stream()}
+     *
+     * @param path      Non-null {@link Path}
+     * @param arrayPath Non-null {@link JsonPath} of the array
+     * @param clazz     Non-null {@link Class} of the elements
+     * @param gson      Non-null {@link Gson}
+     * @param <T>       Type of the elements
+     *
+     * @return Non-null {@link Stream}, which has to be closed
+     *
+     * @throws IOException         When I/O exception occurs (unable to open file)
+     * @throws JsonSyntaxException When the JSON is not valid (up to the array) or the value is not JSON array
+     */
+    public static <T> Stream<T> stream(@NonNull Path path, @NonNull JsonPath arrayPath, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        return open(path, arrayPath, clazz, gson).stream();
+    }
+
+    /**
+     * Returns sequential {@link Stream} of the remaining elements. Closing the {@link Stream} closes this reader.
+     *
+     * @return Non-null {@link Stream}
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED);
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+    /**
+     * Checks if there is next element. Reaching the end of the array does not close the reader.
+     *
+     * @return true if there is next element, false otherwise
+     *
+     * @throws UncheckedIOException When I/O exception occurs
+     * @throws JsonSyntaxException  When the JSON is not valid
+     */
+    @Override
+    public boolean hasNext() {
+        if (finished || closed) {
+            return false;
+        }
+
+        try {
+            if (jsonReader.hasNext()) {
+                return true;
+            }
+
+            jsonReader.endArray();
+            finished = true;
+
+            if (wholeDocument && jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+
+            return false;
+        } catch (EOFException | MalformedJsonException exception) {
+            throw new JsonSyntaxException(exception);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Reads and binds next element
+     *
+     * @return Nullable element (null when the element is JSON null)
+     *
+     * @throws NoSuchElementException When there are no more elements
+     * @throws UncheckedIOException   When I/O exception occurs
+     * @throws JsonParseException     When the JSON is not valid or the element could not be bound
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            T element = adapter.read(jsonReader);
+            count++;
+            return element;
+        } catch (EOFException | MalformedJsonException | IllegalStateException exception) {
+            // Gson converts these by itself, but the adapter is used directly
+            throw new JsonSyntaxException(exception);
+        } catch (JsonIOException exception) {
+            throw new UncheckedIOException(JsonIO.unwrap(exception));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Closes the underlying file or {@link Reader}
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        reader.close();
+    }
+
+    /**
+     * Moves the {@link JsonReader} into the array of the specified {@link JsonPath}
+     *
+     * @return true if the array was found and it is not JSON null, false otherwise
+     */
+    private boolean seekArray(JsonPath arrayPath) throws IOException {
+        try {
+            jsonReader.peek();
+        } catch (EOFException exception) {
+            return false;
+        }
+
+        if (!arrayPath.seek(jsonReader)) {
+            return false;
+        }
+
+        JsonToken token = jsonReader.peek();
+
+        if (token == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return false;
+        }
+
+        if (token != JsonToken.BEGIN_ARRAY) {
+            throw new JsonSyntaxException("Expected JSON array at '" + arrayPath + "', got " + token);
+        }
+
+        jsonReader.beginArray();
+        return true;
+    }
+}
@@ -0,0 +1,299 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.Strictness;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Writes JSON array into a file one element at a time, without ever holding the whole array in memory, the counterpart of
+ * {@link JsonArrayReader}<br>
+ * Elements are serialized straight into the file with the adapter of the element {@link Class} from the specified {@link Gson} (or its generated
+ * adapter, see {@link GenerateTypeAdapter}). The array is finished by {@link #close()}. With {@link SaveOptions#isAtomic()}, the elements are
+ * written into temporary file, which replaces the file only when the writer is closed, so readers never see partially written array; use
+ * {@link #abort()} to discard it instead. When writing an element fails, {@link #close()} aborts the writer as well.<br>
+ * Files in {@link StorageFormat#BINARY} cannot be written as a stream. Not thread-safe.
+ *
+ * @param <T> Type of the elements
+ */
+public final class JsonArrayWriter<T> implements Closeable, Flushable {
+
+    private final Path targetPath;
+    private final Path temporaryPath;
+    private final SaveOptions saveOptions;
+    private final FileChannel channel;
+    private final OutputStream outputStream;
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+    private final Gson gson;
+    private final Class<T> clazz;
+    private final TypeAdapter<T> adapter;
+
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * Number of elements written so far
+     */
+    private @Getter long count;
+
+    private JsonArrayWriter(Path targetPath, Path temporaryPath, SaveOptions saveOptions, FileChannel channel, OutputStream outputStream, Writer writer, Class<T> clazz, Gson gson) throws IOException {
+        this.targetPath = targetPath;
+        this.temporaryPath = temporaryPath;
+        this.saveOptions = saveOptions;
+        this.channel = channel;
+        this.outputStream = outputStream;
+        this.writer = writer;
+        this.jsonWriter = gson.newJsonWriter(writer);
+        this.gson = gson;
+        this.clazz = clazz;
+        this.adapter = GeneratedTypeAdapters.getMemberAdapter(gson, TypeToken.get(clazz));
+
+        // Same as Gson#toJson does, so special floating point values are written when Gson allows them
+        if (jsonWriter.getStrictness() == Strictness.LEGACY_STRICT) {
+            jsonWriter.setStrictness(Strictness.LENIENT);
+        }
+    }
+
+    /**
+     * Opens the file specified by {@link Path} for writing with {@link StandardCharsets#UTF_8} and {@link SaveOptions#DEFAULT}
+     *
+     * @param path  Non-null {@link Path}
+     * @param clazz Non-null {@link Class} of the elements
+     * @param gson  Non-null {@link Gson}
+     * @param <T>   Type of the elements
+     *
+     * @return Non-null {@link JsonArrayWriter}
+     *
+     * @throws IOException When I/O exception occurs (unable to open file)
+     */
+    public static <T> JsonArrayWriter<T> open(@NonNull Path path, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        return open(path, StandardCharsets.UTF_8, SaveOptions.DEFAULT, clazz, gson);
+    }
+
+    /**
+     * Opens the file specified by {@link Path} for writing with respect to the specified {@link SaveOptions}
+     *
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param saveOptions Non-null {@link SaveOptions}, its {@link StorageFormat} must be {@link StorageFormat#JSON}
+     * @param clazz       Non-null {@link Class} of the elements
+     * @param gson        Non-null {@link Gson}
+     * @param <T>         Type of the elements
+     *
+     * @return Non-null {@link JsonArrayWriter}
+     *
+     * @throws IOException              When I/O exception occurs (unable to open file)
+     * @throws IllegalArgumentException When the {@link SaveOptions} use {@link StorageFormat#BINARY}
+     */
+    public static <T> JsonArrayWriter<T> open(@NonNull Path path, @NonNull Charset charset, @NonNull SaveOptions saveOptions, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        if (saveOptions.getStorageFormat() == StorageFormat.BINARY) {
+            throw new IllegalArgumentException("Binary format cannot be written as a stream");
+        }
+
+        StorageCodec codec = StorageCodecs.resolve(saveOptions.getStorageCodec(), path);
+        Path targetPath = path;
+        Path temporaryPath = null;
+        FileChannel channel;
+        OutputStream outputStream = null;
+        Writer writer = null;
+
+        if (saveOptions.isAtomic()) {
+            targetPath = JsonIO.targetPathOf(path);
+            temporaryPath = JsonIO.temporaryPathOf(targetPath);
+            channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } else {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        try {
+            if (temporaryPath != null) {
+                JsonIO.copyPermissions(targetPath, temporaryPath);
+            }
+
+            // Neither the writer nor the codec closes the channel, so it can be still fsync-ed
+            outputStream = codec.encode(new JsonIO.UnclosableOutputStream(Channels.newOutputStream(channel)));
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream, charset));
+            JsonArrayWriter<T> arrayWriter = new JsonArrayWriter<>(targetPath, temporaryPath, saveOptions, channel, outputStream, writer, clazz, gson);
+            arrayWriter.jsonWriter.beginArray();
+            return arrayWriter;
+        } catch (IOException | RuntimeException exception) {
+            closeEncoder(exception, writer, outputStream);
+            channel.close();
+
+            if (temporaryPath != null) {
+                Files.deleteIfExists(temporaryPath);
+            }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Writes the specified element
+     *
+     * @param element Nullable element (null is written as JSON null)
+     *
+     * @throws IOException           When I/O exception occurs (unable to write)
+     * @throws IllegalStateException When the writer is closed
+     */
+    public void write(T element) throws IOException {
+        ensureOpen();
+
+        try {
+            GeneratedTypeAdapters.writeRuntimeType(gson, adapter, clazz, jsonWriter, element);
+            count++;
+        } catch (JsonIOException exception) {
+            failed = true;
+            throw JsonIO.unwrap(exception);
+        } catch (IOException | RuntimeException exception) {
+            failed = true;
+            throw exception;
+        }
+    }
+
+    /**
+     * Writes all remaining elements of the specified {@link Iterator}, e.g., of {@link JsonArrayReader}
+     *
+     * @param iterator Non-null {@link Iterator}
+     *
+     * @throws IOException           When I/O exception occurs (unable to write)
+     * @throws IllegalStateException When the writer is closed
+     */
+    public void writeAll(@NonNull Iterator<? extends T> iterator) throws IOException {
+        while (iterator.hasNext()) {
+            write(iterator.next());
+        }
+    }
+
+    /**
+     * Flushes the written elements into the file. With {@link SaveOptions#isAtomic()}, they are still not visible until the writer is closed.
+     *
+     * @throws IOException When I/O exception occurs (unable to write)
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        jsonWriter.flush();
+    }
+
+    /**
+     * Finishes the array and closes the file, fsync-ing it and moving it over the target file with respect to the {@link SaveOptions}. If
+     * writing of some element failed, the writer is aborted instead, see {@link #abort()}.
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        if (failed) {
+            abort();
+            return;
+        }
+
+        closed = true;
+        boolean moved = false;
+
+        try {
+            jsonWriter.endArray();
+
+            // Closing the writer finishes the encoder
+            writer.close();
+
+            if (saveOptions.isFsync()) {
+                channel.force(true);
+            }
+
+            channel.close();
+
+            if (temporaryPath != null) {
+                JsonIO.moveOver(temporaryPath, targetPath);
+                moved = true;
+
+                if (saveOptions.isFsync()) {
+                    JsonIO.syncDirectory(targetPath.getParent());
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            // The writer may not have been closed, the encoder must be released anyway
+            closeEncoder(exception, writer, outputStream);
+            throw exception;
+        } finally {
+            channel.close();
+
+            if (temporaryPath != null && !moved) {
+                Files.deleteIfExists(temporaryPath);
+            }
+        }
+    }
+
+    /**
+     * Closes the file without finishing the array. With {@link SaveOptions#isAtomic()}, the temporary file is deleted and the target file stays
+     * untouched, otherwise the partially written array is left in the file. The {@link StorageCodec}'s stream is closed as well, so it releases
+     * its resources, exceptions of closing it are ignored.
+     *
+     * @throws IOException When I/O exception occurs (unable to delete temporary file)
+     */
+    public void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            closeEncoder(null, writer, outputStream);
+            channel.close();
+        } finally {
+            if (temporaryPath != null) {
+                Files.deleteIfExists(temporaryPath);
+            }
+        }
+    }
+
+    /**
+     * Closes the specified writer and {@link StorageCodec}'s stream (closing just the writer does not close the stream when flushing it fails),
+     * so the codec releases its resources, e.g., native memory of {@link java.util.zip.Deflater}. Neither of them closes the channel.
+     *
+     * @param exception   Nullable exception to which exceptions of closing are added as suppressed, they are ignored when null
+     * @param closeables Nullable writer and stream
+     */
+    private static void closeEncoder(Exception exception, Closeable... closeables) {
+        for (Closeable closeable : closeables) {
+            if (closeable == null) {
+                continue;
+            }
+
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException closeException) {
+                if (exception != null && exception != closeException) {
+                    exception.addSuppressed(closeException);
+                }
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("JsonArrayWriter is closed");
+        }
+    }
+}
@@ -0,0 +1,782 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Internal I/O helpers shared by {@link MayuJson} and {@link ObjectLoader}
+ */
+final class JsonIO {
+
+    private JsonIO() {
+    }
+
+    /**
+     * Parses {@link JsonObject} from the specified {@link Reader} through {@link JsonReader}, without reading the whole input into memory
+     * first<br>
+     * Empty input (or input with only whitespace) results in empty {@link JsonObject}, the same as {@link MayuJson#EMPTY_JSON_OBJECT}
+     *
+     * @param reader Non-null {@link Reader}
+     *
+     * @return Non-null {@link JsonObject}
+     *
+     * @throws IOException           When I/O exception occurs (unable to read)
+     * @throws JsonSyntaxException   When the input is not valid JSON
+     * @throws IllegalStateException When the input is not JSON object
+     */
+    static JsonObject readJsonObject(@NonNull Reader reader) throws IOException {
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setStrictness(Strictness.LENIENT);
+
+        try {
+            try {
+                jsonReader.peek();
+            } catch (EOFException exception) {
+                return new JsonObject();
+            }
+
+            JsonElement jsonElement = JsonParser.parseReader(jsonReader);
+
+            if (!jsonElement.isJsonNull() && jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+
+            return jsonElement.getAsJsonObject();
+        } catch (MalformedJsonException exception) {
+            throw new JsonSyntaxException(exception);
+        } catch (JsonIOException exception) {
+            throw unwrap(exception);
+        }
+    }
+
+    /**
+     * Binds object of the specified {@link Class} from the specified {@link Reader} through {@link JsonReader}, without creating intermediate
+     * {@link JsonElement} tree<br>
+     * Empty input (or input with only whitespace) is bound as {@link MayuJson#EMPTY_JSON_OBJECT}
+     *
+     * @param reader Non-null {@link Reader}
+     * @param clazz  Non-null {@link Class}
+     * @param gson   Non-null {@link Gson}
+     * @param <T>    Object type
+     *
+     * @return Non-null object
+     *
+     * @throws IOException         When I/O exception occurs (unable to read)
+     * @throws JsonParseException When the input is not valid JSON, is JSON null or could not be bound
+     */
+    static <T> T readObject(@NonNull Reader reader, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setStrictness(Strictness.LENIENT);
+        TypeAdapter<T> generatedAdapter = GeneratedTypeAdapters.getAdapter(gson, clazz);
+
+        try {
+            try {
+                jsonReader.peek();
+            } catch (EOFException exception) {
+                return generatedAdapter != null ? generatedAdapter.fromJson(MayuJson.EMPTY_JSON_OBJECT) : gson.fromJson(MayuJson.EMPTY_JSON_OBJECT, clazz);
+            }
+
+            T object = generatedAdapter != null ? generatedAdapter.read(jsonReader) : gson.fromJson(jsonReader, clazz);
+
+            if (object == null) {
+                throw new JsonSyntaxException("JSON is null, expected " + clazz.getName());
+            }
+
+            if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+
+            return object;
+        } catch (MalformedJsonException | IllegalStateException exception) {
+            // IllegalStateException is thrown by generated adapters on unexpected tokens, Gson converts it by itself
+            throw new JsonSyntaxException(exception);
+        } catch (JsonIOException exception) {
+            throw unwrap(exception);
+        }
+    }
+
+    /**
+     * Parses {@link JsonObject} from the specified {@link InputStream} in any {@link StorageFormat}, see {@link #readJsonObject(Reader)}
+     *
+     * @param inputStream Non-null {@link InputStream}
+     * @param charset     Non-null {@link Charset} of JSON text
+     *
+     * @return Non-null {@link JsonObject}
+     *
+     * @throws IOException           When I/O exception occurs (unable to read)
+     * @throws JsonSyntaxException   When the input is not valid JSON
+     * @throws IllegalStateException When the input is not JSON object
+     */
+    static JsonObject readJsonObject(@NonNull InputStream inputStream, @NonNull Charset charset) throws IOException {
+        PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, BinaryJson.headerLength());
+
+        if (BinaryJson.isBinary(pushbackInputStream)) {
+            return BinaryJson.read(pushbackInputStream).getAsJsonObject();
+        }
+
+        try (Reader reader = BufferPool.newReader(pushbackInputStream, charset)) {
+            return readJsonObject(reader);
+        }
+    }
+
+    /**
+     * Parses {@link JsonObject} from the specified {@link InputStream} in any {@link StorageFormat}, see {@link #readJsonObject(InputStream, Charset)},
+     * with {@link Utf8JsonParser} if the charset is {@link StandardCharsets#UTF_8} and the parser is enabled
+     *
+     * @param inputStream Non-null {@link InputStream}
+     * @param charset     Non-null {@link Charset} of JSON text
+     * @param utf8Parser  If true, {@link Utf8JsonParser} is used when possible
+     *
+     * @return Non-null {@link JsonObject}
+     *
+     * @throws IOException                           When I/O exception occurs (unable to read)
+     * @throws Utf8JsonParser.NotStrictJsonException When the input is not strict JSON, it has to be read again with the parser disabled
+     * @throws JsonSyntaxException                   When the input is not valid JSON
+     * @throws IllegalStateException                 When the input is not JSON object
+     */
+    static JsonObject readJsonObject(@NonNull InputStream inputStream, @NonNull Charset charset, boolean utf8Parser) throws IOException, Utf8JsonParser.NotStrictJsonException {
+        if (!utf8Parser || !charset.equals(StandardCharsets.UTF_8)) {
+            return readJsonObject(inputStream, charset);
+        }
+
+        PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, BinaryJson.headerLength());
+
+        if (BinaryJson.isBinary(pushbackInputStream)) {
+            return BinaryJson.read(pushbackInputStream).getAsJsonObject();
+        }
+
+        return Utf8JsonParser.parse(pushbackInputStream).getAsJsonObject();
+    }
+
+    /**
+     * Binds object of the specified {@link Class} from the specified {@link InputStream} in any {@link StorageFormat}, see
+     * {@link #readObject(Reader, Class, Gson)}
+     *
+     * @param inputStream Non-null {@link InputStream}
+     * @param charset     Non-null {@link Charset} of JSON text
+     * @param clazz       Non-null {@link Class}
+     * @param gson        Non-null {@link Gson}
+     * @param <T>         Object type
+     *
+     * @return Non-null object
+     *
+     * @throws IOException        When I/O exception occurs (unable to read)
+     * @throws JsonParseException When the input is not valid JSON, is JSON null or could not be bound
+     */
+    static <T> T readObject(@NonNull InputStream inputStream, @NonNull Charset charset, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, BinaryJson.headerLength());
+
+        if (BinaryJson.isBinary(pushbackInputStream)) {
+            TypeAdapter<T> generatedAdapter = GeneratedTypeAdapters.getAdapter(gson, clazz);
+            JsonElement jsonElement = BinaryJson.read(pushbackInputStream);
+            T object;
+
+            try {
+                object = generatedAdapter != null ? generatedAdapter.fromJsonTree(jsonElement) : gson.fromJson(jsonElement, clazz);
+            } catch (IllegalStateException exception) {
+                throw new JsonSyntaxException(exception);
+            }
+
+            if (object == null) {
+                throw new JsonSyntaxException("JSON is null, expected " + clazz.getName());
+            }
+
+            return object;
+        }
+
+        try (Reader reader = BufferPool.newReader(pushbackInputStream, charset)) {
+            return readObject(reader, clazz, gson);
+        }
+    }
+
+    /**
+     * Opens {@link InputStream} of the file specified by {@link Path} with respect to the specified {@link LoadOptions}, which returns the
+     * content decoded by the {@link StorageCodec}
+     *
+     * @param path        Non-null {@link Path}
+     * @param loadOptions Non-null {@link LoadOptions}
+     *
+     * @return Non-null {@link InputStream}
+     *
+     * @throws IOException When I/O exception occurs (unable to open file)
+     */
+    static InputStream newInputStream(@NonNull Path path, @NonNull LoadOptions loadOptions) throws IOException {
+        return newInputStream(path, loadOptions, null);
+    }
+
+    /**
+     * Opens {@link InputStream} of the file specified by {@link Path}, see {@link #newInputStream(Path, LoadOptions)}, whose reads are measured
+     * by the specified {@link IOMeter}
+     *
+     * @param path        Non-null {@link Path}
+     * @param loadOptions Non-null {@link LoadOptions}
+     * @param meter       Nullable {@link IOMeter}
+     *
+     * @return Non-null {@link InputStream}
+     *
+     * @throws IOException When I/O exception occurs (unable to open file)
+     */
+    static InputStream newInputStream(@NonNull Path path, @NonNull LoadOptions loadOptions, IOMeter meter) throws IOException {
+        InputStream inputStream;
+
+        if (loadOptions.isMemoryMapped()) {
+            inputStream = new MappedFileInputStream(path, loadOptions.getMappingWindowSize());
+        } else {
+            inputStream = Files.newInputStream(path);
+        }
+
+        if (meter != null) {
+            inputStream = meter.meter(inputStream);
+        }
+
+        StorageCodec codec = StorageCodecs.resolve(loadOptions.getStorageCodec(), path);
+
+        if (codec == StorageCodecs.NONE) {
+            return inputStream;
+        }
+
+        try {
+            // Empty file is loaded as empty JSON, but it is not valid encoded content
+            PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, 1);
+            int firstByte = pushbackInputStream.read();
+
+            if (firstByte == -1) {
+                return pushbackInputStream;
+            }
+
+            pushbackInputStream.unread(firstByte);
+            return codec.decode(pushbackInputStream);
+        } catch (IOException | RuntimeException exception) {
+            inputStream.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Computes {@link Checksum} of the content of the file specified by {@link Path}, decoded with respect to the specified {@link LoadOptions}
+     *
+     * @param path        Non-null {@link Path}
+     * @param loadOptions Non-null {@link LoadOptions}
+     *
+     * @return Non-null {@link Checksum}
+     *
+     * @throws IOException When I/O exception occurs (unable to read file)
+     */
+    static Checksum checksumOf(@NonNull Path path, @NonNull LoadOptions loadOptions) throws IOException {
+        try (ChecksumInputStream inputStream = new ChecksumInputStream(newInputStream(path, loadOptions))) {
+            inputStream.drain();
+            return inputStream.getChecksum();
+        }
+    }
+
+    /**
+     * Computes {@link Checksum} of the specified object as it would be written by {@link #writeObject(Object, Type, Path, Charset, Gson,
+     * SaveOptions)}, without buffering the serialized form
+     *
+     * @param object        Non-null object
+     * @param type          Non-null {@link Type}
+     * @param charset       Non-null {@link Charset}
+     * @param gson          Non-null {@link Gson}
+     * @param storageFormat Non-null {@link StorageFormat}
+     *
+     * @return Non-null {@link Checksum}
+     *
+     * @throws IOException When serialization fails
+     */
+    static Checksum checksumOf(@NonNull Object object, @NonNull Type type, @NonNull Charset charset, @NonNull Gson gson, @NonNull StorageFormat storageFormat) throws IOException {
+        ChecksumOutputStream outputStream = new ChecksumOutputStream();
+        serializeObject(object, type, charset, gson, storageFormat, outputStream);
+        return outputStream.getChecksum();
+    }
+
+    /**
+     * Serializes the specified {@link JsonElement} with the specified {@link Gson} into the specified {@link Path}
+     *
+     * @param jsonElement Non-null {@link JsonElement}
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param gson        Non-null {@link Gson}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @return Non-null {@link Checksum} of the written content
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    static Checksum writeJson(@NonNull JsonElement jsonElement, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions) throws IOException {
+        if (saveOptions.getStorageFormat() == StorageFormat.BINARY) {
+            return write(path, saveOptions, outputStream -> BinaryJson.write(jsonElement, outputStream));
+        }
+
+        return write(path, charset, saveOptions, writer -> {
+            try {
+                gson.toJson(jsonElement, gson.newJsonWriter(writer));
+            } catch (JsonIOException exception) {
+                throw unwrap(exception);
+            }
+        });
+    }
+
+    /**
+     * Serializes the specified object of the specified {@link Type} with the specified {@link Gson} into the specified {@link Path}, without
+     * creating intermediate {@link JsonElement} tree
+     *
+     * @param object      Non-null object
+     * @param type        Non-null {@link Type}
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param gson        Non-null {@link Gson}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @return Non-null {@link Checksum} of the written content
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    static Checksum writeObject(@NonNull Object object, @NonNull Type type, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions) throws IOException {
+        return write(path, saveOptions, outputStream -> serializeObject(object, type, charset, gson, saveOptions.getStorageFormat(), outputStream));
+    }
+
+    /**
+     * Serializes the specified object in the specified {@link StorageFormat} into the specified {@link OutputStream}, which is flushed
+     */
+    @SuppressWarnings("unchecked")
+    private static void serializeObject(Object object, Type type, Charset charset, Gson gson, StorageFormat storageFormat, OutputStream outputStream) throws IOException {
+        TypeAdapter<Object> generatedAdapter = type instanceof Class ? GeneratedTypeAdapters.getAdapter(gson, (Class<Object>) type) : null;
+
+        try {
+            if (storageFormat == StorageFormat.BINARY) {
+                BinaryJson.write(generatedAdapter != null ? generatedAdapter.toJsonTree(object) : gson.toJsonTree(object, type), outputStream);
+                return;
+            }
+
+            // Closing the writer flushes it, but does not close the output stream
+            try (Writer writer = BufferPool.newWriter(outputStream, charset)) {
+                JsonWriter jsonWriter = gson.newJsonWriter(writer);
+
+                if (generatedAdapter != null) {
+                    // Same as Gson#toJson does, so special floating point values are written when Gson allows them
+                    if (jsonWriter.getStrictness() == Strictness.LEGACY_STRICT) {
+                        jsonWriter.setStrictness(Strictness.LENIENT);
+                    }
+
+                    generatedAdapter.write(jsonWriter, object);
+                } else {
+                    gson.toJson(object, type, jsonWriter);
+                }
+            }
+        } catch (JsonIOException exception) {
+            throw unwrap(exception);
+        }
+    }
+
+    /**
+     * Writes {@link MayuJson#EMPTY_JSON_OBJECT} into the file specified by {@link Path}, encoded by the specified {@link StorageCodec} (or by the
+     * one selected by the file extension), so the file can be loaded with the same codec
+     *
+     * @param path         Non-null {@link Path}
+     * @param charset      Non-null {@link Charset}
+     * @param storageCodec Nullable {@link StorageCodec} (null selects it by the file extension)
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    static void writeEmptyObject(@NonNull Path path, @NonNull Charset charset, StorageCodec storageCodec) throws IOException {
+        write(path, charset, SaveOptions.builder().storageCodec(storageCodec).build(), writer -> writer.write(MayuJson.EMPTY_JSON_OBJECT));
+    }
+
+    /**
+     * Opens buffered {@link Writer} for the specified {@link Path} with respect to the specified {@link SaveOptions} and passes it to the
+     * specified {@link WriterAction}
+     *
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param saveOptions Non-null {@link SaveOptions}
+     * @param action      Non-null {@link WriterAction}
+     *
+     * @return Non-null {@link Checksum} of the written content
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    static Checksum write(@NonNull Path path, @NonNull Charset charset, @NonNull SaveOptions saveOptions, @NonNull WriterAction action) throws IOException {
+        return write(path, saveOptions, outputStream -> {
+            // Closing the writer flushes it, but does not close the output stream
+            try (Writer writer = BufferPool.newWriter(outputStream, charset)) {
+                action.write(writer);
+            }
+        });
+    }
+
+    /**
+     * Opens {@link OutputStream} for the specified {@link Path} with respect to the specified {@link SaveOptions} and passes it to the specified
+     * {@link OutputStreamAction}
+     *
+     * @param path        Non-null {@link Path}
+     * @param saveOptions Non-null {@link SaveOptions}
+     * @param action      Non-null {@link OutputStreamAction}
+     *
+     * @return Non-null {@link Checksum} of the written content (before it is encoded by the {@link StorageCodec})
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    static Checksum write(@NonNull Path path, @NonNull SaveOptions saveOptions, @NonNull OutputStreamAction action) throws IOException {
+        IOMeter meter = IOMeter.start(path);
+
+        try {
+            Checksum checksum = write(path, saveOptions, action, meter);
+
+            if (meter != null) {
+                meter.saved();
+            }
+
+            return checksum;
+        } catch (IOException | RuntimeException | Error exception) {
+            if (meter != null) {
+                meter.failed(JsonMetricsListener.Operation.SAVE, exception);
+            }
+
+            throw exception;
+        }
+    }
+
+    private static Checksum write(Path path, SaveOptions saveOptions, OutputStreamAction action, IOMeter meter) throws IOException {
+        StorageCodec codec = StorageCodecs.resolve(saveOptions.getStorageCodec(), path);
+
+        if (!saveOptions.isAtomic()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                return write(channel, codec, saveOptions, action, meter);
+            }
+        }
+
+        Path targetPath = targetPathOf(path);
+        Path directory = targetPath.getParent();
+        Path temporaryPath = temporaryPathOf(targetPath);
+        boolean moved = false;
+
+        try {
+            Checksum checksum;
+
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                copyPermissions(targetPath, temporaryPath);
+                checksum = write(channel, codec, saveOptions, action, meter);
+            }
+
+            moveOver(temporaryPath, targetPath);
+            moved = true;
+
+            if (saveOptions.isFsync()) {
+                long start = meter != null ? System.nanoTime() : 0;
+                syncDirectory(directory);
+
+                if (meter != null) {
+                    meter.addFsync(System.nanoTime() - start);
+                }
+            }
+
+            return checksum;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(temporaryPath);
+            }
+        }
+    }
+
+    private static Checksum write(FileChannel channel, StorageCodec codec, SaveOptions saveOptions, OutputStreamAction action, IOMeter meter) throws IOException {
+        Checksum checksum;
+        OutputStream channelOutputStream = new UnclosableOutputStream(Channels.newOutputStream(channel));
+
+        if (meter != null) {
+            channelOutputStream = meter.meter(channelOutputStream);
+        }
+
+        // Neither the checksum stream nor the codec closes the channel, so it can be still fsync-ed
+        try (OutputStream encodedOutputStream = codec.encode(channelOutputStream)) {
+            ChecksumOutputStream outputStream = new ChecksumOutputStream(encodedOutputStream);
+            action.write(outputStream);
+            outputStream.flush();
+            checksum = outputStream.getChecksum();
+        }
+
+        if (saveOptions.isFsync()) {
+            long start = meter != null ? System.nanoTime() : 0;
+            channel.force(true);
+
+            if (meter != null) {
+                meter.addFsync(System.nanoTime() - start);
+            }
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Returns {@link Path} of the file which atomic write of the specified {@link Path} replaces: the file the symbolic link points to, not the
+     * link itself
+     */
+    static Path targetPathOf(Path path) throws IOException {
+        return Files.isSymbolicLink(path) ? path.toRealPath() : path.toAbsolutePath();
+    }
+
+    /**
+     * Returns unique {@link Path} of temporary file next to the specified target file, which is moved over it by {@link #moveOver(Path, Path)}
+     */
+    static Path temporaryPathOf(Path targetPath) {
+        // Random part does not need to be secure, collisions fail on creation, UUID#randomUUID() contends on SecureRandom
+        return targetPath.getParent().resolve("." + targetPath.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+    }
+
+    /**
+     * Moves the temporary file over the target file atomically, or just replaces it, if the file system does not support atomic moves
+     */
+    static void moveOver(Path temporaryPath, Path targetPath) throws IOException {
+        try {
+            Files.move(temporaryPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static void copyPermissions(Path source, Path target) throws IOException {
+        if (!Files.exists(source)) {
+            return;
+        }
+
+        try {
+            Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+        } catch (UnsupportedOperationException ignored) {
+            // Not a POSIX file system
+        }
+    }
+
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Some platforms (Windows) do not allow opening directories
+        }
+    }
+
+    /**
+     * Unwraps {@link IOException} from {@link JsonIOException}, which Gson uses to wrap I/O errors of the underlying reader or writer
+     *
+     * @param exception Non-null {@link JsonIOException}
+     *
+     * @return The cause as {@link IOException}, or {@link IOException} wrapping the specified exception
+     */
+    static IOException unwrap(@NonNull JsonIOException exception) {
+        if (exception.getCause() instanceof IOException) {
+            return (IOException) exception.getCause();
+        }
+
+        return new IOException(exception.getMessage(), exception);
+    }
+
+    /**
+     * CRC32 checksum and length of some content. Used to detect whether the content has changed without keeping the content itself.
+     */
+    @Value
+    static class Checksum {
+
+        long crc;
+        long length;
+    }
+
+    /**
+     * {@link FilterInputStream} which computes {@link Checksum} of all bytes read through it
+     */
+    static final class ChecksumInputStream extends FilterInputStream {
+
+        private final CRC32 crc = new CRC32();
+        private long length;
+
+        ChecksumInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+
+            if (value != -1) {
+                crc.update(value);
+                length++;
+            }
+
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = in.read(bytes, offset, length);
+
+            if (read > 0) {
+                crc.update(bytes, offset, read);
+                this.length += read;
+            }
+
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            if (count <= 0) {
+                return 0;
+            }
+
+            BufferPool.Buffers buffers = BufferPool.acquire();
+
+            try {
+                int read = read(buffers.bytes, 0, (int) Math.min(count, buffers.bytes.length));
+                return Math.max(read, 0);
+            } finally {
+                BufferPool.release(buffers);
+            }
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * Reads the rest of the stream, so the {@link Checksum} covers all of the content (readers stop at the end of JSON document)
+         *
+         * @throws IOException When I/O exception occurs
+         */
+        void drain() throws IOException {
+            BufferPool.Buffers buffers = BufferPool.acquire();
+
+            try {
+                //noinspection StatementWithEmptyBody
+                while (read(buffers.bytes, 0, buffers.bytes.length) != -1) {
+                }
+            } finally {
+                BufferPool.release(buffers);
+            }
+        }
+
+        Checksum getChecksum() {
+            return new Checksum(crc.getValue(), length);
+        }
+    }
+
+    /**
+     * {@link OutputStream} which computes {@link Checksum} of all bytes written through it and passes them to the underlying
+     * {@link OutputStream}, if any (otherwise they are discarded). Closing it only flushes the underlying {@link OutputStream}.
+     */
+    static final class ChecksumOutputStream extends OutputStream {
+
+        private final CRC32 crc = new CRC32();
+        private final OutputStream out;
+        private long length;
+
+        ChecksumOutputStream() {
+            this(null);
+        }
+
+        ChecksumOutputStream(OutputStream outputStream) {
+            this.out = outputStream;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            if (out != null) {
+                out.write(value);
+            }
+
+            crc.update(value);
+            length++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (out != null) {
+                out.write(bytes, offset, length);
+            }
+
+            crc.update(bytes, offset, length);
+            this.length += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        Checksum getChecksum() {
+            return new Checksum(crc.getValue(), length);
+        }
+    }
+
+    /**
+     * {@link OutputStream} which passes all bytes to the underlying {@link OutputStream}, but closing it only flushes the underlying
+     * {@link OutputStream}
+     */
+    static final class UnclosableOutputStream extends FilterOutputStream {
+
+        UnclosableOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Writes content into {@link Writer}
+     */
+    @FunctionalInterface
+    interface WriterAction {
+
+        /**
+         * Writes content into the specified {@link Writer}. The {@link Writer} is flushed and closed by the caller.
+         *
+         * @param writer Non-null {@link Writer}
+         *
+         * @throws IOException When I/O exception occurs
+         */
+        void write(Writer writer) throws IOException;
+    }
+
+    /**
+     * Writes content into {@link OutputStream}
+     */
+    @FunctionalInterface
+    interface OutputStreamAction {
+
+        /**
+         * Writes content into the specified {@link OutputStream}. The {@link OutputStream} is flushed and closed by the caller.
+         *
+         * @param outputStream Non-null {@link OutputStream}
+         *
+         * @throws IOException When I/O exception occurs
+         */
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
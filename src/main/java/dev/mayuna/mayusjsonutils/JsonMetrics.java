@@ -0,0 +1,41 @@
+package dev.mayuna.mayusjsonutils;
+
+/**
+ * Global registry of {@link JsonMetricsListener}<br>
+ * Metrics are disabled until a listener is set. When disabled, the only cost of an I/O operation is one volatile read: no timestamps are taken
+ * and streams are not wrapped.
+ */
+public final class JsonMetrics {
+
+    private static volatile JsonMetricsListener listener;
+
+    private JsonMetrics() {
+    }
+
+    /**
+     * Sets {@link JsonMetricsListener} which receives metrics of all subsequent I/O operations
+     *
+     * @param listener Nullable {@link JsonMetricsListener}, null disables metrics
+     */
+    public static void setListener(JsonMetricsListener listener) {
+        JsonMetrics.listener = listener;
+    }
+
+    /**
+     * Returns current {@link JsonMetricsListener}
+     *
+     * @return Nullable {@link JsonMetricsListener} (null when metrics are disabled)
+     */
+    public static JsonMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Determines whether metrics are enabled
+     *
+     * @return true if {@link JsonMetricsListener} is set
+     */
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.mayuna.mayusjsonutils;
+
+import java.nio.file.Path;
+
+/**
+ * Listener of I/O metrics of {@link MayuJson} and {@link ObjectLoader}, set it with {@link JsonMetrics#setListener(JsonMetricsListener)}<br>
+ * Reading and parsing (or binding) are streamed together, so their durations are separated by measuring time spent inside the file reads. The
+ * same applies to serializing and writing. All methods do nothing by default and may be invoked concurrently from multiple threads, so they
+ * should be fast and thread-safe. See {@link InMemoryJsonMetrics} for a ready-made implementation.
+ */
+public interface JsonMetricsListener {
+
+    /**
+     * Invoked after the file was read
+     *
+     * @param path  Non-null {@link Path} of the file
+     * @param nanos Nanoseconds spent reading the file
+     * @param bytes Number of bytes read from the file (before they were decoded by {@link StorageCodec})
+     */
+    default void onRead(Path path, long nanos, long bytes) {
+    }
+
+    /**
+     * Invoked after the file was parsed into {@link com.google.gson.JsonObject}
+     *
+     * @param path  Non-null {@link Path} of the file
+     * @param nanos Nanoseconds spent parsing (without reading)
+     */
+    default void onParse(Path path, long nanos) {
+    }
+
+    /**
+     * Invoked after the file was bound into an object by {@link ObjectLoader}
+     *
+     * @param path  Non-null {@link Path} of the file
+     * @param clazz Non-null {@link Class} of the bound object
+     * @param nanos Nanoseconds spent parsing and binding (without reading)
+     */
+    default void onBind(Path path, Class<?> clazz, long nanos) {
+    }
+
+    /**
+     * Invoked after the content of the file was serialized
+     *
+     * @param path  Non-null {@link Path} of the file
+     * @param nanos Nanoseconds spent serializing (without writing and fsync)
+     */
+    default void onSerialize(Path path, long nanos) {
+    }
+
+    /**
+     * Invoked after the file was written
+     *
+     * @param path  Non-null {@link Path} of the file
+     * @param nanos Nanoseconds spent writing the file
+     * @param bytes Number of bytes written into the file (after they were encoded by {@link StorageCodec})
+     */
+    default void onWrite(Path path, long nanos, long bytes) {
+    }
+
+    /**
+     * Invoked after the file (and its directory) was fsync-ed, see {@link SaveOptions#isFsync()}
+     *
+     * @param path  Non-null {@link Path} of the file
+     * @param nanos Nanoseconds spent in fsync
+     */
+    default void onFsync(Path path, long nanos) {
+    }
+
+    /**
+     * Invoked when {@link MayuJson#reloadIfChanged()} did not reload the file, because it has not changed
+     *
+     * @param path Non-null {@link Path} of the file
+     */
+    default void onReloadSkipped(Path path) {
+    }
+
+    /**
+     * Invoked when loading or saving the file failed
+     *
+     * @param path      Non-null {@link Path} of the file
+     * @param operation Non-null {@link Operation} which failed
+     * @param throwable Non-null {@link Throwable} which caused the failure
+     */
+    default void onFailure(Path path, Operation operation, Throwable throwable) {
+    }
+
+    /**
+     * Operation with a file
+     */
+    enum Operation {
+
+        /**
+         * Reading and parsing (or binding)
+         */
+        LOAD,
+
+        /**
+         * Serializing and writing
+         */
+        SAVE
+    }
+}
@@ -0,0 +1,434 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled path expression which extracts single value from JSON, e.g., <code>settings.limits.maxConnections</code> or
+ * <code>users[42].name</code><br>
+ * Expression consists of member names separated by dots and array indexes in brackets. It may start with <code>$</code> (the root) and member
+ * names which contain dots, brackets or spaces may be quoted in brackets, e.g., <code>$['my.member'][0]</code>.<br>
+ * When evaluated against a file or {@link Reader}, the JSON is read with {@link JsonReader}: irrelevant members and array elements are skipped
+ * without being parsed and reading stops as soon as the value is found, so only the found value is ever materialized. It can be evaluated
+ * against {@link JsonElement}, {@link MayuJson} and {@link LazyMayuJson} as well.<br>
+ * Use {@link #compile(String)} to get one. Compiled expressions are immutable, thread-safe and cached.
+ */
+public final class JsonPath {
+
+    private static final int CACHE_SIZE = 256;
+    private static final Map<String, JsonPath> CACHE = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final @Getter String expression;
+    private final List<Object> segments;
+
+    private JsonPath(String expression, List<Object> segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the specified expression, or returns already compiled one
+     *
+     * @param expression Non-null expression
+     *
+     * @return Non-null {@link JsonPath}
+     *
+     * @throws IllegalArgumentException When the expression is not valid
+     */
+    public static JsonPath compile(@NonNull String expression) {
+        synchronized (CACHE) {
+            JsonPath jsonPath = CACHE.get(expression);
+
+            if (jsonPath != null) {
+                return jsonPath;
+            }
+        }
+
+        JsonPath jsonPath = new JsonPath(expression, Collections.unmodifiableList(parse(expression)));
+
+        synchronized (CACHE) {
+            CACHE.put(expression, jsonPath);
+        }
+
+        return jsonPath;
+    }
+
+    /**
+     * Returns segments of this path, {@link String} for member names and {@link Integer} for array indexes
+     *
+     * @return Non-null unmodifiable {@link List}
+     */
+    public List<Object> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Reads value of this path from the file specified by {@link Path}, see {@link #read(Reader)}. Files in {@link StorageFormat#BINARY} are
+     * decoded whole and the path is evaluated on the decoded tree.
+     *
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}
+     *
+     * @return Nullable {@link JsonElement} (null when the path does not exist, {@link JsonNull} when the value is null)
+     *
+     * @throws IOException         When I/O exception occurs (unable to read file)
+     * @throws JsonSyntaxException When the JSON is not valid (up to the found value)
+     */
+    public JsonElement read(@NonNull Path path, @NonNull Charset charset) throws IOException {
+        try (PushbackInputStream inputStream = new PushbackInputStream(JsonIO.newInputStream(path, LoadOptions.DEFAULT), BinaryJson.headerLength())) {
+            // Binary format cannot be streamed, so the path is evaluated on the decoded tree
+            if (BinaryJson.isBinary(inputStream)) {
+                return read(BinaryJson.read(inputStream));
+            }
+
+            try (Reader reader = BufferPool.newReader(inputStream, charset)) {
+                return read(reader);
+            }
+        }
+    }
+
+    /**
+     * Reads value of this path from the file specified by {@link Path} with {@link StandardCharsets#UTF_8}, see {@link #read(Reader)}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Nullable {@link JsonElement} (null when the path does not exist, {@link JsonNull} when the value is null)
+     *
+     * @throws IOException         When I/O exception occurs (unable to read file)
+     * @throws JsonSyntaxException When the JSON is not valid (up to the found value)
+     */
+    public JsonElement read(@NonNull Path path) throws IOException {
+        return read(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads value of this path from the specified {@link Reader}. Stops reading as soon as the value is found, the {@link Reader} is not
+     * closed.
+     *
+     * @param reader Non-null {@link Reader}
+     *
+     * @return Nullable {@link JsonElement} (null when the path does not exist, {@link JsonNull} when the value is null)
+     *
+     * @throws IOException         When I/O exception occurs (unable to read)
+     * @throws JsonSyntaxException When the JSON is not valid (up to the found value)
+     */
+    public JsonElement read(@NonNull Reader reader) throws IOException {
+        JsonReader jsonReader = createJsonReader(reader);
+
+        try {
+            return seek(jsonReader) ? JsonParser.parseReader(jsonReader) : null;
+        } catch (MalformedJsonException exception) {
+            throw new JsonSyntaxException(exception);
+        } catch (JsonIOException exception) {
+            throw JsonIO.unwrap(exception);
+        }
+    }
+
+    /**
+     * Reads value of this path from the file specified by {@link Path} and binds it straight from the stream into the specified {@link Class},
+     * see {@link #read(Reader, Class, Gson)}. Files in {@link StorageFormat#BINARY} are decoded whole and the found value is bound from the
+     * decoded tree.
+     *
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}
+     * @param clazz   Non-null {@link Class} of the value
+     * @param gson    Non-null {@link Gson}
+     * @param <T>     Type of the value
+     *
+     * @return Nullable value (null when the path does not exist or the value is null)
+     *
+     * @throws IOException        When I/O exception occurs (unable to read file)
+     * @throws JsonParseException When the JSON is not valid (up to the found value) or could not be bound
+     */
+    public <T> T read(@NonNull Path path, @NonNull Charset charset, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        try (PushbackInputStream inputStream = new PushbackInputStream(JsonIO.newInputStream(path, LoadOptions.DEFAULT), BinaryJson.headerLength())) {
+            if (BinaryJson.isBinary(inputStream)) {
+                JsonElement value = read(BinaryJson.read(inputStream));
+                return value != null ? gson.fromJson(value, clazz) : null;
+            }
+
+            try (Reader reader = BufferPool.newReader(inputStream, charset)) {
+                return read(reader, clazz, gson);
+            }
+        }
+    }
+
+    /**
+     * Reads value of this path from the specified {@link Reader} and binds it straight from the stream into the specified {@link Class}, without
+     * creating intermediate {@link JsonElement} tree. Stops reading as soon as the value is bound, the {@link Reader} is not closed.
+     *
+     * @param reader Non-null {@link Reader}
+     * @param clazz  Non-null {@link Class} of the value
+     * @param gson   Non-null {@link Gson}
+     * @param <T>    Type of the value
+     *
+     * @return Nullable value (null when the path does not exist or the value is null)
+     *
+     * @throws IOException        When I/O exception occurs (unable to read)
+     * @throws JsonParseException When the JSON is not valid (up to the found value) or could not be bound
+     */
+    public <T> T read(@NonNull Reader reader, @NonNull Class<T> clazz, @NonNull Gson gson) throws IOException {
+        JsonReader jsonReader = createJsonReader(reader);
+
+        try {
+            return seek(jsonReader) ? gson.fromJson(jsonReader, clazz) : null;
+        } catch (MalformedJsonException exception) {
+            throw new JsonSyntaxException(exception);
+        } catch (JsonIOException exception) {
+            throw JsonIO.unwrap(exception);
+        }
+    }
+
+    /**
+     * Reads value of this path from the specified {@link JsonElement}
+     *
+     * @param jsonElement Non-null {@link JsonElement}
+     *
+     * @return Nullable {@link JsonElement} (null when the path does not exist, {@link JsonNull} when the value is null)
+     */
+    public JsonElement read(@NonNull JsonElement jsonElement) {
+        return read(jsonElement, 0);
+    }
+
+    /**
+     * Reads value of this path from {@link MayuJson#getJsonObject()}
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @return Nullable {@link JsonElement} (null when the path does not exist, {@link JsonNull} when the value is null)
+     */
+    public JsonElement read(@NonNull MayuJson mayuJson) {
+        synchronized (mayuJson) {
+            return read(mayuJson.getJsonObject(), 0);
+        }
+    }
+
+    /**
+     * Reads value of this path from the specified {@link LazyMayuJson}. Parses only the top-level member the path starts with.
+     *
+     * @param lazyMayuJson Non-null {@link LazyMayuJson}
+     *
+     * @return Nullable {@link JsonElement} (null when the path does not exist, {@link JsonNull} when the value is null)
+     */
+    public JsonElement read(@NonNull LazyMayuJson lazyMayuJson) {
+        if (segments.isEmpty()) {
+            return lazyMayuJson.getJsonObject();
+        }
+
+        if (!(segments.get(0) instanceof String)) {
+            return null;
+        }
+
+        String memberName = (String) segments.get(0);
+
+        synchronized (lazyMayuJson) {
+            if (!lazyMayuJson.has(memberName)) {
+                return null;
+            }
+
+            JsonElement member = lazyMayuJson.getOrNull(memberName);
+            return read(member != null ? member : JsonNull.INSTANCE, 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private JsonElement read(JsonElement jsonElement, int firstSegment) {
+        for (int i = firstSegment; i < segments.size(); i++) {
+            Object segment = segments.get(i);
+
+            if (segment instanceof String) {
+                if (!jsonElement.isJsonObject() || !jsonElement.getAsJsonObject().has((String) segment)) {
+                    return null;
+                }
+
+                jsonElement = jsonElement.getAsJsonObject().get((String) segment);
+            } else {
+                int index = (Integer) segment;
+
+                if (!jsonElement.isJsonArray() || index >= jsonElement.getAsJsonArray().size()) {
+                    return null;
+                }
+
+                jsonElement = jsonElement.getAsJsonArray().get(index);
+            }
+        }
+
+        return jsonElement;
+    }
+
+    /**
+     * Moves the {@link JsonReader} in front of the value of this path, skipping everything else
+     *
+     * @return true if the value was found, false otherwise
+     */
+    boolean seek(JsonReader jsonReader) throws IOException {
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                    return false;
+                }
+
+                jsonReader.beginObject();
+
+                if (!seekMember(jsonReader, (String) segment)) {
+                    return false;
+                }
+            } else {
+                if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+                    return false;
+                }
+
+                jsonReader.beginArray();
+
+                if (!seekElement(jsonReader, (Integer) segment)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean seekMember(JsonReader jsonReader, String memberName) throws IOException {
+        while (jsonReader.hasNext()) {
+            if (jsonReader.nextName().equals(memberName)) {
+                return true;
+            }
+
+            jsonReader.skipValue();
+        }
+
+        return false;
+    }
+
+    private static boolean seekElement(JsonReader jsonReader, int index) throws IOException {
+        for (int i = 0; i < index; i++) {
+            if (!jsonReader.hasNext()) {
+                return false;
+            }
+
+            jsonReader.skipValue();
+        }
+
+        return jsonReader.hasNext();
+    }
+
+    private static JsonReader createJsonReader(Reader reader) {
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setStrictness(Strictness.LENIENT);
+        return jsonReader;
+    }
+
+    private static List<Object> parse(String expression) {
+        List<Object> segments = new ArrayList<>();
+        int position = 0;
+        int length = expression.length();
+
+        if (position < length && expression.charAt(position) == '$') {
+            position++;
+        }
+
+        boolean first = true;
+
+        while (position < length) {
+            char current = expression.charAt(position);
+
+            if (current == '[') {
+                position++;
+
+                if (position < length && (expression.charAt(position) == '\'' || expression.charAt(position) == '"')) {
+                    char quote = expression.charAt(position++);
+                    StringBuilder name = new StringBuilder();
+
+                    while (position < length && expression.charAt(position) != quote) {
+                        if (expression.charAt(position) == '\\' && position + 1 < length) {
+                            position++;
+                        }
+
+                        name.append(expression.charAt(position++));
+                    }
+
+                    if (position >= length) {
+                        throw invalidExpression(expression, position, "unterminated quoted name");
+                    }
+
+                    position++;
+                    segments.add(name.toString());
+                } else {
+                    int start = position;
+
+                    while (position < length && Character.isDigit(expression.charAt(position))) {
+                        position++;
+                    }
+
+                    if (start == position) {
+                        throw invalidExpression(expression, position, "expected array index or quoted name");
+                    }
+
+                    try {
+                        segments.add(Integer.parseInt(expression.substring(start, position)));
+                    } catch (NumberFormatException exception) {
+                        throw invalidExpression(expression, start, "array index is too large");
+                    }
+                }
+
+                if (position >= length || expression.charAt(position) != ']') {
+                    throw invalidExpression(expression, position, "expected ']'");
+                }
+
+                position++;
+            } else {
+                if (current == '.') {
+                    position++;
+                } else if (!first) {
+                    throw invalidExpression(expression, position, "expected '.' or '['");
+                }
+
+                int start = position;
+
+                while (position < length && expression.charAt(position) != '.' && expression.charAt(position) != '[') {
+                    position++;
+                }
+
+                if (start == position) {
+                    throw invalidExpression(expression, position, "expected member name");
+                }
+
+                segments.add(expression.substring(start, position));
+            }
+
+            first = false;
+        }
+
+        return segments;
+    }
+
+    private static IllegalArgumentException invalidExpression(String expression, int position, String message) {
+        return new IllegalArgumentException("Invalid JSON path '" + expression + "' at position " + position + ": " + message);
+    }
+}
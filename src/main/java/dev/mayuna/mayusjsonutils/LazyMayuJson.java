@@ -0,0 +1,721 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lazily parsed variant of {@link MayuJson} for big files of which only a few top-level members are used<br>
+ * Loading only scans the file and records byte offsets of its top-level members. A member is parsed when it is first accessed by
+ * {@link #getOrNull(String)}, {@link #getOrCreate(String, JsonElement)} or {@link #isJsonNull(String)}, {@link #has(String)} does not parse
+ * anything. {@link #save()} writes parsed and added members with {@link Gson} and copies untouched members from the original file verbatim,
+ * so load time and memory grow with what is read, not with the file size.<br>
+ * {@link #getJsonObject()} parses all members and from then on, this {@link LazyMayuJson} works on the returned {@link JsonObject}, the same
+ * way as {@link MayuJson}.<br>
+ * Only ASCII-compatible charsets ({@link StandardCharsets#UTF_8}, {@link StandardCharsets#US_ASCII} and {@link StandardCharsets#ISO_8859_1})
+ * are supported. Files which are not strict JSON (comments, unquoted names, ...), which are {@link StorageFormat#BINARY} or which are encoded
+ * by a {@link StorageCodec} are parsed eagerly. The file must not be modified by anyone else while it is loaded, use {@link #reload()} when it
+ * is. All methods are synchronized.
+ */
+@SuppressWarnings("unused")
+public final class LazyMayuJson {
+
+    private final @Getter Path path;
+    private final @Getter Charset charset;
+    private @Setter @Getter @NonNull SaveOptions saveOptions = SaveOptions.DEFAULT;
+
+    private LinkedHashMap<String, Member> members;
+    private JsonObject jsonObject;
+    private FileTime lastModifiedTime;
+    private long size;
+
+    private LazyMayuJson(Path path, Charset charset) {
+        this.path = path;
+        this.charset = charset;
+    }
+
+    /**
+     * Creates or loads {@link LazyMayuJson} from specified {@link Path}. Also creates any missing directories leading to the specified
+     * {@link Path}<br>
+     * Internally invokes {@link #loadJsonObject(Path, Charset)} to load the JSON
+     *
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}
+     *
+     * @return Non-null {@link LazyMayuJson}
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public static LazyMayuJson createOrLoadJsonObject(@NonNull Path path, @NonNull Charset charset) throws IOException {
+        if (!Files.exists(path)) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            JsonIO.writeEmptyObject(path, charset, null);
+        }
+
+        return loadJsonObject(path, charset);
+    }
+
+    /**
+     * Creates or loads {@link LazyMayuJson} from specified {@link Path} with {@link StandardCharsets#UTF_8}, see
+     * {@link #createOrLoadJsonObject(Path, Charset)}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Non-null {@link LazyMayuJson}
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public static LazyMayuJson createOrLoadJsonObject(@NonNull Path path) throws IOException {
+        return createOrLoadJsonObject(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Loads {@link LazyMayuJson} from specified {@link Path}. Returns null when the specified file in {@link Path} does not exist.<br>
+     * Only offsets of top-level members are recorded, members are parsed when they are accessed.
+     *
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}, must be ASCII-compatible
+     *
+     * @return Nullable {@link LazyMayuJson} (null when the specified file in {@link Path} does not exist)
+     *
+     * @throws IOException              When I/O exception occurs (unable to read file)
+     * @throws IllegalArgumentException When the {@link Charset} is not supported
+     */
+    public static LazyMayuJson loadJsonObject(@NonNull Path path, @NonNull Charset charset) throws IOException {
+        if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.US_ASCII) && !charset.equals(StandardCharsets.ISO_8859_1)) {
+            throw new IllegalArgumentException("LazyMayuJson supports only UTF-8, US-ASCII and ISO-8859-1 charsets, got " + charset.name());
+        }
+
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        LazyMayuJson lazyMayuJson = new LazyMayuJson(path, charset);
+        lazyMayuJson.index(null);
+        return lazyMayuJson;
+    }
+
+    /**
+     * Loads {@link LazyMayuJson} from specified {@link Path} with {@link StandardCharsets#UTF_8}, see {@link #loadJsonObject(Path, Charset)}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Nullable {@link LazyMayuJson} (null when the specified file in {@link Path} does not exist)
+     *
+     * @throws IOException When I/O exception occurs (unable to read file)
+     */
+    public static LazyMayuJson loadJsonObject(@NonNull Path path) throws IOException {
+        return loadJsonObject(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reloads current {@link LazyMayuJson} from the filesystem. All parsed members and changes are discarded.
+     *
+     * @throws IOException When I/O exception occurs (unable to read file)
+     */
+    public synchronized void reload() throws IOException {
+        jsonObject = null;
+        index(null);
+    }
+
+    /**
+     * Saves current {@link LazyMayuJson} to the filesystem to the current {@link Path} with current {@link Charset} and {@link SaveOptions}<br>
+     * Members which were not parsed are copied from the original file verbatim (when saving as {@link StorageFormat#BINARY} or through a
+     * {@link StorageCodec}, all members are parsed first). The file is always written atomically (see {@link SaveOptions#ATOMIC}), since the original file is read while the new one
+     * is written.
+     *
+     * @param gson Non-null {@link Gson} to use when converting parsed and added members into JSON
+     *
+     * @throws IOException When I/O exception occurs while saving file (or the file has been modified by someone else since it was loaded)
+     */
+    public synchronized void save(@NonNull Gson gson) throws IOException {
+        SaveOptions atomicSaveOptions = saveOptions.toBuilder().atomic(true).build();
+
+        boolean encoded = StorageCodecs.resolve(saveOptions.getStorageCodec(), path) != StorageCodecs.NONE;
+
+        if (jsonObject != null || encoded || saveOptions.getStorageFormat() == StorageFormat.BINARY) {
+            // Binary format and encoded files cannot be spliced
+            JsonIO.writeJson(getJsonObject(), path, charset, gson, atomicSaveOptions);
+            return;
+        }
+
+        JsonIO.write(path, charset, atomicSaveOptions, writer -> {
+            // Closed before the new file is moved over it
+            try (FileChannel source = openSource()) {
+                JsonWriter jsonWriter = gson.newJsonWriter(writer);
+                jsonWriter.beginObject();
+
+                for (Map.Entry<String, Member> entry : members.entrySet()) {
+                    Member member = entry.getValue();
+                    jsonWriter.name(entry.getKey());
+
+                    if (member.value != null) {
+                        gson.toJson(member.value, jsonWriter);
+                    } else {
+                        jsonWriter.jsonValue(new String(read(source, member), charset));
+                    }
+                }
+
+                jsonWriter.endObject();
+                jsonWriter.flush();
+            }
+        });
+
+        // Offsets have changed, parsed members are kept
+        index(members);
+    }
+
+    /**
+     * Saves current {@link LazyMayuJson} with {@link MayuJson#DEFAULT_GSON}, see {@link #save(Gson)}
+     *
+     * @throws IOException When I/O exception occurs while saving file
+     */
+    public void save() throws IOException {
+        save(MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Returns {@link JsonElement} with specified name, parses it if it was not parsed yet
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Nullable {@link JsonElement} (null when the current JSON does not have such specified member or the member is {@link JsonNull})
+     *
+     * @throws UncheckedIOException When I/O exception occurs while parsing the member
+     */
+    public synchronized JsonElement getOrNull(@NonNull String memberName) {
+        JsonElement jsonElement = get(memberName);
+        return jsonElement == null || jsonElement.isJsonNull() ? null : jsonElement;
+    }
+
+    /**
+     * Returns {@link JsonElement} with specified name if exists. Otherwise, adds the specified value and returns the same specified value.
+     *
+     * @param memberName   Non-null member name
+     * @param defaultValue Non-null {@link JsonElement}
+     *
+     * @return Non-null {@link JsonElement} (returns the same instance of specified <code>defaultValue</code> if specified member does not exist)
+     *
+     * @throws UncheckedIOException When I/O exception occurs while parsing the member
+     */
+    public synchronized JsonElement getOrCreate(@NonNull String memberName, @NonNull JsonElement defaultValue) {
+        JsonElement existingElement = getOrNull(memberName);
+
+        if (existingElement != null) {
+            return existingElement;
+        }
+
+        add(memberName, defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Adds {@link JsonElement}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link JsonElement}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public synchronized LazyMayuJson add(@NonNull String memberName, @NonNull JsonElement value) {
+        if (jsonObject != null) {
+            jsonObject.add(memberName, value);
+        } else {
+            Member member = members.get(memberName);
+
+            if (member != null) {
+                member.value = value;
+            } else {
+                members.put(memberName, new Member(-1, -1, value));
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds {@link Number}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Number}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public LazyMayuJson addProperty(@NonNull String memberName, @NonNull Number value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link String}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link String}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public LazyMayuJson addProperty(@NonNull String memberName, @NonNull String value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link Boolean}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Boolean}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public LazyMayuJson addProperty(@NonNull String memberName, @NonNull Boolean value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link Character}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Character}
+     *
+     * @return Returns itself, great for chaining
+     */
+    public LazyMayuJson addProperty(@NonNull String memberName, @NonNull Character value) {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Removes member
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Returns itself, great for chaining
+     */
+    public synchronized LazyMayuJson remove(@NonNull String memberName) {
+        if (jsonObject != null) {
+            jsonObject.remove(memberName);
+        } else {
+            members.remove(memberName);
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if a member with the specified name is present, without parsing it
+     *
+     * @param memberName Non-null member name
+     *
+     * @return true if there is a member with the specified name, false otherwise
+     */
+    public synchronized boolean has(@NonNull String memberName) {
+        return jsonObject != null ? jsonObject.has(memberName) : members.containsKey(memberName);
+    }
+
+    /**
+     * Determines if specified member is {@link JsonNull}, parses it if it was not parsed yet
+     *
+     * @param memberName Non-null member name
+     *
+     * @return <code>true</code> the specified member is {@link JsonNull} <code>false</code> otherwise (also when the specified member does not
+     * exist)
+     *
+     * @throws UncheckedIOException When I/O exception occurs while parsing the member
+     */
+    public synchronized boolean isJsonNull(@NonNull String memberName) {
+        JsonElement jsonElement = get(memberName);
+        return jsonElement != null && jsonElement.isJsonNull();
+    }
+
+    /**
+     * Determines if specified member has been parsed (or added) already
+     *
+     * @param memberName Non-null member name
+     *
+     * @return true if parsed, false if not parsed yet or it does not exist
+     */
+    public synchronized boolean isParsed(@NonNull String memberName) {
+        if (jsonObject != null) {
+            return jsonObject.has(memberName);
+        }
+
+        Member member = members.get(memberName);
+        return member != null && member.value != null;
+    }
+
+    /**
+     * Returns current {@link JsonObject}, parses all members which were not parsed yet<br>
+     * From now on, this {@link LazyMayuJson} works on the returned {@link JsonObject} and saves it whole.
+     *
+     * @return Non-null {@link JsonObject}
+     *
+     * @throws UncheckedIOException When I/O exception occurs while parsing the members
+     */
+    public synchronized JsonObject getJsonObject() {
+        if (jsonObject == null) {
+            JsonObject parsedJsonObject = new JsonObject();
+
+            for (Map.Entry<String, Member> entry : members.entrySet()) {
+                parsedJsonObject.add(entry.getKey(), parse(entry.getValue()));
+            }
+
+            jsonObject = parsedJsonObject;
+            members = null;
+        }
+
+        return jsonObject;
+    }
+
+    /**
+     * Parses all members and creates {@link MayuJson} with the same {@link Path}, {@link Charset}, {@link SaveOptions} and the
+     * {@link #getJsonObject()}
+     *
+     * @return Non-null {@link MayuJson}
+     *
+     * @throws UncheckedIOException When I/O exception occurs while parsing the members
+     */
+    public synchronized MayuJson toMayuJson() {
+        MayuJson mayuJson = new MayuJson(path, charset, getJsonObject());
+        mayuJson.setSaveOptions(saveOptions);
+        return mayuJson;
+    }
+
+    private JsonElement get(String memberName) {
+        if (jsonObject != null) {
+            return jsonObject.get(memberName);
+        }
+
+        Member member = members.get(memberName);
+        return member != null ? parse(member) : null;
+    }
+
+    private JsonElement parse(Member member) {
+        if (member.value == null) {
+            try (FileChannel source = openSource()) {
+                Reader reader = new InputStreamReader(new ByteArrayInputStream(read(source, member)), charset);
+                member.value = JsonParser.parseReader(reader);
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Could not parse member of LazyMayuJson at " + path.toAbsolutePath() + "!", exception);
+            }
+        }
+
+        return member.value;
+    }
+
+    /**
+     * Opens the file and checks that it was not modified since it was indexed
+     */
+    private FileChannel openSource() throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+            if (!attributes.lastModifiedTime().equals(lastModifiedTime) || attributes.size() != size) {
+                throw new IOException("File " + path.toAbsolutePath() + " has been modified since it was loaded, reload it first");
+            }
+
+            return channel;
+        } catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    private static byte[] read(FileChannel source, Member member) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(member.end - member.start));
+
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer, member.start + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file while reading member");
+            }
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Parses all members of the file eagerly
+     */
+    private LinkedHashMap<String, Member> parseMembers() throws IOException {
+        try (InputStream inputStream = JsonIO.newInputStream(path, LoadOptions.DEFAULT)) {
+            JsonObject parsedJsonObject = JsonIO.readJsonObject(inputStream, charset);
+            LinkedHashMap<String, Member> parsedMembers = new LinkedHashMap<>();
+
+            for (Map.Entry<String, JsonElement> entry : parsedJsonObject.entrySet()) {
+                parsedMembers.put(entry.getKey(), new Member(-1, -1, entry.getValue()));
+            }
+
+            return parsedMembers;
+        }
+    }
+
+    /**
+     * Scans the file and records offsets of its top-level members. Values of the previous members are kept.
+     *
+     * @param previousMembers Nullable members whose values are kept
+     */
+    private void index(LinkedHashMap<String, Member> previousMembers) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        LinkedHashMap<String, Member> indexedMembers;
+
+        if (StorageCodecs.forPath(path) == StorageCodecs.NONE) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                indexedMembers = new Scanner(channel, charset).scan();
+            } catch (JsonSyntaxException exception) {
+                // Not strict JSON (or binary), parse it eagerly
+                indexedMembers = parseMembers();
+            }
+        } else {
+            // Offsets of encoded file do not match its content
+            indexedMembers = parseMembers();
+        }
+
+        if (previousMembers != null) {
+            for (Map.Entry<String, Member> entry : indexedMembers.entrySet()) {
+                Member previousMember = previousMembers.get(entry.getKey());
+
+                if (previousMember != null && previousMember.value != null) {
+                    entry.getValue().value = previousMember.value;
+                }
+            }
+        }
+
+        members = indexedMembers;
+        lastModifiedTime = attributes.lastModifiedTime();
+        size = attributes.size();
+    }
+
+    private static final class Member {
+
+        private final long start;
+        private final long end;
+        private JsonElement value;
+
+        private Member(long start, long end, JsonElement value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Byte-level scanner of top-level members of strict JSON object. Does not decode anything but the member names.
+     */
+    private static final class Scanner {
+
+        private final FileChannel channel;
+        private final Charset charset;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private final ByteArrayOutputStream nameBytes = new ByteArrayOutputStream();
+        private long bufferPosition;
+
+        private Scanner(FileChannel channel, Charset charset) {
+            this.channel = channel;
+            this.charset = charset;
+            buffer.limit(0);
+        }
+
+        private LinkedHashMap<String, Member> scan() throws IOException {
+            LinkedHashMap<String, Member> members = new LinkedHashMap<>();
+            int current = skipWhitespace(skipByteOrderMark());
+
+            if (current == -1) {
+                return members;
+            }
+
+            expect(current, '{');
+            current = skipWhitespace(next());
+
+            if (current != '}') {
+                while (true) {
+                    expect(current, '"');
+                    String name = readName();
+                    expect(skipWhitespace(next()), ':');
+
+                    current = skipWhitespace(next());
+                    long start = position() - 1;
+                    current = skipValue(current);
+                    long end = current == -1 ? position() : position() - 1;
+                    members.put(name, new Member(start, end, null));
+
+                    current = skipWhitespace(current);
+
+                    if (current == '}') {
+                        break;
+                    }
+
+                    expect(current, ',');
+                    current = skipWhitespace(next());
+                }
+            }
+
+            if (skipWhitespace(next()) != -1) {
+                throw syntaxError("Did not consume the entire document");
+            }
+
+            return members;
+        }
+
+        /**
+         * Skips value which starts with the specified byte
+         *
+         * @return Byte after the value
+         */
+        private int skipValue(int current) throws IOException {
+            switch (current) {
+                case '"':
+                    skipString();
+                    return next();
+                case '{':
+                case '[':
+                    int depth = 1;
+
+                    while (depth > 0) {
+                        current = next();
+
+                        if (current == '"') {
+                            skipString();
+                        } else if (current == '{' || current == '[') {
+                            depth++;
+                        } else if (current == '}' || current == ']') {
+                            depth--;
+                        } else if (current == -1) {
+                            throw syntaxError("Unterminated object or array");
+                        }
+                    }
+
+                    return next();
+                default:
+                    if (current == -1 || current == ',' || current == '}' || current == ']' || isWhitespace(current)) {
+                        throw syntaxError("Expected value");
+                    }
+
+                    // Literal or number
+                    while (current != -1 && current != ',' && current != '}' && current != ']' && !isWhitespace(current)) {
+                        current = next();
+                    }
+
+                    return current;
+            }
+        }
+
+        private void skipString() throws IOException {
+            while (true) {
+                int current = next();
+
+                if (current == '"') {
+                    return;
+                }
+
+                if (current == '\\') {
+                    next();
+                } else if (current == -1) {
+                    throw syntaxError("Unterminated string");
+                }
+            }
+        }
+
+        private String readName() throws IOException {
+            nameBytes.reset();
+            boolean escaped = false;
+
+            while (true) {
+                int current = next();
+
+                if (current == '"') {
+                    break;
+                }
+
+                if (current == -1) {
+                    throw syntaxError("Unterminated name");
+                }
+
+                if (current == '\\') {
+                    escaped = true;
+                    nameBytes.write(current);
+                    current = next();
+                }
+
+                nameBytes.write(current);
+            }
+
+            String name = new String(nameBytes.toByteArray(), charset);
+            return escaped ? JsonParser.parseString('"' + name + '"').getAsString() : name;
+        }
+
+        private int skipByteOrderMark() throws IOException {
+            int current = next();
+
+            if (current == 0xEF && charset.equals(StandardCharsets.UTF_8)) {
+                if (next() != 0xBB || next() != 0xBF) {
+                    throw syntaxError("Invalid byte order mark");
+                }
+
+                return next();
+            }
+
+            return current;
+        }
+
+        private int skipWhitespace(int current) throws IOException {
+            while (isWhitespace(current)) {
+                current = next();
+            }
+
+            return current;
+        }
+
+        private void expect(int current, char expected) {
+            if (current != expected) {
+                throw syntaxError("Expected '" + expected + "'");
+            }
+        }
+
+        private int next() throws IOException {
+            if (!buffer.hasRemaining()) {
+                bufferPosition += buffer.limit();
+                buffer.clear();
+
+                if (channel.read(buffer, bufferPosition) <= 0) {
+                    buffer.limit(0);
+                    return -1;
+                }
+
+                buffer.flip();
+            }
+
+            return buffer.get() & 0xFF;
+        }
+
+        /**
+         * Returns position of the byte after the last byte returned by {@link #next()}
+         */
+        private long position() {
+            return bufferPosition + buffer.position();
+        }
+
+        private JsonSyntaxException syntaxError(String message) {
+            return new JsonSyntaxException(message + " at byte " + position());
+        }
+
+        private static boolean isWhitespace(int current) {
+            return current == ' ' || current == '\t' || current == '\n' || current == '\r';
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options which control how {@link MayuJson} and {@link ObjectLoader} read files<br>
+ * JSON is always parsed incrementally from the file through {@link com.google.gson.stream.JsonReader}, these options only decide how the bytes
+ * are read and decoded. Use {@link #builder()} to create your own or use one of the predefined options.
+ */
+@Getter
+@Builder(toBuilder = true)
+public final class LoadOptions {
+
+    /**
+     * Default size of single memory-mapped window, 64 MiB
+     */
+    public static final int DEFAULT_MAPPING_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Reads the file through buffered {@link java.io.InputStream}
+     */
+    public static final LoadOptions DEFAULT = LoadOptions.builder().build();
+
+    /**
+     * Reads the file through memory-mapped windows of {@link #DEFAULT_MAPPING_WINDOW_SIZE}
+     */
+    public static final LoadOptions MEMORY_MAPPED = LoadOptions.builder().memoryMapped(true).build();
+
+    /**
+     * Reads the file through buffered {@link java.io.InputStream} and parses it with the UTF-8 byte parser, see {@link #isUtf8Parser()}
+     */
+    public static final LoadOptions UTF8_PARSER = LoadOptions.builder().utf8Parser(true).build();
+
+    /**
+     * If true, the file is mapped into memory with {@link java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)}
+     * and decoded straight from the mapped buffer. The file bytes stay off the Java heap and repeated loads are served from the OS page cache.
+     * Files of any size (including above 2 GB) are mapped in consecutive windows of {@link #getMappingWindowSize()}.
+     */
+    private final boolean memoryMapped;
+
+    /**
+     * Size of single memory-mapped window in bytes, see {@link #isMemoryMapped()}
+     */
+    @Builder.Default
+    private final int mappingWindowSize = DEFAULT_MAPPING_WINDOW_SIZE;
+
+    /**
+     * If true, {@link MayuJson} files in {@link java.nio.charset.StandardCharsets#UTF_8} are parsed by a parser which tokenizes the bytes
+     * directly, without decoding them into characters first. Only strings are decoded and repeated member names are interned. The resulting
+     * {@link com.google.gson.JsonObject} is the same as the one parsed by Gson. Files which are not strict JSON (comments, unquoted names, ...)
+     * are parsed again by Gson. Ignored for other charsets and by {@link ObjectLoader}, which binds straight from the stream.
+     */
+    private final boolean utf8Parser;
+
+    /**
+     * {@link StorageCodec} the file is decoded with (for example decompressed), null by default, which selects it by the file extension (see
+     * {@link StorageCodecs#forPath(java.nio.file.Path)})
+     */
+    private final StorageCodec storageCodec;
+}
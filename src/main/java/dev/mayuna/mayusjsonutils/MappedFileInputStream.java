@@ -0,0 +1,167 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * {@link InputStream} which reads a file through consecutive memory-mapped windows, so files larger than 2 GB can be read as well<br>
+ * Only one window is mapped at a time, the previous window is unmapped right away when the JVM allows it (otherwise it is left to the garbage
+ * collector). The window never leaves this stream, so it cannot be accessed after it is unmapped.
+ */
+final class MappedFileInputStream extends InputStream {
+
+    private static final Consumer<MappedByteBuffer> UNMAPPER = createUnmapper();
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private long windowPosition;
+    private MappedByteBuffer window;
+
+    /**
+     * Opens the specified file
+     *
+     * @param path       Non-null {@link Path}
+     * @param windowSize Size of single window in bytes
+     *
+     * @throws IOException When I/O exception occurs (unable to open the file)
+     */
+    MappedFileInputStream(@NonNull Path path, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Mapping window size must be positive");
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) {
+            return -1;
+        }
+
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!ensureWindow()) {
+            return -1;
+        }
+
+        int read = Math.min(length, window.remaining());
+        window.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        if (count <= 0 || !ensureWindow()) {
+            return 0;
+        }
+
+        int skipped = (int) Math.min(count, window.remaining());
+        window.position(window.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return window != null ? window.remaining() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (window != null) {
+            UNMAPPER.accept(window);
+            window = null;
+        }
+
+        channel.close();
+    }
+
+    /**
+     * Maps next window if the current one is exhausted
+     *
+     * @return false if the end of file was reached
+     */
+    private boolean ensureWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+
+        if (window != null) {
+            windowPosition += window.capacity();
+            UNMAPPER.accept(window);
+            window = null;
+        }
+
+        if (windowPosition >= size) {
+            return false;
+        }
+
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowPosition, Math.min(windowSize, size - windowPosition));
+        return true;
+    }
+
+    private static Consumer<MappedByteBuffer> createUnmapper() {
+        try {
+            // Java 9+
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+
+            return buffer -> {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (ReflectiveOperationException ignored) {
+                    // Left to the garbage collector
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // Not available
+        }
+
+        try {
+            // Java 8
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+
+            return buffer -> {
+                try {
+                    Object bufferCleaner = cleaner.invoke(buffer);
+
+                    if (bufferCleaner != null) {
+                        clean.invoke(bufferCleaner);
+                    }
+                } catch (ReflectiveOperationException ignored) {
+                    // Left to the garbage collector
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // Not available
+        }
+
+        return buffer -> {
+            // Left to the garbage collector
+        };
+    }
+}
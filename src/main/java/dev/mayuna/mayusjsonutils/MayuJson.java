@@ -6,10 +6,12 @@ import lombok.NonNull;
 import lombok.Setter;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * Main entrypoint for Mayu's JSON Utilities<br>
@@ -27,7 +29,13 @@ public final class MayuJson {
 
     private @Setter @Getter @NonNull Path path;
     private @Setter @Getter @NonNull Charset charset;
+    private @Setter @Getter @NonNull SaveOptions saveOptions = SaveOptions.DEFAULT;
+    private @Setter @Getter @NonNull LoadOptions loadOptions = LoadOptions.DEFAULT;
+    private @Getter WriteBehindFlusher writeBehindFlusher;
+    private @Getter MayuJsonJournal journal;
     private JsonObject jsonObject;
+    private volatile FileFingerprint fileFingerprint;
+    private volatile boolean modified;
 
     /**
      * Constructs {@link MayuJson} with specified {@link Path}, {@link Charset} and {@link JsonObject}
@@ -65,15 +73,32 @@ public final class MayuJson {
      * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
      */
     public static MayuJson createOrLoadJsonObject(@NonNull Path path, @NonNull Charset charset) throws IOException {
+        return createOrLoadJsonObject(path, charset, LoadOptions.DEFAULT);
+    }
+
+    /**
+     * Creates or loads {@link MayuJson} from specified {@link Path} with respect to the specified {@link LoadOptions}. Also creates any missing
+     * directories leading to the specified {@link Path}<br>
+     * Internally invokes {@link #loadJsonObject(Path, Charset, LoadOptions)} to load the JSON
+     *
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param loadOptions Non-null {@link LoadOptions}
+     *
+     * @return Non-null {@link MayuJson}
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public static MayuJson createOrLoadJsonObject(@NonNull Path path, @NonNull Charset charset, @NonNull LoadOptions loadOptions) throws IOException {
         if (!Files.exists(path)) {
             if (path.getParent() != null) {
                 Files.createDirectories(path.getParent());
             }
 
-            Files.write(path, EMPTY_JSON_OBJECT.getBytes(charset));
+            JsonIO.writeEmptyObject(path, charset, loadOptions.getStorageCodec());
         }
 
-        return loadJsonObject(path, charset);
+        return loadJsonObject(path, charset, loadOptions);
     }
 
     /**
@@ -92,7 +117,9 @@ public final class MayuJson {
 
     /**
      * Loads {@link  MayuJson} from specified {@link Path}. Returns null when the specified file in {@link Path} does not exist.<br>
-     * If the loaded JSON is empty, loads it with {@link #EMPTY_JSON_OBJECT}
+     * If the loaded JSON is empty, loads it with {@link #EMPTY_JSON_OBJECT}<br>
+     * The file is parsed straight from the stream, so the file content is never held in memory as {@code byte[]} or {@link String}. If the file
+     * has a {@link MayuJsonJournal}, it is replayed on top of the loaded JSON.
      *
      * @param path    Non-null {@link Path}
      * @param charset Non-null {@link Charset}
@@ -102,17 +129,64 @@ public final class MayuJson {
      * @throws IOException When I/O exception occurs (unable to read file)
      */
     public static MayuJson loadJsonObject(@NonNull Path path, @NonNull Charset charset) throws IOException {
+        return loadJsonObject(path, charset, LoadOptions.DEFAULT);
+    }
+
+    /**
+     * Loads {@link  MayuJson} from specified {@link Path} with respect to the specified {@link LoadOptions}. Returns null when the specified
+     * file in {@link Path} does not exist.<br>
+     * If the loaded JSON is empty, loads it with {@link #EMPTY_JSON_OBJECT}<br>
+     * See {@link LoadOptions#MEMORY_MAPPED} for loading very large files without copying them onto the heap and {@link LoadOptions#UTF8_PARSER}
+     * for parsing UTF-8 files without decoding them into characters first. The {@link LoadOptions} are remembered and used by {@link #reload()}
+     * as well.
+     *
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param loadOptions Non-null {@link LoadOptions}
+     *
+     * @return Nullable {@link MayuJson} (null when the specified file in {@link Path} does not exist)
+     *
+     * @throws IOException When I/O exception occurs (unable to read file)
+     */
+    public static MayuJson loadJsonObject(@NonNull Path path, @NonNull Charset charset, @NonNull LoadOptions loadOptions) throws IOException {
         if (!Files.exists(path)) {
             return null;
         }
 
-        String json = new String(Files.readAllBytes(path), charset);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        IOMeter meter = IOMeter.start(path);
+        JsonObject jsonObject;
+        JsonIO.Checksum checksum;
+
+        try {
+            try (JsonIO.ChecksumInputStream inputStream = new JsonIO.ChecksumInputStream(JsonIO.newInputStream(path, loadOptions, meter))) {
+                jsonObject = JsonIO.readJsonObject(inputStream, charset, loadOptions.isUtf8Parser());
+                inputStream.drain();
+                checksum = inputStream.getChecksum();
+            } catch (Utf8JsonParser.NotStrictJsonException exception) {
+                // Gson's lenient parser either handles it or reports the error
+                try (JsonIO.ChecksumInputStream inputStream = new JsonIO.ChecksumInputStream(JsonIO.newInputStream(path, loadOptions, meter))) {
+                    jsonObject = JsonIO.readJsonObject(inputStream, charset);
+                    inputStream.drain();
+                    checksum = inputStream.getChecksum();
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            if (meter != null) {
+                meter.failed(JsonMetricsListener.Operation.LOAD, exception);
+            }
+
+            throw exception;
+        }
 
-        if (json.isEmpty()) {
-            json = EMPTY_JSON_OBJECT;
+        if (meter != null) {
+            meter.loaded(null);
         }
 
-        return new MayuJson(path, charset, JsonParser.parseString(json).getAsJsonObject());
+        MayuJson mayuJson = new MayuJson(path, charset, MayuJsonJournal.replay(path, jsonObject));
+        mayuJson.loadOptions = loadOptions;
+        mayuJson.fileFingerprint = FileFingerprint.of(path, charset, attributes, checksum);
+        return mayuJson;
     }
 
     /**
@@ -142,7 +216,39 @@ public final class MayuJson {
      * @throws IOException When I/O exception occurs (unable to write file)
      */
     public static void saveJson(@NonNull JsonElement jsonElement, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson) throws IOException {
-        Files.write(path, gson.toJson(jsonElement).getBytes(charset));
+        saveJson(jsonElement, path, charset, gson, SaveOptions.DEFAULT);
+    }
+
+    /**
+     * Saves specified {@link JsonElement} into file specified by {@link Path} with the specified {@link Charset} serialized by the specified
+     * {@link Gson} with respect to the specified {@link SaveOptions}<br>
+     * The JSON is serialized straight into the file through buffered {@link com.google.gson.stream.JsonWriter}, no intermediate {@link String}
+     * is created. See {@link SaveOptions#ATOMIC} for crash-safe saving.
+     *
+     * @param jsonElement Non-null {@link JsonElement}
+     * @param path        Non-null {@link Path}
+     * @param charset     Non-null {@link Charset}
+     * @param gson        Non-null {@link Gson}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    public static void saveJson(@NonNull JsonElement jsonElement, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions) throws IOException {
+        JsonIO.writeJson(jsonElement, path, charset, gson, saveOptions);
+    }
+
+    /**
+     * Saves specified {@link JsonElement} into file specified by {@link Path} with the {@link StandardCharsets#UTF_8} charset serialized by the
+     * {@link #DEFAULT_GSON} with respect to the specified {@link SaveOptions}
+     *
+     * @param jsonElement Non-null {@link JsonElement}
+     * @param path        Non-null {@link Path}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @throws IOException When I/O exception occurs (unable to write file)
+     */
+    public static void saveJson(@NonNull JsonElement jsonElement, @NonNull Path path, @NonNull SaveOptions saveOptions) throws IOException {
+        saveJson(jsonElement, path, StandardCharsets.UTF_8, DEFAULT_GSON, saveOptions);
     }
 
     /**
@@ -188,29 +294,122 @@ public final class MayuJson {
     }
 
     /**
-     * Reloads current {@link MayuJson} from the filesystem<br>
-     * Internally invokes {@link MayuJson#createOrLoadJsonObject(Path, Charset)} and sets the result of {@link #getJsonObject()} to the current
-     * {@link JsonObject}
+     * Reloads current {@link MayuJson} from the filesystem, if the file has changed since it was loaded or saved<br>
+     * Internally invokes {@link #reloadIfChanged()}
      *
      * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
      */
     public void reload() throws IOException {
-        this.jsonObject = MayuJson.createOrLoadJsonObject(path, charset).getJsonObject();
+        reloadIfChanged();
     }
 
     /**
-     * Saves current {@link MayuJson} to the filesystem to the current {@link Path} with current {@link Charset}
+     * Reloads current {@link MayuJson} from the filesystem, if the file has changed since it was loaded or saved by this {@link MayuJson}, or if
+     * this {@link MayuJson} was modified through its mutators since then<br>
+     * The file is considered unchanged when its modification time and size are the same. When only the modification time differs, the file
+     * content checksum is compared, which is still much cheaper than parsing. Changes made directly to {@link #getJsonObject()} are not tracked,
+     * use {@link #forceReload()} to discard them.
+     *
+     * @return true if the file was reloaded, false if it was not changed
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public boolean reloadIfChanged() throws IOException {
+        return reloadIfChanged(true);
+    }
+
+    /**
+     * Reloads current {@link MayuJson} from the filesystem, if the file has changed since it was loaded or saved by this {@link MayuJson},
+     * regardless of modifications through its mutators. Used by {@link MayuJsonWatcher}, so events of the file (including the ones of its own
+     * saves) do not discard unsaved modifications, unless the file has really changed.
+     *
+     * @return true if the file was reloaded, false if it was not changed
      *
-     * @param gson Non-null {@link Gson} to use when converting {@link JsonObject} into {@link String}
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    boolean reloadIfFileChanged() throws IOException {
+        return reloadIfChanged(false);
+    }
+
+    private boolean reloadIfChanged(boolean reloadModified) throws IOException {
+        FileFingerprint fingerprint = fileFingerprint;
+
+        if (!(reloadModified && modified) && fingerprint != null && Files.exists(path)) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+            if (fingerprint.isUnchanged(path, charset, attributes)) {
+                IOMeter.reloadSkipped(path);
+                return false;
+            }
+
+            if (fingerprint.getSize() == attributes.size()) {
+                JsonIO.Checksum checksum = JsonIO.checksumOf(path, loadOptions);
+
+                if (fingerprint.hasSameContent(checksum)) {
+                    fileFingerprint = FileFingerprint.of(path, charset, attributes, checksum);
+                    IOMeter.reloadSkipped(path);
+                    return false;
+                }
+            }
+        }
+
+        forceReload();
+        return true;
+    }
+
+    /**
+     * Reloads current {@link MayuJson} from the filesystem, regardless if the file has changed or not<br>
+     * Internally invokes {@link MayuJson#createOrLoadJsonObject(Path, Charset, LoadOptions)} and sets the result of {@link #getJsonObject()} to
+     * the current {@link JsonObject}
+     *
+     * @throws IOException When I/O exception occurs (unable to create directors or unable to read file)
+     */
+    public void forceReload() throws IOException {
+        MayuJson loadedMayuJson = MayuJson.createOrLoadJsonObject(path, charset, loadOptions);
+
+        synchronized (this) {
+            this.jsonObject = loadedMayuJson.jsonObject;
+            this.fileFingerprint = loadedMayuJson.fileFingerprint;
+            this.modified = false;
+        }
+    }
+
+    /**
+     * Saves current {@link MayuJson} to the filesystem to the current {@link Path} with current {@link Charset} and {@link SaveOptions}<br>
+     * If this {@link MayuJson} is registered in {@link WriteBehindFlusher}, this method only marks it as dirty and returns immediately, the
+     * flusher saves it later with its own {@link Gson}. Use {@link #flush()} to save it right away.<br>
+     * If this {@link MayuJson} is registered in {@link MayuJsonJournal}, its mutations are already in the journal, so this method only forces
+     * the journal to the storage device, see {@link MayuJsonJournal#sync(MayuJson)}, and marks it as saved.
+     *
+     * @param gson Non-null {@link Gson} to use when converting {@link JsonObject} into JSON
      *
      * @throws IOException When I/O exception occurs while saving file
      */
     public void save(Gson gson) throws IOException {
-        saveJson(jsonObject, path, charset, gson);
+        WriteBehindFlusher flusher = writeBehindFlusher;
+
+        if (flusher != null) {
+            flusher.markDirty(this);
+            return;
+        }
+
+        MayuJsonJournal journal = this.journal;
+
+        if (journal != null) {
+            // Mutators append under the monitor, so everything appended before the sync is durable and nothing is left unsaved
+            synchronized (this) {
+                journal.sync(this);
+                modified = false;
+            }
+
+            return;
+        }
+
+        writeSnapshot(takeSnapshot(false), gson);
     }
 
     /**
-     * Saves current {@link MayuJson} to the filesystem to the current {@link Path} with current {@link Charset}<br>
+     * Saves current {@link MayuJson} to the filesystem to the current {@link Path} with current {@link Charset} and {@link SaveOptions}<br>
      * Uses {@link #DEFAULT_GSON}
      *
      * @throws IOException When I/O exception occurs while saving file
@@ -219,6 +418,24 @@ public final class MayuJson {
         save(DEFAULT_GSON);
     }
 
+    /**
+     * Saves current {@link MayuJson} to the filesystem right away<br>
+     * If this {@link MayuJson} is registered in {@link WriteBehindFlusher}, invokes {@link WriteBehindFlusher#flush(MayuJson)}, otherwise
+     * invokes {@link #save()}
+     *
+     * @throws IOException When I/O exception occurs while saving file
+     */
+    public void flush() throws IOException {
+        WriteBehindFlusher flusher = writeBehindFlusher;
+
+        if (flusher != null) {
+            flusher.flush(this);
+            return;
+        }
+
+        save();
+    }
+
     /**
      * Returns {@link JsonElement} with specified name
      *
@@ -249,7 +466,7 @@ public final class MayuJson {
      *
      * @return Non-null {@link JsonElement} (returns the same instance of specified <code>defaultValue</code> if specified member does not exist)
      */
-    public JsonElement getOrCreate(@NonNull String memberName, @NonNull JsonElement defaultValue) {
+    public synchronized JsonElement getOrCreate(@NonNull String memberName, @NonNull JsonElement defaultValue) {
         JsonElement existingElement = getOrNull(memberName);
 
         if (existingElement != null) {
@@ -268,8 +485,10 @@ public final class MayuJson {
      *
      * @return Returns itself, great for chaining
      */
-    public MayuJson add(@NonNull String memberName, @NonNull JsonElement value) {
+    public synchronized MayuJson add(@NonNull String memberName, @NonNull JsonElement value) {
+        appendToJournal(memberName, value);
         jsonObject.add(memberName, value);
+        markDirty();
         return this;
     }
 
@@ -281,8 +500,10 @@ public final class MayuJson {
      *
      * @return Returns itself, great for chaining
      */
-    public MayuJson addProperty(@NonNull String memberName, @NonNull Number value) {
+    public synchronized MayuJson addProperty(@NonNull String memberName, @NonNull Number value) {
+        appendToJournal(memberName, new JsonPrimitive(value));
         jsonObject.addProperty(memberName, value);
+        markDirty();
         return this;
     }
 
@@ -294,8 +515,10 @@ public final class MayuJson {
      *
      * @return Returns itself, great for chaining
      */
-    public MayuJson addProperty(@NonNull String memberName, @NonNull String value) {
+    public synchronized MayuJson addProperty(@NonNull String memberName, @NonNull String value) {
+        appendToJournal(memberName, new JsonPrimitive(value));
         jsonObject.addProperty(memberName, value);
+        markDirty();
         return this;
     }
 
@@ -307,8 +530,10 @@ public final class MayuJson {
      *
      * @return Returns itself, great for chaining
      */
-    public MayuJson addProperty(@NonNull String memberName, @NonNull Boolean value) {
+    public synchronized MayuJson addProperty(@NonNull String memberName, @NonNull Boolean value) {
+        appendToJournal(memberName, new JsonPrimitive(value));
         jsonObject.addProperty(memberName, value);
+        markDirty();
         return this;
     }
 
@@ -320,8 +545,10 @@ public final class MayuJson {
      *
      * @return Returns itself, great for chaining
      */
-    public MayuJson addProperty(@NonNull String memberName, @NonNull Character value) {
+    public synchronized MayuJson addProperty(@NonNull String memberName, @NonNull Character value) {
+        appendToJournal(memberName, new JsonPrimitive(value));
         jsonObject.addProperty(memberName, value);
+        markDirty();
         return this;
     }
 
@@ -332,8 +559,10 @@ public final class MayuJson {
      *
      * @return Returns itself, great for chaining
      */
-    public MayuJson remove(@NonNull String memberName) {
+    public synchronized MayuJson remove(@NonNull String memberName) {
+        appendToJournal(memberName, null);
         jsonObject.remove(memberName);
+        markDirty();
         return this;
     }
 
@@ -374,8 +603,8 @@ public final class MayuJson {
      *
      * @param json Non-null JSON in string
      */
-    public void setJsonObject(@NonNull String json) {
-        this.jsonObject = JsonParser.parseString(json).getAsJsonObject();
+    public synchronized void setJsonObject(@NonNull String json) {
+        setJsonObject(JsonParser.parseString(json).getAsJsonObject());
     }
 
     /**
@@ -383,7 +612,119 @@ public final class MayuJson {
      *
      * @param jsonObject Non-null {@link JsonObject}
      */
-    public void setJsonObject(@NonNull JsonObject jsonObject) {
+    public synchronized void setJsonObject(@NonNull JsonObject jsonObject) {
+        if (journal != null) {
+            appendToJournal(MayuJsonJournal.setRecord(jsonObject));
+        }
+
         this.jsonObject = jsonObject;
+        markDirty();
+    }
+
+    /**
+     * Sets {@link WriteBehindFlusher} this {@link MayuJson} is registered in
+     *
+     * @param writeBehindFlusher Nullable {@link WriteBehindFlusher}
+     */
+    void setWriteBehindFlusher(WriteBehindFlusher writeBehindFlusher) {
+        this.writeBehindFlusher = writeBehindFlusher;
+    }
+
+    /**
+     * Sets {@link MayuJsonJournal} this {@link MayuJson} is registered in
+     *
+     * @param journal Nullable {@link MayuJsonJournal}
+     */
+    void setJournal(MayuJsonJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Determines if this {@link MayuJson} was modified through its mutators since it was loaded or saved
+     *
+     * @return true if modified, false otherwise
+     */
+    boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Returns current {@link JsonObject} (or its deep copy) to be saved and marks this {@link MayuJson} as not modified
+     *
+     * @param copy If true, returns deep copy of the current {@link JsonObject}
+     *
+     * @return Non-null {@link JsonObject}
+     */
+    synchronized JsonObject takeSnapshot(boolean copy) {
+        modified = false;
+        return copy ? jsonObject.deepCopy() : jsonObject;
+    }
+
+    /**
+     * Saves the specified {@link JsonObject} (taken by {@link #takeSnapshot(boolean)}) to the current {@link Path} with current {@link Charset}
+     * and {@link SaveOptions} and remembers the state of the written file, so {@link #reloadIfChanged()} does not reload it. Journals left over
+     * for the file are deleted, see {@link MayuJsonJournal#deleteJournals(Path)}.
+     *
+     * @param snapshot Non-null {@link JsonObject}
+     * @param gson     Non-null {@link Gson}
+     *
+     * @throws IOException When I/O exception occurs while saving file
+     */
+    void writeSnapshot(@NonNull JsonObject snapshot, @NonNull Gson gson) throws IOException {
+        writeSnapshot(snapshot, gson, saveOptions);
+        MayuJsonJournal.deleteJournals(path);
+    }
+
+    /**
+     * Saves the specified {@link JsonObject} (taken by {@link #takeSnapshot(boolean)}) with the specified {@link SaveOptions}, see
+     * {@link #writeSnapshot(JsonObject, Gson)}. Journals are left untouched, {@link MayuJsonJournal} handles them when compacting.
+     *
+     * @param snapshot    Non-null {@link JsonObject}
+     * @param gson        Non-null {@link Gson}
+     * @param saveOptions Non-null {@link SaveOptions}
+     *
+     * @throws IOException When I/O exception occurs while saving file
+     */
+    void writeSnapshot(@NonNull JsonObject snapshot, @NonNull Gson gson, @NonNull SaveOptions saveOptions) throws IOException {
+        Path path = this.path;
+        Charset charset = this.charset;
+
+        try {
+            JsonIO.Checksum checksum = JsonIO.writeJson(snapshot, path, charset, gson, saveOptions);
+            fileFingerprint = FileFingerprint.of(path, charset, checksum);
+        } catch (IOException | RuntimeException exception) {
+            modified = true;
+            fileFingerprint = null;
+            throw exception;
+        }
+    }
+
+    /**
+     * Marks this {@link MayuJson} as modified and notifies {@link WriteBehindFlusher} (if any) that the current {@link JsonObject} has changed
+     */
+    private void markDirty() {
+        modified = true;
+        WriteBehindFlusher flusher = writeBehindFlusher;
+
+        if (flusher != null) {
+            flusher.markDirty(this);
+        }
+    }
+
+    /**
+     * Appends record of adding (or removing, if the value is null) the specified member into {@link MayuJsonJournal} (if any)
+     */
+    private void appendToJournal(String memberName, JsonElement value) {
+        if (journal != null) {
+            appendToJournal(value != null ? MayuJsonJournal.addRecord(memberName, value) : MayuJsonJournal.removeRecord(memberName));
+        }
+    }
+
+    private void appendToJournal(JsonObject record) {
+        try {
+            journal.append(this, record);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not append to journal of MayuJson at " + path.toAbsolutePath() + "!", exception);
+        }
     }
 }
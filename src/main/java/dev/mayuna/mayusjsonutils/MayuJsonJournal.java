@@ -0,0 +1,511 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Append-only mutation journal for {@link MayuJson}<br>
+ * Once a {@link MayuJson} is registered with {@link #register(MayuJson)}, each {@link MayuJson#add(String, JsonElement)},
+ * {@link MayuJson#addProperty(String, String)}, {@link MayuJson#remove(String)}, ... is appended as single JSON-Lines record into a sidecar file
+ * <code>&lt;file&gt;.journal</code> (always in {@link StandardCharsets#UTF_8}) before it is applied, instead of rewriting the whole file with
+ * {@link MayuJson#save()}. Small updates of big documents therefore cost a few hundred bytes of I/O. {@link MayuJson#loadJsonObject(Path, Charset)}
+ * replays the journal on top of the file, so the journal is picked up even when it is not registered. Saving the whole file without a journal
+ * (e.g., after the {@link MayuJson} was unregistered) deletes its journals, since the file then contains all of their records.<br>
+ * When the journal grows over {@link #getCompactionThreshold()}, a background thread compacts it: the journal is rotated to
+ * <code>&lt;file&gt;.journal.old</code>, the current {@link JsonObject} is atomically saved into the file and the rotated journal is deleted. A
+ * crash at any point leaves the file and the journals in a state which replays into the same {@link JsonObject}.<br>
+ * Changes made directly to {@link MayuJson#getJsonObject()} (or to {@link JsonElement}s already added) are not journaled, they are persisted
+ * only by {@link #compact(MayuJson)}. A {@link MayuJson} cannot be registered in a journal and in {@link WriteBehindFlusher} at the same time.<br>
+ * Use {@link #builder()} to create one (the error handler is required) and do not forget to {@link #close()} it.
+ */
+public final class MayuJsonJournal implements Closeable {
+
+    /**
+     * Extension appended to the file name of {@link MayuJson}'s file
+     */
+    public static final String JOURNAL_EXTENSION = ".journal";
+
+    /**
+     * Extension appended to the file name of {@link MayuJson}'s file for the journal which is being compacted
+     */
+    public static final String OLD_JOURNAL_EXTENSION = ".journal.old";
+
+    private static final Gson RECORD_GSON = new GsonBuilder().serializeNulls().disableHtmlEscaping().create();
+
+    private final @Getter long compactionThreshold;
+    private final @Getter boolean fsync;
+    private final @Getter Gson gson;
+    private final BiConsumer<MayuJson, Exception> errorHandler;
+
+    private final Map<MayuJson, JournalFile> journalFiles = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private volatile boolean closed;
+
+    /**
+     * Creates {@link MayuJsonJournal} and starts its background thread
+     *
+     * @param compactionThreshold Size of journal in bytes after which it is compacted, defaults to 1 MiB
+     * @param fsync               If true, every record is forced to the storage device before the mutator returns, otherwise records are forced
+     *                            only by {@link MayuJson#save()} (default)
+     * @param gson                Nullable {@link Gson} used to save compacted file, defaults to {@link MayuJson#DEFAULT_GSON}
+     * @param errorHandler        Non-null handler of exceptions which occur while compacting in background, there is no default, since nothing
+     *                            else would report them. The journal is left in place and compacted again later.
+     */
+    @Builder
+    private MayuJsonJournal(Long compactionThreshold, boolean fsync, Gson gson, @NonNull BiConsumer<MayuJson, Exception> errorHandler) {
+        this.compactionThreshold = compactionThreshold != null ? compactionThreshold : 1024 * 1024;
+        this.fsync = fsync;
+        this.gson = gson != null ? gson : MayuJson.DEFAULT_GSON;
+        this.errorHandler = errorHandler;
+
+        if (this.compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MayuJson-Journal-Compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns {@link Path} of the journal of the specified file
+     *
+     * @param path Non-null {@link Path} of {@link MayuJson}'s file
+     *
+     * @return Non-null {@link Path}
+     */
+    public static Path journalPathOf(@NonNull Path path) {
+        return path.resolveSibling(path.getFileName() + JOURNAL_EXTENSION);
+    }
+
+    /**
+     * Returns {@link Path} of the journal which is being compacted of the specified file
+     *
+     * @param path Non-null {@link Path} of {@link MayuJson}'s file
+     *
+     * @return Non-null {@link Path}
+     */
+    public static Path oldJournalPathOf(@NonNull Path path) {
+        return path.resolveSibling(path.getFileName() + OLD_JOURNAL_EXTENSION);
+    }
+
+    /**
+     * Registers the specified {@link MayuJson}. From now on, its mutators append records to its journal.<br>
+     * If the {@link MayuJson} has changes which were not saved (or its file does not exist yet), it is compacted first. The
+     * {@link MayuJson}'s {@link MayuJson#getPath()} should not be changed while it is registered.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IOException           When I/O exception occurs (unable to open the journal)
+     * @throws IllegalStateException When this journal is closed or the {@link MayuJson} is already registered in another journal or in
+     *                               {@link WriteBehindFlusher}
+     */
+    public void register(@NonNull MayuJson mayuJson) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("MayuJsonJournal is closed");
+        }
+
+        boolean compact;
+
+        synchronized (mayuJson) {
+            if (mayuJson.getJournal() != null && mayuJson.getJournal() != this) {
+                throw new IllegalStateException("MayuJson at " + mayuJson.getPath().toAbsolutePath() + " is already registered in another MayuJsonJournal");
+            }
+
+            if (mayuJson.getWriteBehindFlusher() != null) {
+                throw new IllegalStateException("MayuJson at " + mayuJson.getPath().toAbsolutePath() + " is registered in WriteBehindFlusher");
+            }
+
+            if (journalFiles.containsKey(mayuJson)) {
+                return;
+            }
+
+            FileChannel channel = openJournal(journalPathOf(mayuJson.getPath()));
+            journalFiles.put(mayuJson, new JournalFile(channel, channel.size()));
+            mayuJson.setJournal(this);
+            compact = mayuJson.isModified() || !Files.exists(mayuJson.getPath());
+        }
+
+        if (compact) {
+            compact(mayuJson);
+        }
+    }
+
+    /**
+     * Compacts and unregisters the specified {@link MayuJson}. From now on, it saves the whole file with {@link MayuJson#save()} again.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IOException When I/O exception occurs while compacting (the {@link MayuJson} is unregistered regardless, the journal is left in
+     *                     place and replayed on next load)
+     */
+    public void unregister(@NonNull MayuJson mayuJson) throws IOException {
+        if (!journalFiles.containsKey(mayuJson)) {
+            return;
+        }
+
+        try {
+            compact(mayuJson);
+        } finally {
+            synchronized (mayuJson) {
+                JournalFile journalFile = journalFiles.remove(mayuJson);
+                mayuJson.setJournal(null);
+
+                if (journalFile != null) {
+                    journalFile.channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns size of the current journal of the specified {@link MayuJson} in bytes
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @return Size in bytes, zero if the {@link MayuJson} is not registered
+     */
+    public long getJournalSize(@NonNull MayuJson mayuJson) {
+        JournalFile journalFile = journalFiles.get(mayuJson);
+        return journalFile != null ? journalFile.size : 0;
+    }
+
+    /**
+     * Saves current {@link JsonObject} of the specified {@link MayuJson} into its file (always atomically) and deletes its journal, on the calling
+     * thread
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IOException When I/O exception occurs while compacting (the journal is left in place and compacted again next time)
+     */
+    public void compact(@NonNull MayuJson mayuJson) throws IOException {
+        JournalFile journalFile = journalFiles.get(mayuJson);
+
+        if (journalFile == null) {
+            return;
+        }
+
+        // Holding the lock for the whole compaction keeps compactions of single MayuJson in order, mutators only need the MayuJson's monitor
+        synchronized (journalFile.compactionLock) {
+            Path path;
+            JsonObject snapshot;
+
+            synchronized (mayuJson) {
+                if (journalFiles.get(mayuJson) != journalFile) {
+                    return;
+                }
+
+                journalFile.compactionScheduled = false;
+                path = mayuJson.getPath();
+                rotate(path, journalFile);
+                snapshot = mayuJson.takeSnapshot(true);
+            }
+
+            SaveOptions saveOptions = mayuJson.getSaveOptions().toBuilder().atomic(true).fsync(mayuJson.getSaveOptions().isFsync() || fsync).build();
+            mayuJson.writeSnapshot(snapshot, gson, saveOptions);
+            Files.deleteIfExists(oldJournalPathOf(path));
+        }
+    }
+
+    /**
+     * Forces records of the specified {@link MayuJson} to the storage device. Invoked by {@link MayuJson#save()}.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public void sync(@NonNull MayuJson mayuJson) throws IOException {
+        synchronized (mayuJson) {
+            JournalFile journalFile = journalFiles.get(mayuJson);
+
+            if (journalFile != null) {
+                journalFile.channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread, compacts journals of all registered {@link MayuJson}s and unregisters them, see
+     * {@link #unregister(MayuJson)}
+     *
+     * @throws IOException When I/O exception occurs while compacting or closing the journals (all {@link MayuJson}s are unregistered
+     *                     regardless, journals which could not be compacted are left in place and replayed on next load)
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        IOException firstException = null;
+
+        for (MayuJson mayuJson : journalFiles.keySet()) {
+            try {
+                unregister(mayuJson);
+            } catch (IOException exception) {
+                if (firstException == null) {
+                    firstException = exception;
+                } else {
+                    firstException.addSuppressed(exception);
+                }
+            }
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Appends the specified record into journal of the specified {@link MayuJson}. Invoked by {@link MayuJson} while holding its monitor, before
+     * the mutation is applied.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     * @param record   Non-null record
+     *
+     * @throws IOException When I/O exception occurs (the record was not written)
+     */
+    void append(@NonNull MayuJson mayuJson, @NonNull JsonObject record) throws IOException {
+        JournalFile journalFile = journalFiles.get(mayuJson);
+
+        if (journalFile == null) {
+            throw new IllegalStateException("MayuJson at " + mayuJson.getPath().toAbsolutePath() + " is not registered in this MayuJsonJournal");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap((RECORD_GSON.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8));
+
+        while (buffer.hasRemaining()) {
+            journalFile.channel.write(buffer);
+        }
+
+        if (fsync) {
+            journalFile.channel.force(false);
+        }
+
+        journalFile.size += buffer.capacity();
+
+        if (journalFile.size >= compactionThreshold && !journalFile.compactionScheduled && !closed) {
+            journalFile.compactionScheduled = true;
+
+            try {
+                executor.execute(() -> compactQuietly(mayuJson));
+            } catch (RejectedExecutionException ignored) {
+                // Closing, journal is replayed on next load
+            }
+        }
+    }
+
+    /**
+     * Creates record of {@link MayuJson#add(String, JsonElement)}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link JsonElement}
+     *
+     * @return Non-null record
+     */
+    static JsonObject addRecord(@NonNull String memberName, @NonNull JsonElement value) {
+        JsonObject record = new JsonObject();
+        record.addProperty("op", "add");
+        record.addProperty("key", memberName);
+        record.add("value", value);
+        return record;
+    }
+
+    /**
+     * Creates record of {@link MayuJson#remove(String)}
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Non-null record
+     */
+    static JsonObject removeRecord(@NonNull String memberName) {
+        JsonObject record = new JsonObject();
+        record.addProperty("op", "remove");
+        record.addProperty("key", memberName);
+        return record;
+    }
+
+    /**
+     * Creates record of {@link MayuJson#setJsonObject(JsonObject)}
+     *
+     * @param jsonObject Non-null {@link JsonObject}
+     *
+     * @return Non-null record
+     */
+    static JsonObject setRecord(@NonNull JsonObject jsonObject) {
+        JsonObject record = new JsonObject();
+        record.addProperty("op", "set");
+        record.add("value", jsonObject);
+        return record;
+    }
+
+    /**
+     * Replays journals of the specified file (first the one being compacted, then the current one) on top of the specified {@link JsonObject}.
+     * Invoked by {@link MayuJson#loadJsonObject(Path, Charset)}.<br>
+     * Incomplete last record (e.g., after a crash mid-write) is ignored.
+     *
+     * @param path       Non-null {@link Path} of {@link MayuJson}'s file
+     * @param jsonObject Non-null {@link JsonObject} loaded from the file
+     *
+     * @return {@link JsonObject} with replayed records (may be different instance, if the journal replaced the whole object)
+     *
+     * @throws IOException         When I/O exception occurs (unable to read the journal)
+     * @throws JsonSyntaxException When the journal contains invalid record
+     */
+    static JsonObject replay(@NonNull Path path, @NonNull JsonObject jsonObject) throws IOException {
+        jsonObject = replayFile(oldJournalPathOf(path), jsonObject);
+        return replayFile(journalPathOf(path), jsonObject);
+    }
+
+    /**
+     * Deletes journals of the specified file, invoked after the whole file was saved without a journal. Their records are already in the saved
+     * {@link JsonObject} (it was loaded with them replayed), so replaying them on next load would revert later changes.
+     *
+     * @param path Non-null {@link Path} of {@link MayuJson}'s file
+     *
+     * @throws IOException When I/O exception occurs (unable to delete the journals)
+     */
+    static void deleteJournals(@NonNull Path path) throws IOException {
+        Files.deleteIfExists(journalPathOf(path));
+        Files.deleteIfExists(oldJournalPathOf(path));
+    }
+
+    private static JsonObject replayFile(Path journalPath, JsonObject jsonObject) throws IOException {
+        if (!Files.exists(journalPath)) {
+            return jsonObject;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(journalPath), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            int lineNumber = 0;
+
+            while (line != null) {
+                String nextLine = reader.readLine();
+                lineNumber++;
+
+                if (!line.isEmpty()) {
+                    try {
+                        jsonObject = apply(JsonParser.parseString(line).getAsJsonObject(), jsonObject);
+                    } catch (JsonParseException | IllegalStateException exception) {
+                        if (nextLine == null) {
+                            break; // Incomplete last record
+                        }
+
+                        throw new JsonSyntaxException("Invalid record at line " + lineNumber + " of journal " + journalPath.toAbsolutePath(), exception);
+                    }
+                }
+
+                line = nextLine;
+            }
+        }
+
+        return jsonObject;
+    }
+
+    private static JsonObject apply(JsonObject record, JsonObject jsonObject) {
+        String op = record.get("op").getAsString();
+
+        switch (op) {
+            case "add":
+                jsonObject.add(record.get("key").getAsString(), record.get("value"));
+                return jsonObject;
+            case "remove":
+                jsonObject.remove(record.get("key").getAsString());
+                return jsonObject;
+            case "set":
+                return record.getAsJsonObject("value");
+            default:
+                throw new JsonSyntaxException("Unknown journal operation " + op);
+        }
+    }
+
+    private static FileChannel openJournal(Path journalPath) throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Moves current journal to the old journal (or appends it, if the previous compaction failed) and opens new journal
+     */
+    private void rotate(Path path, JournalFile journalFile) throws IOException {
+        Path journalPath = journalPathOf(path);
+        Path oldJournalPath = oldJournalPathOf(path);
+
+        if (fsync) {
+            journalFile.channel.force(false);
+        }
+
+        journalFile.channel.close();
+
+        try {
+            if (Files.exists(oldJournalPath)) {
+                try (FileChannel source = FileChannel.open(journalPath, StandardOpenOption.READ);
+                     FileChannel target = openJournal(oldJournalPath)) {
+                    long position = 0;
+                    long size = source.size();
+
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+
+                    target.force(false);
+                }
+
+                Files.delete(journalPath);
+            } else {
+                try {
+                    Files.move(journalPath, oldJournalPath, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException exception) {
+                    Files.move(journalPath, oldJournalPath);
+                }
+            }
+        } finally {
+            // Reopens the current journal even if the rotation failed, so the mutations can continue
+            journalFile.channel = openJournal(journalPath);
+            journalFile.size = journalFile.channel.size();
+        }
+    }
+
+    private void compactQuietly(MayuJson mayuJson) {
+        try {
+            compact(mayuJson);
+        } catch (Exception exception) {
+            errorHandler.accept(mayuJson, exception);
+        }
+    }
+
+    private static final class JournalFile {
+
+        private final Object compactionLock = new Object();
+        private FileChannel channel;
+        private long size;
+        private boolean compactionScheduled;
+
+        private JournalFile(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Watches files of {@link MayuJson}s with {@link WatchService} and reloads them when they change<br>
+ * Events are debounced per file, so a burst of writes results in one reload. Reloading is done only if the file has changed, the same as
+ * {@link MayuJson#reloadIfChanged()} does, so files which were only touched or which were saved by the {@link MayuJson} itself are not reloaded
+ * and listeners are not notified. Unlike {@link MayuJson#reloadIfChanged()}, unsaved modifications of the {@link MayuJson} do not force the
+ * reload, they are discarded only when the file has been changed by someone else.<br>
+ * Use {@link #builder()} to create one, register {@link MayuJson}s with {@link #watch(MayuJson)} and do not forget to {@link #close()} it.
+ */
+public final class MayuJsonWatcher implements Closeable {
+
+    private final @Getter Duration debounce;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Map<Path, Set<MayuJson>> watchedFiles = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    private final Map<Path, ScheduledFuture<?>> pendingReloads = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final Thread watcherThread;
+    private WatchService watchService;
+    private FileSystem fileSystem;
+    private volatile boolean closed;
+
+    /**
+     * Creates {@link MayuJsonWatcher} and starts its background threads
+     *
+     * @param debounce Nullable {@link Duration} to wait after the last change of a file before reloading it, defaults to 100 milliseconds
+     * @param listener Nullable {@link Listener}, more can be added with {@link #addListener(Listener)}
+     */
+    @Builder
+    private MayuJsonWatcher(Duration debounce, Listener listener) {
+        this.debounce = debounce != null ? debounce : Duration.ofMillis(100);
+
+        if (this.debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce must not be negative");
+        }
+
+        if (listener != null) {
+            listeners.add(listener);
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MayuJson-Watcher-Reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.watcherThread = new Thread(this::processEvents, "MayuJson-Watcher");
+        this.watcherThread.setDaemon(true);
+    }
+
+    /**
+     * Adds {@link Listener}
+     *
+     * @param listener Non-null {@link Listener}
+     */
+    public void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes {@link Listener}
+     *
+     * @param listener Non-null {@link Listener}
+     */
+    public void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts watching file of the specified {@link MayuJson}<br>
+     * The {@link MayuJson}'s {@link MayuJson#getPath()} should not be changed while it is watched.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IOException              When I/O exception occurs (unable to watch the directory of the file)
+     * @throws IllegalArgumentException When the file is on different {@link FileSystem} than already watched files
+     * @throws IllegalStateException    When this watcher is closed
+     */
+    public synchronized void watch(@NonNull MayuJson mayuJson) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("MayuJsonWatcher is closed");
+        }
+
+        Path file = mayuJson.getPath().toAbsolutePath().normalize();
+        Path directory = file.getParent();
+
+        if (watchService == null) {
+            fileSystem = file.getFileSystem();
+            watchService = fileSystem.newWatchService();
+            watcherThread.start();
+        } else if (file.getFileSystem() != fileSystem) {
+            throw new IllegalArgumentException("All watched files must be on the same file system");
+        }
+
+        if (!watchedDirectories.containsKey(directory)) {
+            WatchKey watchKey = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirectories.put(directory, watchKey);
+        }
+
+        watchedFiles.computeIfAbsent(file, key -> ConcurrentHashMap.newKeySet()).add(mayuJson);
+    }
+
+    /**
+     * Stops watching file of the specified {@link MayuJson}
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     */
+    public synchronized void unwatch(@NonNull MayuJson mayuJson) {
+        Path file = mayuJson.getPath().toAbsolutePath().normalize();
+        Set<MayuJson> mayuJsons = watchedFiles.get(file);
+
+        if (mayuJsons == null) {
+            return;
+        }
+
+        mayuJsons.remove(mayuJson);
+
+        if (!mayuJsons.isEmpty()) {
+            return;
+        }
+
+        watchedFiles.remove(file);
+        Path directory = file.getParent();
+
+        if (watchedFiles.keySet().stream().noneMatch(watchedFile -> directory.equals(watchedFile.getParent()))) {
+            WatchKey watchKey = watchedDirectories.remove(directory);
+
+            if (watchKey != null) {
+                watchKey.cancel();
+            }
+        }
+    }
+
+    /**
+     * Stops watching all files and stops background threads
+     *
+     * @throws IOException When I/O exception occurs while closing {@link WatchService}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        executor.shutdownNow();
+        watchedFiles.clear();
+        watchedDirectories.clear();
+
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void processEvents() {
+        while (!closed) {
+            WatchKey watchKey;
+
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException exception) {
+                return;
+            }
+
+            Path directory = (Path) watchKey.watchable();
+
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Some events were lost, reload (if changed) everything in the directory
+                    watchedFiles.keySet().stream().filter(file -> directory.equals(file.getParent())).forEach(this::scheduleReload);
+                    continue;
+                }
+
+                Path file = directory.resolve((Path) event.context());
+
+                if (watchedFiles.containsKey(file)) {
+                    scheduleReload(file);
+                }
+            }
+
+            watchKey.reset();
+        }
+    }
+
+    private void scheduleReload(Path file) {
+        try {
+            pendingReloads.compute(file, (key, pendingReload) -> {
+                if (pendingReload != null) {
+                    pendingReload.cancel(false);
+                }
+
+                return executor.schedule(() -> reload(file), debounce.toNanos(), TimeUnit.NANOSECONDS);
+            });
+        } catch (RejectedExecutionException ignored) {
+            // Closed
+        }
+    }
+
+    private void reload(Path file) {
+        pendingReloads.remove(file);
+        Set<MayuJson> mayuJsons = watchedFiles.get(file);
+
+        if (mayuJsons == null) {
+            return;
+        }
+
+        for (MayuJson mayuJson : mayuJsons) {
+            try {
+                if (mayuJson.reloadIfFileChanged()) {
+                    listeners.forEach(listener -> listener.onReload(mayuJson));
+                }
+            } catch (Exception exception) {
+                listeners.forEach(listener -> listener.onReloadFailed(mayuJson, exception));
+            }
+        }
+    }
+
+    /**
+     * Listener of {@link MayuJsonWatcher}. Invoked on the watcher's background thread.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Invoked after the {@link MayuJson} has been reloaded, because its file has changed
+         *
+         * @param mayuJson Non-null {@link MayuJson}
+         */
+        void onReload(MayuJson mayuJson);
+
+        /**
+         * Invoked when the {@link MayuJson} could not be reloaded (e.g., the file contains invalid JSON). The {@link MayuJson} keeps its
+         * previous content.
+         *
+         * @param mayuJson  Non-null {@link MayuJson}
+         * @param exception Non-null {@link Exception}
+         */
+        default void onReloadFailed(MayuJson mayuJson, Exception exception) {
+        }
+    }
+}
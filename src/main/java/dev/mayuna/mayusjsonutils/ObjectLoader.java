@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import lombok.NonNull;
 
 import java.io.IOException;
+import java.io.PushbackInputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -33,24 +34,93 @@ public final class ObjectLoader {
      * @throws IOException If I/O exception occurs (failed to write or read the file)
      */
     public static <T> T loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson) throws IOException {
+        return loadOrCreateFrom(clazz, path, charset, gson, SaveOptions.DEFAULT);
+    }
+
+    /**
+     * Loads the object specified by {@link Class} from the specified {@link Path} using the specified {@link Gson}, {@link Charset} and
+     * {@link SaveOptions}<br>
+     * The specified {@link Class} must have public no-args constructor<br>
+     * If it does not exist, creates the file specified by {@link Path} and saves it.<br>
+     * The object is bound straight from the file stream, without creating intermediate {@link com.google.gson.JsonElement} tree. After loading,
+     * the object is saved back only if its serialized form differs from the file content (e.g., new fields were added to the class), so loading
+     * an unchanged file does not write anything. Unless {@link SaveOptions#getStorageFormat()} is specified, the file is saved back in the
+     * format it was loaded in.<br>
+     * Classes annotated with {@link GenerateTypeAdapter} are created and bound by their generated adapters, without reflection.
+     *
+     * @param gson        Non-null {@link Gson}
+     * @param path        Non-null {@link Path}
+     * @param clazz       Non-null {@link Class} with the object you want to load
+     * @param charset     Non-null {@link Charset}
+     * @param saveOptions Non-null {@link SaveOptions} used when the file is (re)written
+     * @param <T>         Your object type, specified in the {@link Class}
+     *
+     * @return Non-null object, loaded from the specified {@link Path}
+     *
+     * @throws IOException If I/O exception occurs (failed to write or read the file)
+     */
+    public static <T> T loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions) throws IOException {
+        return loadOrCreateFrom(clazz, path, charset, gson, saveOptions, LoadOptions.DEFAULT);
+    }
+
+    /**
+     * Loads the object specified by {@link Class} from the specified {@link Path} using the specified {@link Gson}, {@link Charset},
+     * {@link SaveOptions} and {@link LoadOptions}, see {@link #loadOrCreateFrom(Class, Path, Charset, Gson, SaveOptions)}
+     *
+     * @param gson        Non-null {@link Gson}
+     * @param path        Non-null {@link Path}
+     * @param clazz       Non-null {@link Class} with the object you want to load
+     * @param charset     Non-null {@link Charset}
+     * @param saveOptions Non-null {@link SaveOptions} used when the file is (re)written
+     * @param loadOptions Non-null {@link LoadOptions} used when the file is read
+     * @param <T>         Your object type, specified in the {@link Class}
+     *
+     * @return Non-null object, loaded from the specified {@link Path}
+     *
+     * @throws IOException If I/O exception occurs (failed to write or read the file)
+     */
+    public static <T> T loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions, @NonNull LoadOptions loadOptions) throws IOException {
         if (!Files.exists(path)) {
             try {
-                MayuJson.saveJson(gson.toJsonTree(clazz.getConstructor().newInstance()).getAsJsonObject(), path, charset, gson);
+                GeneratedTypeAdapterFactory<T> generatedFactory = GeneratedTypeAdapters.getFactory(clazz);
+                T object = generatedFactory != null ? generatedFactory.newInstance() : clazz.getConstructor().newInstance();
+                JsonIO.writeObject(object, clazz, path, charset, gson, saveOptions);
+                return object;
             } catch (Exception exception) {
                 throw new IOException("Could not save default object " + clazz.getName() + " at " + path.toAbsolutePath() + "!", exception);
             }
         }
 
         T object;
+        StorageFormat fileFormat;
+        JsonIO.Checksum fileChecksum;
+        IOMeter meter = IOMeter.start(path);
 
-        try {
-            object = gson.fromJson(MayuJson.createOrLoadJsonObject(path).getJsonObject(), clazz);
+        try (JsonIO.ChecksumInputStream inputStream = new JsonIO.ChecksumInputStream(JsonIO.newInputStream(path, loadOptions, meter))) {
+            PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, BinaryJson.headerLength());
+            fileFormat = BinaryJson.isBinary(pushbackInputStream) ? StorageFormat.BINARY : StorageFormat.JSON;
+            object = JsonIO.readObject(pushbackInputStream, charset, clazz, gson);
+            inputStream.drain();
+            fileChecksum = inputStream.getChecksum();
         } catch (Exception exception) {
+            if (meter != null) {
+                meter.failed(JsonMetricsListener.Operation.LOAD, exception);
+            }
+
             throw new IOException("Could not load object " + clazz.getName() + " at " + path.toAbsolutePath() + "! Please, check if there are no errors in JSON.", exception);
         }
 
+        if (meter != null) {
+            meter.loaded(clazz);
+        }
+
         try {
-            MayuJson.saveJson(gson.toJsonTree(object).getAsJsonObject(), path, charset, gson);
+            boolean sameCodec = StorageCodecs.resolve(loadOptions.getStorageCodec(), path) == StorageCodecs.resolve(saveOptions.getStorageCodec(), path);
+            StorageFormat storageFormat = saveOptions.getStorageFormat() != null ? saveOptions.getStorageFormat() : fileFormat;
+
+            if (!sameCodec || storageFormat != fileFormat || !fileChecksum.equals(JsonIO.checksumOf(object, clazz, charset, gson, storageFormat))) {
+                JsonIO.writeObject(object, clazz, path, charset, gson, saveOptions.toBuilder().storageFormat(storageFormat).build());
+            }
         } catch (Exception exception) {
             throw new IOException("Could not save loaded object " + clazz.getName() + " at " + path.toAbsolutePath() + "!", exception);
         }
@@ -113,6 +183,37 @@ public final class ObjectLoader {
         return loadOrCreateFrom(clazz, path, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON);
     }
 
+    /**
+     * Saves the specified object to the specified {@link Path} using the specified {@link Gson}, {@link Charset} and {@link SaveOptions}<br>
+     * The object is serialized straight into the file, without creating intermediate {@link com.google.gson.JsonElement} tree. See
+     * {@link SaveOptions#ATOMIC} for crash-safe saving.
+     *
+     * @param gson        Gson
+     * @param path        Path
+     * @param object      Object
+     * @param charset     Non-null {@link Charset}
+     * @param saveOptions Non-null {@link SaveOptions}
+     */
+    public static void saveTo(@NonNull Object object, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson, @NonNull SaveOptions saveOptions) throws IOException {
+        try {
+            JsonIO.writeObject(object, object.getClass(), path, charset, gson, saveOptions);
+        } catch (Exception exception) {
+            throw new IOException("Could not save object " + object.getClass().getName() + " at " + path.toAbsolutePath() + "!", exception);
+        }
+    }
+
+    /**
+     * Saves the specified object to the specified {@link Path} using {@link MayuJson#DEFAULT_GSON}, {@link StandardCharsets#UTF_8} and the
+     * specified {@link SaveOptions}
+     *
+     * @param path        Path
+     * @param object      Object
+     * @param saveOptions Non-null {@link SaveOptions}
+     */
+    public static void saveTo(@NonNull Object object, @NonNull Path path, @NonNull SaveOptions saveOptions) throws IOException {
+        saveTo(object, path, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON, saveOptions);
+    }
+
     /**
      * Saves the specified object to the specified {@link Path} using the specified {@link Gson} and {@link Charset}
      *
@@ -122,11 +223,7 @@ public final class ObjectLoader {
      * @param charset Non-null {@link Charset}
      */
     public static void saveTo(@NonNull Object object, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson) throws IOException {
-        try {
-            MayuJson.saveJson(gson.toJsonTree(object).getAsJsonObject(), path, charset, gson);
-        } catch (Exception exception) {
-            throw new IOException("Could not save object " + object.getClass().getName() + " at " + path.toAbsolutePath() + "!", exception);
-        }
+        saveTo(object, path, charset, gson, SaveOptions.DEFAULT);
     }
 
     /**
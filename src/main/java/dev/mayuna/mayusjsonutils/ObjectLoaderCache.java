@@ -0,0 +1,335 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.Gson;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory cache of objects loaded by {@link ObjectLoader#loadOrCreateFrom(Class, Path, Charset, Gson)}<br>
+ * Objects are cached by their {@link Path}, {@link Class}, {@link Charset} and {@link Gson}. Cached object is returned as long as the file's
+ * modification time and size have not changed, so a repeated lookup costs one file attribute read instead of reading, parsing and binding the
+ * file. Entries are evicted in least-recently-used order when the cache is full, or when they expire.<br>
+ * All lookups of the same entry return the same object instance, so it should not be modified unless you save it with
+ * {@link #saveTo(Object, Path, Charset, Gson)}, which updates the cache as well.<br>
+ * Use {@link #builder()} to create one. The cache is thread-safe, concurrent lookups of the same entry load the file only once.
+ */
+public final class ObjectLoaderCache {
+
+    private final @Getter int maximumSize;
+    private final @Getter Duration expireAfterAccess;
+    private final @Getter Duration expireAfterWrite;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<Key, FutureTask<Object>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    /**
+     * Creates {@link ObjectLoaderCache}
+     *
+     * @param maximumSize       Maximum number of cached objects, defaults to 1000
+     * @param expireAfterAccess Nullable {@link Duration} after which not accessed entry expires, never by default
+     * @param expireAfterWrite  Nullable {@link Duration} after which loaded entry expires, never by default
+     */
+    @Builder
+    private ObjectLoaderCache(Integer maximumSize, Duration expireAfterAccess, Duration expireAfterWrite) {
+        this.maximumSize = maximumSize != null ? maximumSize : 1000;
+        this.expireAfterAccess = expireAfterAccess;
+        this.expireAfterWrite = expireAfterWrite;
+
+        if (this.maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+    }
+
+    /**
+     * Returns cached object specified by {@link Class} from the specified {@link Path}, or loads it with
+     * {@link ObjectLoader#loadOrCreateFrom(Class, Path, Charset, Gson)} if it is not cached, has expired or its file has changed
+     *
+     * @param clazz   Non-null {@link Class} with the object you want to load
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}
+     * @param gson    Non-null {@link Gson}
+     * @param <T>     Your object type, specified in the {@link Class}
+     *
+     * @return Non-null object
+     *
+     * @throws IOException If I/O exception occurs (failed to write or read the file)
+     */
+    public <T> T loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson) throws IOException {
+        Key key = new Key(path.toAbsolutePath().normalize(), clazz, charset, gson);
+        BasicFileAttributes attributes = readAttributes(key.getPath());
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+
+            if (entry != null) {
+                if (entry.isValid(attributes, System.nanoTime())) {
+                    entry.accessedAt = System.nanoTime();
+                    hitCount.increment();
+                    return clazz.cast(entry.object);
+                }
+
+                entries.remove(key);
+                invalidationCount.increment();
+            }
+        }
+
+        missCount.increment();
+        return clazz.cast(load(key, attributes));
+    }
+
+    /**
+     * Returns cached object specified by {@link Class} from the specified {@link Path} using the specified {@link Gson} and
+     * {@link StandardCharsets#UTF_8}, see {@link #loadOrCreateFrom(Class, Path, Charset, Gson)}
+     *
+     * @param clazz Non-null {@link Class} with the object you want to load
+     * @param path  Non-null {@link Path}
+     * @param gson  Non-null {@link Gson}
+     * @param <T>   Your object type, specified in the {@link Class}
+     *
+     * @return Non-null object
+     *
+     * @throws IOException If I/O exception occurs (failed to write or read the file)
+     */
+    public <T> T loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Path path, @NonNull Gson gson) throws IOException {
+        return loadOrCreateFrom(clazz, path, StandardCharsets.UTF_8, gson);
+    }
+
+    /**
+     * Returns cached object specified by {@link Class} from the specified {@link Path} using the {@link MayuJson#DEFAULT_GSON} and
+     * {@link StandardCharsets#UTF_8}, see {@link #loadOrCreateFrom(Class, Path, Charset, Gson)}
+     *
+     * @param clazz Non-null {@link Class} with the object you want to load
+     * @param path  Non-null {@link Path}
+     * @param <T>   Your object type, specified in the {@link Class}
+     *
+     * @return Non-null object
+     *
+     * @throws IOException If I/O exception occurs (failed to write or read the file)
+     */
+    public <T> T loadOrCreateFrom(@NonNull Class<T> clazz, @NonNull Path path) throws IOException {
+        return loadOrCreateFrom(clazz, path, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Saves the specified object with {@link ObjectLoader#saveTo(Object, Path, Charset, Gson)}, invalidates all cached objects of the
+     * {@link Path} and caches the saved object
+     *
+     * @param object  Non-null object
+     * @param path    Non-null {@link Path}
+     * @param charset Non-null {@link Charset}
+     * @param gson    Non-null {@link Gson}
+     *
+     * @throws IOException If I/O exception occurs (failed to write the file)
+     */
+    public void saveTo(@NonNull Object object, @NonNull Path path, @NonNull Charset charset, @NonNull Gson gson) throws IOException {
+        Key key = new Key(path.toAbsolutePath().normalize(), object.getClass(), charset, gson);
+
+        invalidate(key.getPath());
+        ObjectLoader.saveTo(object, path, charset, gson);
+        BasicFileAttributes attributes = readAttributes(key.getPath());
+
+        synchronized (this) {
+            invalidate(key.getPath());
+            put(key, object, attributes);
+        }
+    }
+
+    /**
+     * Saves the specified object using {@link MayuJson#DEFAULT_GSON} and {@link StandardCharsets#UTF_8}, see
+     * {@link #saveTo(Object, Path, Charset, Gson)}
+     *
+     * @param object Non-null object
+     * @param path   Non-null {@link Path}
+     *
+     * @throws IOException If I/O exception occurs (failed to write the file)
+     */
+    public void saveTo(@NonNull Object object, @NonNull Path path) throws IOException {
+        saveTo(object, path, StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Removes all cached objects of the specified {@link Path}
+     *
+     * @param path Non-null {@link Path}
+     */
+    public synchronized void invalidate(@NonNull Path path) {
+        Path normalizedPath = path.toAbsolutePath().normalize();
+        Iterator<Key> iterator = entries.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().getPath().equals(normalizedPath)) {
+                iterator.remove();
+                invalidationCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached objects
+     */
+    public synchronized void invalidateAll() {
+        invalidationCount.add(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Returns number of cached objects (including the expired ones which were not removed yet)
+     *
+     * @return Number of cached objects
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns current {@link Stats}
+     *
+     * @return Non-null {@link Stats}
+     */
+    public Stats getStats() {
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), invalidationCount.sum());
+    }
+
+    private Object load(Key key, BasicFileAttributes attributes) throws IOException {
+        FutureTask<Object> task = new FutureTask<>(() -> {
+            Object object = ObjectLoader.loadOrCreateFrom(key.getClazz(), key.getPath(), key.getCharset(), key.getGson());
+
+            // Attributes read before loading, so if the file changes meanwhile (even by the loading itself), the entry is reloaded next time
+            synchronized (this) {
+                put(key, object, attributes);
+            }
+
+            return object;
+        });
+
+        FutureTask<Object> existingTask = loading.putIfAbsent(key, task);
+
+        if (existingTask != null) {
+            task = existingTask;
+        } else {
+            try {
+                task.run();
+            } finally {
+                loading.remove(key, task);
+            }
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + key.getPath() + " to load", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof IOException) {
+                throw (IOException) exception.getCause();
+            }
+
+            throw new IOException("Could not load object " + key.getClazz().getName() + " at " + key.getPath() + "!", exception.getCause());
+        }
+    }
+
+    private void put(Key key, Object object, BasicFileAttributes attributes) {
+        if (attributes == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.put(key, new Entry(object, attributes.lastModifiedTime(), attributes.size(), now, now));
+
+        while (entries.size() > maximumSize) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            iterator.next();
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Statistics of {@link ObjectLoaderCache}
+     */
+    @Value
+    public static class Stats {
+
+        long hitCount;
+        long missCount;
+        long evictionCount;
+        long invalidationCount;
+
+        /**
+         * Returns ratio of hits to all lookups
+         *
+         * @return Hit rate between 0 and 1 (1 when there were no lookups)
+         */
+        public double getHitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+    }
+
+    @Value
+    private static class Key {
+
+        Path path;
+        Class<?> clazz;
+        Charset charset;
+        Gson gson;
+    }
+
+    private final class Entry {
+
+        private final Object object;
+        private final FileTime lastModifiedTime;
+        private final long size;
+        private final long loadedAt;
+        private long accessedAt;
+
+        private Entry(Object object, FileTime lastModifiedTime, long size, long loadedAt, long accessedAt) {
+            this.object = object;
+            this.lastModifiedTime = lastModifiedTime;
+            this.size = size;
+            this.loadedAt = loadedAt;
+            this.accessedAt = accessedAt;
+        }
+
+        private boolean isValid(BasicFileAttributes attributes, long now) {
+            if (attributes == null || !lastModifiedTime.equals(attributes.lastModifiedTime()) || size != attributes.size()) {
+                return false;
+            }
+
+            if (expireAfterWrite != null && now - loadedAt > expireAfterWrite.toNanos()) {
+                return false;
+            }
+
+            return expireAfterAccess == null || now - accessedAt <= expireAfterAccess.toNanos();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.NonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Small bounded pool of reusable objects shared by all threads<br>
+ * Objects are kept in a fixed number of slots (twice the number of processors), taken and returned by compare-and-set starting at a random slot,
+ * so threads rarely contend and neither taking nor returning allocates. Unlike {@link ThreadLocal}, it reuses the objects on virtual threads
+ * as well (e.g., in {@link BulkLoader}) and it does not leave anything behind in threads of the application, e.g., in thread pools of a
+ * container which outlive it.
+ *
+ * @param <T> Type of the objects
+ */
+final class ObjectPool<T> {
+
+    private final AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Takes an object from the pool
+     *
+     * @return Nullable object (null when the pool is empty, the caller creates a new one then)
+     */
+    T poll() {
+        int length = slots.length();
+        int start = ThreadLocalRandom.current().nextInt(length);
+
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            T object = slots.get(index);
+
+            if (object != null && slots.compareAndSet(index, object, null)) {
+                return object;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the specified object into the pool, it must not be used afterward. It is dropped when the pool is full.
+     *
+     * @param object Non-null object
+     */
+    void offer(@NonNull T object) {
+        int length = slots.length();
+        int start = ThreadLocalRandom.current().nextInt(length);
+
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+
+            if (slots.get(index) == null && slots.compareAndSet(index, null, object)) {
+                return;
+            }
+        }
+    }
+}
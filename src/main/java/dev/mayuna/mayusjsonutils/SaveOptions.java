@@ -0,0 +1,56 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options which control how {@link MayuJson} and {@link ObjectLoader} write files<br>
+ * JSON is serialized straight into the file through buffered {@link com.google.gson.stream.JsonWriter} (unless {@link StorageFormat#BINARY} is
+ * used), optionally encoded by a {@link StorageCodec}; these options decide what happens around it. Use {@link #builder()} to create your own
+ * or use one of the predefined options.
+ */
+@Getter
+@Builder(toBuilder = true)
+public final class SaveOptions {
+
+    /**
+     * Writes directly into the file, without fsync. The file is truncated first, so a crash mid-write leaves a partially written file.
+     */
+    public static final SaveOptions DEFAULT = SaveOptions.builder().build();
+
+    /**
+     * Writes into temporary file in the same directory and then atomically moves it over the file, without fsync
+     */
+    public static final SaveOptions ATOMIC = SaveOptions.builder().atomic(true).build();
+
+    /**
+     * Same as {@link #ATOMIC}, but also fsyncs the temporary file before the move and the directory after the move, so the write survives
+     * power loss
+     */
+    public static final SaveOptions ATOMIC_FSYNC = SaveOptions.builder().atomic(true).fsync(true).build();
+
+    /**
+     * If true, the JSON is written into temporary file in the same directory, which is then moved over the target file with
+     * {@link java.nio.file.StandardCopyOption#ATOMIC_MOVE} (or just replaced, if the file system does not support atomic moves). Partially
+     * written file is never visible.
+     */
+    private final boolean atomic;
+
+    /**
+     * If true, written data are forced to the storage device with {@link java.nio.channels.FileChannel#force(boolean)} before the save returns
+     */
+    private final boolean fsync;
+
+    /**
+     * Format the file is written in, null by default, which writes {@link StorageFormat#JSON}, except that
+     * {@link ObjectLoader#loadOrCreateFrom(Class, java.nio.file.Path, java.nio.charset.Charset, com.google.gson.Gson, SaveOptions)} keeps the
+     * format of the file it loaded. Loading detects the format, so it does not have to be specified.
+     */
+    private final StorageFormat storageFormat;
+
+    /**
+     * {@link StorageCodec} the file is encoded with (for example compressed), null by default, which selects it by the file extension (see
+     * {@link StorageCodecs#forPath(java.nio.file.Path)}). The file has to be loaded with the same codec.
+     */
+    private final StorageCodec storageCodec;
+}
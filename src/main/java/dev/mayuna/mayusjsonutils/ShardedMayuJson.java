@@ -0,0 +1,584 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Keyed JSON store whose top-level members are partitioned across multiple {@link MayuJson} shard files in a directory<br>
+ * Members are assigned to shards by consistent hashing (64-bit FNV-1a on a ring with virtual nodes), so {@link #reshard(int)} moves only about
+ * {@code 1 / shardCount} of the members. Shards are loaded lazily when a member in them is first accessed and {@link #save()} writes only the
+ * shards which were modified, so load and save time grow with what is accessed and changed, not with the size of the whole store. Shard files
+ * are created only when something is saved into them.<br>
+ * The directory contains {@value #METADATA_FILE_NAME} with the shard count and generation, and the shard files {@code shard-<generation>-<index>.json}.
+ * Resharding writes a new generation of shard files, switches the metadata atomically and then deletes the old generation, so a crash never
+ * leaves the store half-resharded.<br>
+ * Elements returned by {@link #get(String)} are live, if you modify them, use {@link #markDirty(String)} so the shard is saved. All methods are
+ * synchronized.
+ */
+@SuppressWarnings("unused")
+public final class ShardedMayuJson {
+
+    /**
+     * Name of the metadata file in the store directory
+     */
+    public static final String METADATA_FILE_NAME = "shards.json";
+
+    /**
+     * Default number of shards of a new store
+     */
+    public static final int DEFAULT_SHARD_COUNT = 16;
+
+    private static final int VIRTUAL_NODES = 128;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final @Getter Path directory;
+    private final @Getter Charset charset;
+    private @Setter @Getter @NonNull SaveOptions saveOptions = SaveOptions.ATOMIC;
+    private @Setter @Getter @NonNull LoadOptions loadOptions = LoadOptions.DEFAULT;
+
+    private @Getter int shardCount;
+    private @Getter long generation;
+    private long[] ringHashes;
+    private int[] ringShards;
+    private MayuJson[] shards;
+    private boolean[] dirty;
+
+    private ShardedMayuJson(Path directory, Charset charset, int shardCount, long generation) {
+        this.directory = directory;
+        this.charset = charset;
+        setLayout(shardCount, generation);
+    }
+
+    /**
+     * Opens store in the specified directory, or creates it with the specified number of shards if it does not exist<br>
+     * Shards are not loaded until they are accessed. The number of shards of an existing store is kept, use {@link #reshard(int)} to change it.
+     *
+     * @param directory  Non-null {@link Path} of the store directory
+     * @param charset    Non-null {@link Charset} of the shard files
+     * @param shardCount Number of shards of a new store
+     *
+     * @return Non-null {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs (unable to create the directory, or read or write the metadata)
+     */
+    public static ShardedMayuJson open(@NonNull Path directory, @NonNull Charset charset, int shardCount) throws IOException {
+        checkShardCount(shardCount);
+        Path metadataPath = directory.resolve(METADATA_FILE_NAME);
+
+        if (Files.exists(metadataPath)) {
+            JsonObject metadata = MayuJson.loadJsonObject(metadataPath, StandardCharsets.UTF_8).getJsonObject();
+
+            try {
+                return new ShardedMayuJson(directory, charset, metadata.get("shardCount").getAsInt(), metadata.get("generation").getAsLong());
+            } catch (RuntimeException exception) {
+                throw new IOException("Invalid shard metadata at " + metadataPath.toAbsolutePath() + "!", exception);
+            }
+        }
+
+        Files.createDirectories(directory);
+        ShardedMayuJson store = new ShardedMayuJson(directory, charset, shardCount, 0);
+        store.writeMetadata(shardCount, 0);
+        return store;
+    }
+
+    /**
+     * Opens store in the specified directory with {@link StandardCharsets#UTF_8}, or creates it with the specified number of shards, see
+     * {@link #open(Path, Charset, int)}
+     *
+     * @param directory  Non-null {@link Path} of the store directory
+     * @param shardCount Number of shards of a new store
+     *
+     * @return Non-null {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static ShardedMayuJson open(@NonNull Path directory, int shardCount) throws IOException {
+        return open(directory, StandardCharsets.UTF_8, shardCount);
+    }
+
+    /**
+     * Opens store in the specified directory with {@link StandardCharsets#UTF_8}, or creates it with {@link #DEFAULT_SHARD_COUNT} shards, see
+     * {@link #open(Path, Charset, int)}
+     *
+     * @param directory Non-null {@link Path} of the store directory
+     *
+     * @return Non-null {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    public static ShardedMayuJson open(@NonNull Path directory) throws IOException {
+        return open(directory, StandardCharsets.UTF_8, DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Returns {@link JsonElement} with specified name, loads its shard if it was not loaded yet
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Nullable {@link JsonElement} (null when the store does not have such specified member or the member is {@link com.google.gson.JsonNull})
+     *
+     * @throws IOException When I/O exception occurs while loading the shard
+     */
+    public synchronized JsonElement get(@NonNull String memberName) throws IOException {
+        return shard(shardOf(memberName)).getOrNull(memberName);
+    }
+
+    /**
+     * Checks if the store has member with specified name, loads its shard if it was not loaded yet
+     *
+     * @param memberName Non-null member name
+     *
+     * @return true if it does, false otherwise
+     *
+     * @throws IOException When I/O exception occurs while loading the shard
+     */
+    public synchronized boolean has(@NonNull String memberName) throws IOException {
+        return shard(shardOf(memberName)).has(memberName);
+    }
+
+    /**
+     * Adds {@link JsonElement} with specified name, replacing the existing one
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link JsonElement}
+     *
+     * @return Current {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs while loading the shard
+     */
+    public synchronized ShardedMayuJson add(@NonNull String memberName, @NonNull JsonElement value) throws IOException {
+        int index = shardOf(memberName);
+        shard(index).add(memberName, value);
+        dirty[index] = true;
+        return this;
+    }
+
+    /**
+     * Adds {@link Number} property with specified name, see {@link #add(String, JsonElement)}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Number}
+     *
+     * @return Current {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs while loading the shard
+     */
+    public ShardedMayuJson addProperty(@NonNull String memberName, @NonNull Number value) throws IOException {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link String} property with specified name, see {@link #add(String, JsonElement)}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link String}
+     *
+     * @return Current {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs while loading the shard
+     */
+    public ShardedMayuJson addProperty(@NonNull String memberName, @NonNull String value) throws IOException {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Adds {@link Boolean} property with specified name, see {@link #add(String, JsonElement)}
+     *
+     * @param memberName Non-null member name
+     * @param value      Non-null {@link Boolean}
+     *
+     * @return Current {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs while loading the shard
+     */
+    public ShardedMayuJson addProperty(@NonNull String memberName, @NonNull Boolean value) throws IOException {
+        return add(memberName, new JsonPrimitive(value));
+    }
+
+    /**
+     * Removes member with specified name
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Current {@link ShardedMayuJson}
+     *
+     * @throws IOException When I/O exception occurs while loading the shard
+     */
+    public synchronized ShardedMayuJson remove(@NonNull String memberName) throws IOException {
+        int index = shardOf(memberName);
+        MayuJson shard = shard(index);
+
+        if (shard.has(memberName)) {
+            shard.remove(memberName);
+            dirty[index] = true;
+        }
+
+        return this;
+    }
+
+    /**
+     * Marks shard of the member with specified name as modified, so it is saved by {@link #save()}. Use it after modifying element returned by
+     * {@link #get(String)}.
+     *
+     * @param memberName Non-null member name
+     */
+    public synchronized void markDirty(@NonNull String memberName) {
+        dirty[shardOf(memberName)] = true;
+    }
+
+    /**
+     * Returns number of members in the store, loads all shards
+     *
+     * @return Number of members
+     *
+     * @throws IOException When I/O exception occurs while loading shards
+     */
+    public synchronized int size() throws IOException {
+        int size = 0;
+
+        for (int index = 0; index < shardCount; index++) {
+            size += shard(index).getJsonObject().size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Invokes the specified action for all members of the store, shard by shard, loads all shards
+     *
+     * @param action Non-null action
+     *
+     * @throws IOException When I/O exception occurs while loading shards
+     */
+    public synchronized void forEach(@NonNull BiConsumer<String, JsonElement> action) throws IOException {
+        for (int index = 0; index < shardCount; index++) {
+            for (Map.Entry<String, JsonElement> entry : shard(index).getJsonObject().entrySet()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns index of the shard the member with specified name belongs to
+     *
+     * @param memberName Non-null member name
+     *
+     * @return Shard index, between 0 and {@link #getShardCount()} (exclusive)
+     */
+    public synchronized int shardOf(@NonNull String memberName) {
+        return shardOf(memberName, ringHashes, ringShards);
+    }
+
+    /**
+     * Returns number of shards which are currently loaded
+     *
+     * @return Number of loaded shards
+     */
+    public synchronized int getLoadedShardCount() {
+        int loaded = 0;
+
+        for (MayuJson shard : shards) {
+            if (shard != null) {
+                loaded++;
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Returns number of shards which were modified since they were loaded or saved
+     *
+     * @return Number of dirty shards
+     */
+    public synchronized int getDirtyShardCount() {
+        int count = 0;
+
+        for (int index = 0; index < shardCount; index++) {
+            if (isDirty(index)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Saves shards which were modified since they were loaded or saved, with the current {@link SaveOptions} (atomic by default)
+     *
+     * @param gson Non-null {@link Gson}
+     *
+     * @throws IOException When I/O exception occurs while saving a shard (shards which were not saved stay dirty)
+     */
+    public synchronized void save(@NonNull Gson gson) throws IOException {
+        for (int index = 0; index < shardCount; index++) {
+            if (isDirty(index)) {
+                MayuJson shard = shards[index];
+                shard.setSaveOptions(saveOptions);
+                shard.save(gson);
+                dirty[index] = false;
+            }
+        }
+    }
+
+    /**
+     * Saves modified shards with {@link MayuJson#DEFAULT_GSON}, see {@link #save(Gson)}
+     *
+     * @throws IOException When I/O exception occurs while saving a shard
+     */
+    public void save() throws IOException {
+        save(MayuJson.DEFAULT_GSON);
+    }
+
+    /**
+     * Unloads shards which are not modified, so their memory can be reclaimed. They are loaded again when accessed.
+     */
+    public synchronized void unloadClean() {
+        for (int index = 0; index < shardCount; index++) {
+            if (shards[index] != null && !isDirty(index)) {
+                shards[index] = null;
+            }
+        }
+    }
+
+    /**
+     * Changes the number of shards<br>
+     * All shards are loaded and members are redistributed by the new hash ring (unsaved modifications are included). The new shards are written
+     * as a new generation of shard files, then the metadata is atomically switched to them and the old shard files are deleted. If it fails
+     * before the metadata is switched, the store stays as it was, including its unsaved modifications. If writing the metadata fails after it was
+     * switched, the store uses the new shards and the old shard files are left in place.
+     *
+     * @param newShardCount New number of shards
+     * @param gson          Non-null {@link Gson}
+     *
+     * @throws IOException When I/O exception occurs while loading or writing shards
+     */
+    public synchronized void reshard(int newShardCount, @NonNull Gson gson) throws IOException {
+        checkShardCount(newShardCount);
+
+        int oldShardCount = shardCount;
+        long oldGeneration = generation;
+        long newGeneration = generation + 1;
+
+        long[] newRingHashes = new long[newShardCount * VIRTUAL_NODES];
+        int[] newRingShards = new int[newShardCount * VIRTUAL_NODES];
+        buildRing(newShardCount, newRingHashes, newRingShards);
+
+        JsonObject[] newContents = new JsonObject[newShardCount];
+
+        for (int index = 0; index < newShardCount; index++) {
+            newContents[index] = new JsonObject();
+        }
+
+        for (int index = 0; index < oldShardCount; index++) {
+            for (Map.Entry<String, JsonElement> entry : shard(index).getJsonObject().entrySet()) {
+                newContents[shardOf(entry.getKey(), newRingHashes, newRingShards)].add(entry.getKey(), entry.getValue());
+            }
+        }
+
+        MayuJson[] newShards = new MayuJson[newShardCount];
+
+        // The current layout (with loaded and dirty shards) is not touched until the metadata is switched
+        try {
+            for (int index = 0; index < newShardCount; index++) {
+                newShards[index] = new MayuJson(shardPath(newGeneration, index), charset, newContents[index]);
+                newShards[index].setSaveOptions(saveOptions);
+                newShards[index].setLoadOptions(loadOptions);
+                newShards[index].save(gson);
+            }
+
+            writeMetadata(newShardCount, newGeneration);
+        } catch (IOException | RuntimeException exception) {
+            rollBackReshard(exception, newShardCount, newGeneration, newRingHashes, newRingShards, newShards);
+            throw exception;
+        }
+
+        switchLayout(newShardCount, newGeneration, newRingHashes, newRingShards, newShards);
+        deleteShardFiles(oldGeneration, oldShardCount);
+    }
+
+    /**
+     * Changes the number of shards with {@link MayuJson#DEFAULT_GSON}, see {@link #reshard(int, Gson)}
+     *
+     * @param newShardCount New number of shards
+     *
+     * @throws IOException When I/O exception occurs while loading or writing shards
+     */
+    public void reshard(int newShardCount) throws IOException {
+        reshard(newShardCount, MayuJson.DEFAULT_GSON);
+    }
+
+    private MayuJson shard(int index) throws IOException {
+        MayuJson shard = shards[index];
+
+        if (shard == null) {
+            Path shardPath = shardPath(generation, index);
+            shard = MayuJson.loadJsonObject(shardPath, charset, loadOptions);
+
+            if (shard == null) {
+                // Missing shard file is created by the save only if something is put into it, so reading does not write anything
+                shard = new MayuJson(shardPath, charset, new JsonObject());
+            }
+
+            shard.setSaveOptions(saveOptions);
+            shards[index] = shard;
+        }
+
+        return shard;
+    }
+
+    /**
+     * Handles failed {@link #reshard(int, Gson)}. The metadata may have been switched even though writing it failed (e.g., fsync of the
+     * directory failed after the move), so it is read again: if it names the new generation, the store switches to it and the old shard files
+     * are left in place, otherwise the new shard files are deleted. When the metadata cannot be read, nothing is deleted.
+     */
+    private void rollBackReshard(Exception exception, int newShardCount, long newGeneration, long[] newRingHashes, int[] newRingShards, MayuJson[] newShards) {
+        long metadataGeneration;
+
+        try {
+            metadataGeneration = readGeneration(directory);
+        } catch (IOException | RuntimeException readException) {
+            exception.addSuppressed(readException);
+            return;
+        }
+
+        if (metadataGeneration == newGeneration) {
+            switchLayout(newShardCount, newGeneration, newRingHashes, newRingShards, newShards);
+            return;
+        }
+
+        try {
+            deleteShardFiles(newGeneration, newShardCount);
+        } catch (IOException deleteException) {
+            exception.addSuppressed(deleteException);
+        }
+    }
+
+    private boolean isDirty(int index) {
+        return shards[index] != null && (dirty[index] || shards[index].isModified());
+    }
+
+    private void setLayout(int shardCount, long generation) {
+        this.shardCount = shardCount;
+        this.generation = generation;
+        this.ringHashes = new long[shardCount * VIRTUAL_NODES];
+        this.ringShards = new int[shardCount * VIRTUAL_NODES];
+        this.shards = new MayuJson[shardCount];
+        this.dirty = new boolean[shardCount];
+        buildRing(shardCount, ringHashes, ringShards);
+    }
+
+    private void switchLayout(int shardCount, long generation, long[] ringHashes, int[] ringShards, MayuJson[] shards) {
+        this.shardCount = shardCount;
+        this.generation = generation;
+        this.ringHashes = ringHashes;
+        this.ringShards = ringShards;
+        this.shards = shards;
+        this.dirty = new boolean[shardCount];
+    }
+
+    private Path shardPath(long generation, int index) {
+        return directory.resolve("shard-" + generation + "-" + index + ".json");
+    }
+
+    private void writeMetadata(int shardCount, long generation) throws IOException {
+        JsonObject metadata = new JsonObject();
+        metadata.addProperty("version", 1);
+        metadata.addProperty("shardCount", shardCount);
+        metadata.addProperty("virtualNodes", VIRTUAL_NODES);
+        metadata.addProperty("generation", generation);
+
+        SaveOptions metadataSaveOptions = SaveOptions.builder().atomic(true).fsync(saveOptions.isFsync()).build();
+        MayuJson.saveJson(metadata, directory.resolve(METADATA_FILE_NAME), StandardCharsets.UTF_8, MayuJson.DEFAULT_GSON, metadataSaveOptions);
+    }
+
+    private static long readGeneration(Path directory) throws IOException {
+        return MayuJson.loadJsonObject(directory.resolve(METADATA_FILE_NAME), StandardCharsets.UTF_8).getJsonObject().get("generation").getAsLong();
+    }
+
+    private void deleteShardFiles(long generation, int shardCount) throws IOException {
+        for (int index = 0; index < shardCount; index++) {
+            Files.deleteIfExists(shardPath(generation, index));
+        }
+    }
+
+    private static void checkShardCount(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive, got " + shardCount);
+        }
+    }
+
+    /**
+     * Fills the hash ring: {@link #VIRTUAL_NODES} points per shard, sorted by their hash
+     */
+    private static void buildRing(int shardCount, long[] ringHashes, int[] ringShards) {
+        long[][] points = new long[shardCount * VIRTUAL_NODES][];
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                points[shard * VIRTUAL_NODES + node] = new long[]{hash("shard-" + shard + "#" + node), shard};
+            }
+        }
+
+        // Ties (practically impossible) are broken by the shard, so the ring does not depend on the sort stability
+        Arrays.sort(points, (first, second) -> first[0] != second[0] ? Long.compareUnsigned(first[0], second[0]) : Long.compare(first[1], second[1]));
+
+        for (int i = 0; i < points.length; i++) {
+            ringHashes[i] = points[i][0];
+            ringShards[i] = (int) points[i][1];
+        }
+    }
+
+    /**
+     * Finds the first ring point at or after the member name's hash (wrapping around)
+     */
+    private static int shardOf(String memberName, long[] ringHashes, int[] ringShards) {
+        long hash = hash(memberName);
+        int low = 0;
+        int high = ringHashes.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (Long.compareUnsigned(ringHashes[middle], hash) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return ringShards[low == ringHashes.length ? 0 : low];
+    }
+
+    /**
+     * 64-bit FNV-1a hash of UTF-8 bytes of the specified {@link String}, with a final avalanche step so short similar strings spread over the
+     * whole ring
+     */
+    private static long hash(String string) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (byte value : string.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xFF;
+            hash *= FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
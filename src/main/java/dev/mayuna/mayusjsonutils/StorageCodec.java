@@ -0,0 +1,53 @@
+package dev.mayuna.mayusjsonutils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Codec which encodes bytes of saved files (for example compresses them) and decodes them back when loading<br>
+ * Codecs wrap the file streams directly, so the JSON is compressed and decompressed while it is written and parsed, without buffering the whole
+ * file. Built-in codecs are available in {@link StorageCodecs}. Custom codecs can be registered with {@link StorageCodecs#register(StorageCodec)}
+ * or through {@link java.util.ServiceLoader} ({@code META-INF/services/dev.mayuna.mayusjsonutils.StorageCodec}).
+ */
+public interface StorageCodec {
+
+    /**
+     * Returns name of this codec, for example {@code gzip}
+     *
+     * @return Non-null name
+     */
+    String getName();
+
+    /**
+     * Returns file extensions (without the leading dot, lower case) by which this codec is selected, see {@link StorageCodecs#forPath(java.nio.file.Path)}
+     *
+     * @return Non-null {@link List} of file extensions, may be empty
+     */
+    List<String> getFileExtensions();
+
+    /**
+     * Wraps the specified {@link InputStream} with encoded content into {@link InputStream} which returns the decoded content. Closing the returned
+     * {@link InputStream} must close the specified one as well.
+     *
+     * @param inputStream Non-null {@link InputStream} with encoded content, never empty
+     *
+     * @return Non-null {@link InputStream}
+     *
+     * @throws IOException When I/O exception occurs (for example invalid header)
+     */
+    InputStream decode(InputStream inputStream) throws IOException;
+
+    /**
+     * Wraps the specified {@link OutputStream} into {@link OutputStream} which encodes the content written into it. Closing the returned
+     * {@link OutputStream} must finish the encoding and close the specified one as well.
+     *
+     * @param outputStream Non-null {@link OutputStream}
+     *
+     * @return Non-null {@link OutputStream}
+     *
+     * @throws IOException When I/O exception occurs
+     */
+    OutputStream encode(OutputStream outputStream) throws IOException;
+}
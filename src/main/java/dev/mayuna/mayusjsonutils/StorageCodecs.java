@@ -0,0 +1,201 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.*;
+
+/**
+ * Built-in {@link StorageCodec}s and registry of all known {@link StorageCodec}s<br>
+ * Unless {@link SaveOptions#getStorageCodec()} or {@link LoadOptions#getStorageCodec()} specifies the codec explicitly, it is selected by the file
+ * extension: {@code config.json.gz} is saved and loaded with {@link #GZIP}, {@code config.json} with {@link #NONE}.
+ */
+public final class StorageCodecs {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Writes and reads the bytes as they are
+     */
+    public static final StorageCodec NONE = new StorageCodec() {
+        @Override
+        public String getName() {
+            return "none";
+        }
+
+        @Override
+        public List<String> getFileExtensions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public InputStream decode(InputStream inputStream) {
+            return inputStream;
+        }
+
+        @Override
+        public OutputStream encode(OutputStream outputStream) {
+            return outputStream;
+        }
+    };
+
+    /**
+     * Compresses the bytes with {@link GZIPOutputStream}, selected by {@code .gz} and {@code .gzip} extensions
+     */
+    public static final StorageCodec GZIP = new StorageCodec() {
+        @Override
+        public String getName() {
+            return "gzip";
+        }
+
+        @Override
+        public List<String> getFileExtensions() {
+            return Arrays.asList("gz", "gzip");
+        }
+
+        @Override
+        public InputStream decode(InputStream inputStream) throws IOException {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+
+        @Override
+        public OutputStream encode(OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+    };
+
+    /**
+     * Compresses the bytes with {@link DeflaterOutputStream} (zlib format), selected by {@code .deflate} and {@code .zz} extensions
+     */
+    public static final StorageCodec DEFLATE = new StorageCodec() {
+        @Override
+        public String getName() {
+            return "deflate";
+        }
+
+        @Override
+        public List<String> getFileExtensions() {
+            return Arrays.asList("deflate", "zz");
+        }
+
+        @Override
+        public InputStream decode(InputStream inputStream) {
+            return new InflaterInputStream(inputStream, new Inflater(), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    // Inflater passed in the constructor is not ended by the stream itself
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public OutputStream encode(OutputStream outputStream) {
+            return new DeflaterOutputStream(outputStream, new Deflater(), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    // Deflater passed in the constructor is not ended by the stream itself
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        }
+    };
+
+    private static final List<StorageCodec> CODECS = new CopyOnWriteArrayList<>(Arrays.asList(GZIP, DEFLATE));
+
+    static {
+        for (StorageCodec codec : ServiceLoader.load(StorageCodec.class, StorageCodecs.class.getClassLoader())) {
+            register(codec);
+        }
+    }
+
+    private StorageCodecs() {
+    }
+
+    /**
+     * Registers the specified {@link StorageCodec}, so it is selected by its file extensions. Codecs registered later take precedence.
+     *
+     * @param codec Non-null {@link StorageCodec}
+     */
+    public static void register(@NonNull StorageCodec codec) {
+        CODECS.add(0, codec);
+    }
+
+    /**
+     * Returns {@link StorageCodec} selected by the file extension of the specified {@link Path}
+     *
+     * @param path Non-null {@link Path}
+     *
+     * @return Non-null {@link StorageCodec}, {@link #NONE} when no registered codec has matching file extension
+     */
+    public static StorageCodec forPath(@NonNull Path path) {
+        Path fileName = path.getFileName();
+
+        if (fileName == null) {
+            return NONE;
+        }
+
+        String name = fileName.toString();
+        int dotIndex = name.lastIndexOf('.');
+
+        if (dotIndex == -1) {
+            return NONE;
+        }
+
+        String extension = name.substring(dotIndex + 1).toLowerCase(Locale.ROOT);
+
+        for (StorageCodec codec : CODECS) {
+            if (codec.getFileExtensions().contains(extension)) {
+                return codec;
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Returns {@link StorageCodec} with the specified name
+     *
+     * @param name Non-null codec name, see {@link StorageCodec#getName()}
+     *
+     * @return Nullable {@link StorageCodec} (null when no such codec is registered)
+     */
+    public static StorageCodec forName(@NonNull String name) {
+        if (NONE.getName().equals(name)) {
+            return NONE;
+        }
+
+        for (StorageCodec codec : CODECS) {
+            if (codec.getName().equals(name)) {
+                return codec;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the specified {@link StorageCodec}, or the one selected by the file extension of the specified {@link Path} if it is null
+     *
+     * @param codec Nullable {@link StorageCodec}
+     * @param path  Non-null {@link Path}
+     *
+     * @return Non-null {@link StorageCodec}
+     */
+    static StorageCodec resolve(StorageCodec codec, @NonNull Path path) {
+        return codec != null ? codec : forPath(path);
+    }
+}
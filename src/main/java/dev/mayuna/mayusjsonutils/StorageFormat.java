@@ -0,0 +1,19 @@
+package dev.mayuna.mayusjsonutils;
+
+/**
+ * Format in which {@link MayuJson} and {@link ObjectLoader} store files, see {@link SaveOptions#getStorageFormat()}<br>
+ * The format is detected when loading, so files can be switched between formats just by saving them with different {@link SaveOptions}.
+ */
+public enum StorageFormat {
+
+    /**
+     * JSON text, serialized by {@link com.google.gson.Gson}
+     */
+    JSON,
+
+    /**
+     * Compact binary snapshot, see {@link BinaryJson}. Faster to load and smaller than JSON text, but not human-readable. Use
+     * {@link BinaryJson#toJson(java.nio.file.Path, java.nio.file.Path)} to inspect it.
+     */
+    BINARY
+}
@@ -0,0 +1,67 @@
+package dev.mayuna.mayusjsonutils;
+
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+/**
+ * {@link Number} which keeps its JSON text, so it is written back exactly as it was read. Its value is parsed only when requested.
+ */
+final class TextNumber extends Number {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String text;
+
+    /**
+     * Creates {@link TextNumber}
+     *
+     * @param text Non-null JSON number text
+     */
+    TextNumber(@NonNull String text) {
+        this.text = text;
+    }
+
+    @Override
+    public int intValue() {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException exception) {
+            return (int) longValue();
+        }
+    }
+
+    @Override
+    public long longValue() {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException exception) {
+            return new BigDecimal(text).longValue();
+        }
+    }
+
+    @Override
+    public float floatValue() {
+        return Float.parseFloat(text);
+    }
+
+    @Override
+    public double doubleValue() {
+        return Double.parseDouble(text);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof TextNumber && text.equals(((TextNumber) object).text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,580 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.*;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parser of strict UTF-8 encoded JSON which tokenizes the bytes directly, without decoding them into characters first<br>
+ * Only string values and member names are decoded, repeated member names are decoded once and interned. Numbers keep their text (see
+ * {@link TextNumber}), so the resulting tree is equal to the one produced by {@link JsonParser} and is written back the same way.<br>
+ * Parsers are pooled in {@link ObjectPool} shared by all threads, so the buffer and the interned member names are reused by the following
+ * parses. The buffer is dropped when it grew over {@link #MAX_POOLED_BUFFER_SIZE}, the interned names are dropped when there is no space for
+ * more.<br>
+ * Anything which is not strict JSON (comments, single quotes, unquoted strings, NaN, trailing content, ...) makes it throw
+ * {@link NotStrictJsonException}, in which case the input should be parsed with the lenient Gson parser instead, which either handles it or
+ * reports the proper error.
+ */
+final class Utf8JsonParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_NESTING_DEPTH = 255;
+    private static final int KEY_CACHE_SIZE = 1024;
+    private static final int KEY_CACHE_MAX_LENGTH = 64;
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ObjectPool<Utf8JsonParser> PARSERS = new ObjectPool<>();
+
+    private InputStream inputStream;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final byte[][] cachedKeyBytes = new byte[KEY_CACHE_SIZE][];
+    private final String[] cachedKeys = new String[KEY_CACHE_SIZE];
+    private int cachedKeyCount;
+
+    // Result of the last scanString()
+    private boolean stringEscaped;
+    private boolean stringNonAscii;
+
+    private Utf8JsonParser() {
+    }
+
+    /**
+     * Parses {@link JsonElement} from the specified {@link InputStream} with UTF-8 encoded JSON<br>
+     * Empty input (or input with only whitespace) results in empty {@link JsonObject}, the same as {@link JsonIO#readJsonObject(java.io.Reader)}
+     *
+     * @param inputStream Non-null {@link InputStream}, it is read until its end
+     *
+     * @return Non-null {@link JsonElement}
+     *
+     * @throws IOException            When I/O exception occurs (unable to read)
+     * @throws NotStrictJsonException When the input is not strict JSON
+     */
+    static JsonElement parse(@NonNull InputStream inputStream) throws IOException, NotStrictJsonException {
+        Utf8JsonParser parser = PARSERS.poll();
+
+        if (parser == null) {
+            parser = new Utf8JsonParser();
+        }
+
+        parser.start(inputStream);
+
+        try {
+            parser.skipByteOrderMark();
+
+            if (!parser.skipWhitespace()) {
+                return new JsonObject();
+            }
+
+            JsonElement jsonElement = parser.readValue(0);
+
+            if (parser.skipWhitespace()) {
+                throw new NotStrictJsonException();
+            }
+
+            return jsonElement;
+        } finally {
+            parser.finish();
+        }
+    }
+
+    private void start(InputStream inputStream) {
+        this.inputStream = inputStream;
+        position = 0;
+        limit = 0;
+
+        if (cachedKeyCount >= KEY_CACHE_SIZE * 3 / 4) {
+            Arrays.fill(cachedKeyBytes, null);
+            Arrays.fill(cachedKeys, null);
+            cachedKeyCount = 0;
+        }
+    }
+
+    private void finish() {
+        inputStream = null;
+
+        if (buffer.length > MAX_POOLED_BUFFER_SIZE) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+
+        PARSERS.offer(this);
+    }
+
+    private JsonElement readValue(int depth) throws IOException, NotStrictJsonException {
+        if (!skipWhitespace()) {
+            throw new NotStrictJsonException();
+        }
+
+        byte value = buffer[position];
+
+        switch (value) {
+            case '{':
+                position++;
+                return readObject(depth + 1);
+            case '[':
+                position++;
+                return readArray(depth + 1);
+            case '"':
+                position++;
+                return new JsonPrimitive(readString());
+            case 't':
+                readLiteral("true");
+                return new JsonPrimitive(true);
+            case 'f':
+                readLiteral("false");
+                return new JsonPrimitive(false);
+            case 'n':
+                readLiteral("null");
+                return JsonNull.INSTANCE;
+            default:
+                if (value == '-' || (value >= '0' && value <= '9')) {
+                    return new JsonPrimitive(new TextNumber(readNumber()));
+                }
+
+                throw new NotStrictJsonException();
+        }
+    }
+
+    private JsonObject readObject(int depth) throws IOException, NotStrictJsonException {
+        checkDepth(depth);
+        JsonObject jsonObject = new JsonObject();
+
+        if (nextToken() == '}') {
+            position++;
+            return jsonObject;
+        }
+
+        while (true) {
+            if (nextToken() != '"') {
+                throw new NotStrictJsonException();
+            }
+
+            position++;
+            String name = readName();
+
+            if (nextToken() != ':') {
+                throw new NotStrictJsonException();
+            }
+
+            position++;
+            jsonObject.add(name, readValue(depth));
+
+            byte separator = nextToken();
+            position++;
+
+            if (separator == '}') {
+                return jsonObject;
+            }
+
+            if (separator != ',') {
+                throw new NotStrictJsonException();
+            }
+        }
+    }
+
+    private JsonArray readArray(int depth) throws IOException, NotStrictJsonException {
+        checkDepth(depth);
+        JsonArray jsonArray = new JsonArray();
+
+        if (nextToken() == ']') {
+            position++;
+            return jsonArray;
+        }
+
+        while (true) {
+            jsonArray.add(readValue(depth));
+
+            byte separator = nextToken();
+            position++;
+
+            if (separator == ']') {
+                return jsonArray;
+            }
+
+            if (separator != ',') {
+                throw new NotStrictJsonException();
+            }
+        }
+    }
+
+    private static void checkDepth(int depth) throws NotStrictJsonException {
+        if (depth > MAX_NESTING_DEPTH) {
+            throw new NotStrictJsonException();
+        }
+    }
+
+    /**
+     * Reads string after its opening quote
+     */
+    private String readString() throws IOException, NotStrictJsonException {
+        int end = scanString();
+        int start = position;
+        position = end + 1;
+        return decode(start, end);
+    }
+
+    /**
+     * Reads member name after its opening quote, member names without escapes are interned
+     */
+    private String readName() throws IOException, NotStrictJsonException {
+        int end = scanString();
+        int start = position;
+        position = end + 1;
+
+        int length = end - start;
+
+        if (stringEscaped || length > KEY_CACHE_MAX_LENGTH) {
+            return decode(start, end);
+        }
+
+        int hash = 1;
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+
+        int mask = KEY_CACHE_SIZE - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+
+        while (true) {
+            byte[] cachedBytes = cachedKeyBytes[index];
+
+            if (cachedBytes == null) {
+                String name = decode(start, end);
+
+                // Keep some free slots, so the probing always ends
+                if (cachedKeyCount < KEY_CACHE_SIZE * 3 / 4) {
+                    cachedKeyBytes[index] = Arrays.copyOfRange(buffer, start, end);
+                    cachedKeys[index] = name;
+                    cachedKeyCount++;
+                }
+
+                return name;
+            }
+
+            if (cachedBytes.length == length && equals(cachedBytes, start)) {
+                return cachedKeys[index];
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    private boolean equals(byte[] bytes, int start) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != buffer[start + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Makes sure the whole string after the current position (which is right after its opening quote) is in the buffer and finds its closing
+     * quote. The position may change when the buffer is compacted, so it has to be read after this method returns.
+     *
+     * @return Index of the closing quote in the buffer
+     */
+    private int scanString() throws IOException, NotStrictJsonException {
+        boolean escaped = false;
+        boolean nonAscii = false;
+        int index = position;
+
+        while (true) {
+            if (index == limit) {
+                int offset = position;
+
+                if (!fill()) {
+                    throw new NotStrictJsonException();
+                }
+
+                index -= offset - position;
+            }
+
+            byte value = buffer[index];
+
+            if (value == '"') {
+                stringEscaped = escaped;
+                stringNonAscii = nonAscii;
+                return index;
+            }
+
+            if (value == '\\') {
+                escaped = true;
+                index++;
+
+                // Escaped character must be in the buffer as well
+                if (index == limit) {
+                    int offset = position;
+
+                    if (!fill()) {
+                        throw new NotStrictJsonException();
+                    }
+
+                    index -= offset - position;
+                }
+            } else if (value < 0) {
+                nonAscii = true;
+            }
+
+            index++;
+        }
+    }
+
+    /**
+     * Decodes string between the specified buffer indexes, see {@link #scanString()}
+     */
+    private String decode(int start, int end) throws NotStrictJsonException {
+        if (!stringEscaped) {
+            return new String(buffer, start, end - start, stringNonAscii ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(end - start);
+        int runStart = start;
+        int index = start;
+
+        while (index < end) {
+            if (buffer[index] != '\\') {
+                index++;
+                continue;
+            }
+
+            stringBuilder.append(new String(buffer, runStart, index - runStart, StandardCharsets.UTF_8));
+            byte escapedValue = buffer[index + 1];
+            index += 2;
+
+            switch (escapedValue) {
+                case '"':
+                case '\\':
+                case '/':
+                    stringBuilder.append((char) escapedValue);
+                    break;
+                case 'b':
+                    stringBuilder.append('\b');
+                    break;
+                case 'f':
+                    stringBuilder.append('\f');
+                    break;
+                case 'n':
+                    stringBuilder.append('\n');
+                    break;
+                case 'r':
+                    stringBuilder.append('\r');
+                    break;
+                case 't':
+                    stringBuilder.append('\t');
+                    break;
+                case 'u':
+                    if (index + 4 > end) {
+                        throw new NotStrictJsonException();
+                    }
+
+                    int character = 0;
+
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(buffer[index + i], 16);
+
+                        if (digit == -1) {
+                            throw new NotStrictJsonException();
+                        }
+
+                        character = (character << 4) | digit;
+                    }
+
+                    stringBuilder.append((char) character);
+                    index += 4;
+                    break;
+                default:
+                    throw new NotStrictJsonException();
+            }
+
+            runStart = index;
+        }
+
+        stringBuilder.append(new String(buffer, runStart, end - runStart, StandardCharsets.UTF_8));
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Reads number at the current position, which is validated against the JSON number grammar
+     */
+    private String readNumber() throws IOException, NotStrictJsonException {
+        int index = position;
+
+        // Leading minus, integer part, fraction and exponent, each part is validated when it ends
+        int state = 0;
+
+        while (true) {
+            if (index == limit) {
+                int offset = position;
+                boolean filled = fill();
+
+                // The buffer may have been compacted even when the end of input was reached
+                index -= offset - position;
+
+                if (!filled) {
+                    break;
+                }
+            }
+
+            byte value = buffer[index];
+            boolean digit = value >= '0' && value <= '9';
+
+            if (state == 0 && value == '-') {
+                state = 1;
+            } else if ((state == 0 || state == 1) && value == '0') {
+                state = 2;
+            } else if ((state == 0 || state == 1) && digit) {
+                state = 3;
+            } else if (state == 3 && digit) {
+                state = 3;
+            } else if ((state == 2 || state == 3) && value == '.') {
+                state = 4;
+            } else if ((state == 4 || state == 5) && digit) {
+                state = 5;
+            } else if ((state == 2 || state == 3 || state == 5) && (value == 'e' || value == 'E')) {
+                state = 6;
+            } else if (state == 6 && (value == '+' || value == '-')) {
+                state = 7;
+            } else if ((state == 6 || state == 7 || state == 8) && digit) {
+                state = 8;
+            } else {
+                break;
+            }
+
+            index++;
+        }
+
+        boolean complete = state == 2 || state == 3 || state == 5 || state == 8;
+
+        if (!complete || (index < limit && !isDelimiter(buffer[index]))) {
+            throw new NotStrictJsonException();
+        }
+
+        String text = new String(buffer, position, index - position, StandardCharsets.ISO_8859_1);
+        position = index;
+        return text;
+    }
+
+    private static boolean isDelimiter(byte value) {
+        return value == ',' || value == '}' || value == ']' || value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    private void readLiteral(String literal) throws IOException, NotStrictJsonException {
+        int length = literal.length();
+
+        while (limit - position < length) {
+            if (!fill()) {
+                throw new NotStrictJsonException();
+            }
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (buffer[position + i] != literal.charAt(i)) {
+                throw new NotStrictJsonException();
+            }
+        }
+
+        position += length;
+
+        if ((position < limit || fill()) && !isDelimiter(buffer[position])) {
+            throw new NotStrictJsonException();
+        }
+    }
+
+    /**
+     * Skips whitespace and returns the next byte, without consuming it
+     */
+    private byte nextToken() throws IOException, NotStrictJsonException {
+        if (!skipWhitespace()) {
+            throw new NotStrictJsonException();
+        }
+
+        return buffer[position];
+    }
+
+    /**
+     * Skips whitespace
+     *
+     * @return false if the end of input was reached
+     */
+    private boolean skipWhitespace() throws IOException {
+        while (true) {
+            while (position < limit) {
+                byte value = buffer[position];
+
+                if (value != ' ' && value != '\n' && value != '\r' && value != '\t') {
+                    return true;
+                }
+
+                position++;
+            }
+
+            if (!fill()) {
+                return false;
+            }
+        }
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        while (limit < 3) {
+            if (!fill()) {
+                break;
+            }
+        }
+
+        if (limit >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF) {
+            position = 3;
+        }
+    }
+
+    /**
+     * Reads more bytes into the buffer. Bytes from the current position on are kept, they are moved to the beginning of the buffer, which grows
+     * when it is full.
+     *
+     * @return false if the end of input was reached
+     */
+    private boolean fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int read = inputStream.read(buffer, limit, buffer.length - limit);
+
+        while (read == 0) {
+            read = inputStream.read(buffer, limit, buffer.length - limit);
+        }
+
+        if (read == -1) {
+            return false;
+        }
+
+        limit += read;
+        return true;
+    }
+
+    /**
+     * Thrown when the input is not strict JSON. Does not carry stack trace, since it only signals to parse the input with lenient parser.
+     */
+    static final class NotStrictJsonException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        NotStrictJsonException() {
+            super("Not strict JSON", null, false, false);
+        }
+    }
+}
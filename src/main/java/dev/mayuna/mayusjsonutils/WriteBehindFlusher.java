@@ -0,0 +1,297 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Write-behind flusher for {@link MayuJson}<br>
+ * Once a {@link MayuJson} is registered with {@link #register(MayuJson)}, its mutators ({@link MayuJson#add(String, com.google.gson.JsonElement)},
+ * {@link MayuJson#addProperty(String, String)}, {@link MayuJson#remove(String)}, ...) and {@link MayuJson#save()} only mark it as dirty. A
+ * background thread then saves all dirty instances once per {@link #getFlushInterval()}, or right away when an instance reaches
+ * {@link #getMaxPendingMutations()} pending mutations. Bursts of mutations are therefore coalesced into one write and the calling threads never
+ * block on disk I/O.<br>
+ * The flusher saves a copy of the {@link JsonObject} taken while holding the {@link MayuJson}'s monitor, so if you modify
+ * {@link MayuJson#getJsonObject()} directly from multiple threads, synchronize on the {@link MayuJson} instance.<br>
+ * Use {@link #builder()} to create one, the error handler is required. Do not forget to {@link #close()} it, which flushes everything (it is
+ * also done by a shutdown hook, unless disabled).
+ */
+public final class WriteBehindFlusher implements Closeable {
+
+    private final @Getter Duration flushInterval;
+    private final @Getter int maxPendingMutations;
+    private final @Getter Gson gson;
+    private final BiConsumer<MayuJson, Exception> errorHandler;
+
+    private final Set<MayuJson> registered = ConcurrentHashMap.newKeySet();
+    private final Map<MayuJson, AtomicInteger> pendingMutations = new ConcurrentHashMap<>();
+    private final Map<MayuJson, Object> flushLocks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+
+    /**
+     * Creates {@link WriteBehindFlusher} and starts its background thread
+     *
+     * @param flushInterval        Nullable {@link Duration} between flushes, defaults to 1 second
+     * @param maxPendingMutations  Number of pending mutations of single {@link MayuJson} after which it is flushed right away, zero or less
+     *                             disables it (default)
+     * @param gson                 Nullable {@link Gson} used to save, defaults to {@link MayuJson#DEFAULT_GSON}
+     * @param registerShutdownHook Nullable, if true (default), registers shutdown hook which invokes {@link #close()}
+     * @param errorHandler         Non-null handler of exceptions which occur while flushing in background, there is no default, since nothing
+     *                             else would report them. Failed {@link MayuJson} stays dirty and is retried with the next flush.
+     */
+    @Builder
+    private WriteBehindFlusher(Duration flushInterval, int maxPendingMutations, Gson gson, Boolean registerShutdownHook, @NonNull BiConsumer<MayuJson, Exception> errorHandler) {
+        this.flushInterval = flushInterval != null ? flushInterval : Duration.ofSeconds(1);
+        this.maxPendingMutations = maxPendingMutations;
+        this.gson = gson != null ? gson : MayuJson.DEFAULT_GSON;
+        this.errorHandler = errorHandler;
+
+        if (this.flushInterval.isNegative() || this.flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MayuJson-WriteBehindFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalNanos = this.flushInterval.toNanos();
+        executor.scheduleWithFixedDelay(this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+
+        if (registerShutdownHook == null || registerShutdownHook) {
+            this.shutdownHook = new Thread(this::closeQuietly, "MayuJson-WriteBehindFlusher-ShutdownHook");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } else {
+            this.shutdownHook = null;
+        }
+    }
+
+    /**
+     * Registers the specified {@link MayuJson}. From now on, its mutators and {@link MayuJson#save()} only mark it as dirty.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IllegalStateException When this flusher is closed or the {@link MayuJson} is already registered in another flusher or in
+     *                               {@link MayuJsonJournal}
+     */
+    public void register(@NonNull MayuJson mayuJson) {
+        if (closed) {
+            throw new IllegalStateException("WriteBehindFlusher is closed");
+        }
+
+        synchronized (mayuJson) {
+            if (mayuJson.getWriteBehindFlusher() != null && mayuJson.getWriteBehindFlusher() != this) {
+                throw new IllegalStateException("MayuJson at " + mayuJson.getPath().toAbsolutePath() + " is already registered in another WriteBehindFlusher");
+            }
+
+            if (mayuJson.getJournal() != null) {
+                throw new IllegalStateException("MayuJson at " + mayuJson.getPath().toAbsolutePath() + " is registered in MayuJsonJournal");
+            }
+
+            mayuJson.setWriteBehindFlusher(this);
+            registered.add(mayuJson);
+        }
+    }
+
+    /**
+     * Flushes and unregisters the specified {@link MayuJson}. From now on, it saves synchronously again.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IOException When I/O exception occurs while flushing (the {@link MayuJson} is unregistered regardless)
+     */
+    public void unregister(@NonNull MayuJson mayuJson) throws IOException {
+        if (!registered.contains(mayuJson)) {
+            return;
+        }
+
+        try {
+            flush(mayuJson);
+        } finally {
+            synchronized (mayuJson) {
+                mayuJson.setWriteBehindFlusher(null);
+                registered.remove(mayuJson);
+                flushLocks.remove(mayuJson);
+            }
+        }
+    }
+
+    /**
+     * Determines if the specified {@link MayuJson} has changes which were not flushed yet
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @return true if dirty, false otherwise
+     */
+    public boolean isDirty(@NonNull MayuJson mayuJson) {
+        return pendingMutations.containsKey(mayuJson);
+    }
+
+    /**
+     * Saves all dirty {@link MayuJson}s right away, on the calling thread
+     *
+     * @throws IOException When I/O exception occurs while saving any of them (the rest is still flushed, first exception is thrown)
+     */
+    public void flush() throws IOException {
+        IOException firstException = null;
+
+        for (MayuJson mayuJson : pendingMutations.keySet()) {
+            try {
+                flush(mayuJson);
+            } catch (IOException exception) {
+                if (firstException == null) {
+                    firstException = exception;
+                } else {
+                    firstException.addSuppressed(exception);
+                }
+            }
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Saves the specified {@link MayuJson} right away, on the calling thread, if it is dirty
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     *
+     * @throws IOException When I/O exception occurs while saving (the {@link MayuJson} stays dirty)
+     */
+    public void flush(@NonNull MayuJson mayuJson) throws IOException {
+        // Holding the lock for the whole save keeps the saves of single MayuJson in order, mutators only need the MayuJson's monitor
+        synchronized (flushLocks.computeIfAbsent(mayuJson, key -> new Object())) {
+            JsonObject snapshot;
+            AtomicInteger mutations;
+
+            synchronized (mayuJson) {
+                mutations = pendingMutations.remove(mayuJson);
+
+                if (mutations == null) {
+                    return;
+                }
+
+                snapshot = mayuJson.takeSnapshot(true);
+            }
+
+            try {
+                mayuJson.writeSnapshot(snapshot, gson);
+            } catch (Exception exception) {
+                pendingMutations.merge(mayuJson, mutations, (current, failed) -> {
+                    current.addAndGet(failed.get());
+                    return current;
+                });
+
+                if (exception instanceof IOException) {
+                    throw (IOException) exception;
+                }
+
+                throw new IOException("Could not save MayuJson at " + mayuJson.getPath().toAbsolutePath() + "!", exception);
+            }
+        }
+    }
+
+    /**
+     * Flushes all dirty {@link MayuJson}s, stops the background thread, removes the shutdown hook and unregisters all {@link MayuJson}s
+     *
+     * @throws IOException When I/O exception occurs while flushing
+     */
+    @Override
+    public void close() throws IOException {
+        close(false);
+    }
+
+    private void close(boolean quietly) throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        executor.shutdown();
+
+        if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // JVM is already shutting down
+            }
+        }
+
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            if (quietly) {
+                flushQuietly();
+            } else {
+                flush();
+            }
+        } finally {
+            for (MayuJson mayuJson : registered) {
+                synchronized (mayuJson) {
+                    mayuJson.setWriteBehindFlusher(null);
+                }
+            }
+
+            registered.clear();
+            flushLocks.clear();
+        }
+    }
+
+    /**
+     * Marks the specified {@link MayuJson} as dirty. Invoked by {@link MayuJson}.
+     *
+     * @param mayuJson Non-null {@link MayuJson}
+     */
+    void markDirty(@NonNull MayuJson mayuJson) {
+        int mutations = pendingMutations.computeIfAbsent(mayuJson, key -> new AtomicInteger()).incrementAndGet();
+
+        if (maxPendingMutations > 0 && mutations == maxPendingMutations && !closed) {
+            try {
+                executor.execute(() -> flushQuietly(mayuJson));
+            } catch (RejectedExecutionException ignored) {
+                // Closing, everything is flushed by close()
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        for (MayuJson mayuJson : pendingMutations.keySet()) {
+            flushQuietly(mayuJson);
+        }
+    }
+
+    private void flushQuietly(MayuJson mayuJson) {
+        try {
+            flush(mayuJson);
+        } catch (Exception exception) {
+            errorHandler.accept(mayuJson, exception);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close(true);
+        } catch (IOException ignored) {
+            // Errors are passed to the error handler
+        }
+    }
+}
@@ -0,0 +1,809 @@
+package dev.mayuna.mayusjsonutils.processor;
+
+import dev.mayuna.mayusjsonutils.GenerateTypeAdapter;
+import dev.mayuna.mayusjsonutils.GeneratedTypeAdapters;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor which generates {@link dev.mayuna.mayusjsonutils.GeneratedTypeAdapterFactory} for every class annotated with
+ * {@link GenerateTypeAdapter}<br>
+ * The generated adapters read and write fields directly (or through their getters and setters), in the same order and under the same names as
+ * Gson's reflective adapter, so files written by either of them are the same. See {@link GenerateTypeAdapter} for the requirements on the
+ * annotated class, violations are reported as compilation errors.
+ */
+@SupportedAnnotationTypes("dev.mayuna.mayusjsonutils.GenerateTypeAdapter")
+public final class GeneratedTypeAdapterProcessor extends AbstractProcessor {
+
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+    private static final String JSON_ADAPTER = "com.google.gson.annotations.JsonAdapter";
+
+    /**
+     * Gson annotations of fields which the generated adapters do not apply, so they are reported instead of silently ignored
+     */
+    private static final String[] UNSUPPORTED_FIELD_ANNOTATIONS = {
+            JSON_ADAPTER, "com.google.gson.annotations.Expose", "com.google.gson.annotations.Since", "com.google.gson.annotations.Until"
+    };
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+    private static final String LOMBOK_SETTER = "lombok.Setter";
+    private static final String LOMBOK_DATA = "lombok.Data";
+    private static final String LOMBOK_NO_ARGS_CONSTRUCTOR = "lombok.NoArgsConstructor";
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(GenerateTypeAdapter.class)) {
+            try {
+                generate(element);
+            } catch (ProcessingException exception) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, exception.getMessage(), exception.getElement());
+            } catch (IOException exception) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write generated type adapter: " + exception, element);
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(Element element) throws ProcessingException, IOException {
+        if (element.getKind() != ElementKind.CLASS) {
+            throw new ProcessingException(element, "@GenerateTypeAdapter can be used only on classes");
+        }
+
+        TypeElement typeElement = (TypeElement) element;
+        checkClass(typeElement);
+
+        List<Property> properties = collectProperties(typeElement);
+        String packageName = elements.getPackageOf(typeElement).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(typeElement).toString();
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        String generatedName = simpleBinaryName.replace('$', '_') + GeneratedTypeAdapters.CLASS_NAME_SUFFIX;
+        String qualifiedGeneratedName = packageName.isEmpty() ? generatedName : packageName + "." + generatedName;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedGeneratedName, typeElement).openWriter()) {
+            writer.write(new SourceWriter(packageName, generatedName, typeElement.getQualifiedName().toString(), properties).write());
+        }
+    }
+
+    private void checkClass(TypeElement typeElement) throws ProcessingException {
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new ProcessingException(typeElement, "@GenerateTypeAdapter class must not be abstract");
+        }
+
+        if (!typeElement.getTypeParameters().isEmpty()) {
+            throw new ProcessingException(typeElement, "@GenerateTypeAdapter class must not be generic");
+        }
+
+        if (getAnnotation(typeElement, JSON_ADAPTER) != null) {
+            throw new ProcessingException(typeElement, "@GenerateTypeAdapter class must not be annotated with @JsonAdapter, which Gson would use instead");
+        }
+
+        for (Element current = typeElement; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new ProcessingException(typeElement, "@GenerateTypeAdapter class and its enclosing classes must not be private");
+            }
+
+            if (current.getEnclosingElement() instanceof TypeElement && !current.getModifiers().contains(Modifier.STATIC)) {
+                throw new ProcessingException(typeElement, "@GenerateTypeAdapter class and its enclosing classes must be static if they are nested");
+            }
+
+            if (current.getEnclosingElement().getKind() != ElementKind.PACKAGE && !(current.getEnclosingElement() instanceof TypeElement)) {
+                throw new ProcessingException(typeElement, "@GenerateTypeAdapter class must not be local");
+            }
+        }
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(typeElement.getEnclosedElements());
+
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return;
+            }
+        }
+
+        // Lombok may not have generated the constructor yet
+        AnnotationMirror noArgsConstructor = getAnnotation(typeElement, LOMBOK_NO_ARGS_CONSTRUCTOR);
+
+        if (noArgsConstructor != null && isAccessible(getAccessLevel(noArgsConstructor, "access"), true)
+                || constructors.isEmpty() && getAnnotation(typeElement, LOMBOK_DATA) != null) {
+            return;
+        }
+
+        throw new ProcessingException(typeElement, "@GenerateTypeAdapter class must have non-private no-args constructor");
+    }
+
+    /**
+     * Collects bound fields like Gson does: declared fields of the class, then of its superclasses
+     */
+    private List<Property> collectProperties(TypeElement typeElement) throws ProcessingException {
+        DeclaredType classType = (DeclaredType) typeElement.asType();
+        List<Property> properties = new ArrayList<>();
+        Map<String, VariableElement> jsonNames = new HashMap<>();
+        Set<String> adapterNames = new HashSet<>();
+
+        TypeElement current = typeElement;
+
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+
+                Property property = createProperty(typeElement, classType, field);
+
+                for (String jsonName : property.getReadNames()) {
+                    VariableElement previousField = jsonNames.put(jsonName, field);
+
+                    if (previousField != null) {
+                        throw new ProcessingException(field, "Class " + typeElement.getQualifiedName() + " declares multiple JSON fields named '" + jsonName + "'; conflict is caused by fields "
+                                + previousField.getEnclosingElement() + "#" + previousField.getSimpleName() + " and " + current.getQualifiedName() + "#" + field.getSimpleName());
+                    }
+                }
+
+                if (property.getKind() == PropertyKind.ADAPTER) {
+                    String adapterName = property.getFieldName() + "Adapter";
+
+                    while (!adapterNames.add(adapterName)) {
+                        adapterName = adapterName + "_";
+                    }
+
+                    property.setAdapterName(adapterName);
+                }
+
+                properties.add(property);
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return properties;
+    }
+
+    private Property createProperty(TypeElement typeElement, DeclaredType classType, VariableElement field) throws ProcessingException {
+        TypeMirror fieldType = types.asMemberOf(classType, field);
+        String fieldName = field.getSimpleName().toString();
+
+        for (String annotationName : UNSUPPORTED_FIELD_ANNOTATIONS) {
+            if (getAnnotation(field, annotationName) != null) {
+                throw new ProcessingException(field, "Field " + fieldName + " of @GenerateTypeAdapter class must not be annotated with @"
+                        + annotationName.substring(annotationName.lastIndexOf('.') + 1) + ", generated adapters do not support it");
+            }
+        }
+
+        Property property = new Property(fieldName, typeSource(field, fieldType));
+
+        AnnotationMirror serializedName = getAnnotation(field, SERIALIZED_NAME);
+        property.setJsonName(serializedName != null ? (String) getAnnotationValue(serializedName, "value") : fieldName);
+
+        if (serializedName != null) {
+            Object alternates = getAnnotationValue(serializedName, "alternate");
+
+            if (alternates instanceof List) {
+                for (Object alternate : (List<?>) alternates) {
+                    property.getAlternateNames().add((String) ((AnnotationValue) alternate).getValue());
+                }
+            }
+        }
+
+        if (fieldType.getKind().isPrimitive()) {
+            switch (fieldType.getKind()) {
+                case INT:
+                    property.setKind(PropertyKind.INT);
+                    break;
+                case LONG:
+                    property.setKind(PropertyKind.LONG);
+                    break;
+                case BOOLEAN:
+                    property.setKind(PropertyKind.BOOLEAN);
+                    break;
+                default:
+                    property.setKind(PropertyKind.ADAPTER);
+                    property.setPrimitive(true);
+                    property.setAdapterTypeSource(types.boxedClass((PrimitiveType) fieldType).getQualifiedName().toString());
+                    break;
+            }
+        } else if (fieldType.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) fieldType).asElement()).getQualifiedName().contentEquals("java.lang.String")) {
+            property.setKind(PropertyKind.STRING);
+        } else {
+            property.setKind(PropertyKind.ADAPTER);
+            property.setAdapterTypeSource(property.getTypeSource());
+        }
+
+        if (property.getKind() == PropertyKind.ADAPTER) {
+            TypeMirror erasure = types.erasure(fieldType);
+            String erasureSource = typeSource(field, erasure);
+
+            if (erasureSource.equals(property.getTypeSource())) {
+                property.setTypeTokenSource("TypeToken.get(" + erasureSource + ".class)");
+            } else {
+                String typeExpression = typeExpression(fieldType);
+
+                // Parameterized TypeToken is cheaper on cold JVM than TypeToken subclass, which is needed only for wildcards
+                property.setTypeTokenSource(typeExpression != null
+                                                    ? "(TypeToken<" + property.getAdapterTypeSource() + ">) TypeToken.get(" + typeExpression + ")"
+                                                    : "new TypeToken<" + property.getAdapterTypeSource() + ">() {}");
+            }
+
+            property.setNestingGenerated(!fieldType.getKind().isPrimitive() && isNestingGenerated(fieldType));
+
+            if (!fieldType.getKind().isPrimitive()) {
+                Element fieldTypeElement = fieldType.getKind() == TypeKind.DECLARED ? ((DeclaredType) fieldType).asElement() : null;
+                boolean finalType = fieldTypeElement != null && fieldTypeElement.getModifiers().contains(Modifier.FINAL);
+
+                if (!finalType) {
+                    property.setRuntimeClassSource(erasureSource + ".class");
+                }
+
+                // Gson does not write fields which reference the object itself
+                property.setSelfReferencePossible(types.isAssignable(classType, erasure));
+            }
+        }
+
+        resolveAccess(typeElement, field, property);
+        return property;
+    }
+
+    /**
+     * Resolves how the field is read and written: directly, or through getter and setter
+     */
+    private void resolveAccess(TypeElement typeElement, VariableElement field, Property property) throws ProcessingException {
+        Set<Modifier> modifiers = field.getModifiers();
+        TypeElement declaringElement = (TypeElement) field.getEnclosingElement();
+        boolean samePackage = elements.getPackageOf(declaringElement).equals(elements.getPackageOf(typeElement));
+        boolean fieldAccessible = modifiers.contains(Modifier.PUBLIC) || !modifiers.contains(Modifier.PRIVATE) && samePackage;
+
+        String fieldName = property.getFieldName();
+        boolean primitiveBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+        boolean prefixedBoolean = primitiveBoolean && fieldName.length() > 2 && fieldName.startsWith("is") && Character.isUpperCase(fieldName.charAt(2));
+        String getterName = prefixedBoolean ? fieldName : (primitiveBoolean ? "is" : "get") + capitalize(fieldName);
+        String setterName = "set" + (prefixedBoolean ? fieldName.substring(2) : capitalize(fieldName));
+
+        if (fieldAccessible) {
+            property.setGetter("value." + fieldName);
+        } else if (hasAccessor(typeElement, field, getterName, 0, LOMBOK_GETTER, samePackage)) {
+            property.setGetter("value." + getterName + "()");
+        } else {
+            throw new ProcessingException(field, "Field " + fieldName + " of @GenerateTypeAdapter class must be accessible from package " + elements.getPackageOf(typeElement)
+                    + ", directly or through getter " + getterName + "()");
+        }
+
+        if (modifiers.contains(Modifier.FINAL)) {
+            throw new ProcessingException(field, "Field " + fieldName + " of @GenerateTypeAdapter class must not be final, make it transient if it should not be bound");
+        }
+
+        if (fieldAccessible) {
+            property.setSetterPrefix("value." + fieldName + " = ");
+            property.setSetterSuffix("");
+        } else if (hasAccessor(typeElement, field, setterName, 1, LOMBOK_SETTER, samePackage)) {
+            property.setSetterPrefix("value." + setterName + "(");
+            property.setSetterSuffix(")");
+        } else {
+            throw new ProcessingException(field, "Field " + fieldName + " of @GenerateTypeAdapter class must be accessible from package " + elements.getPackageOf(typeElement)
+                    + ", directly or through setter " + setterName + "(...)");
+        }
+    }
+
+    /**
+     * Checks if the accessor method exists and is accessible, or if Lombok will generate it
+     */
+    private boolean hasAccessor(TypeElement typeElement, VariableElement field, String name, int parameterCount, String lombokAnnotation, boolean samePackage) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(typeElement))) {
+            if (!method.getSimpleName().contentEquals(name) || method.getParameters().size() != parameterCount || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+
+            boolean methodSamePackage = elements.getPackageOf(method).equals(elements.getPackageOf(typeElement));
+
+            if (method.getModifiers().contains(Modifier.PUBLIC) || !method.getModifiers().contains(Modifier.PRIVATE) && methodSamePackage) {
+                return true;
+            }
+        }
+
+        AnnotationMirror fieldAnnotation = getAnnotation(field, lombokAnnotation);
+
+        if (fieldAnnotation != null) {
+            return isAccessible(getAccessLevel(fieldAnnotation, "value"), samePackage);
+        }
+
+        Element declaringElement = field.getEnclosingElement();
+        AnnotationMirror classAnnotation = getAnnotation(declaringElement, lombokAnnotation);
+
+        if (classAnnotation != null) {
+            return isAccessible(getAccessLevel(classAnnotation, "value"), samePackage);
+        }
+
+        return getAnnotation(declaringElement, LOMBOK_DATA) != null;
+    }
+
+    private String typeSource(Element element, TypeMirror typeMirror) throws ProcessingException {
+        switch (typeMirror.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return typeMirror.getKind().name().toLowerCase(Locale.ROOT);
+            case ARRAY:
+                return typeSource(element, ((ArrayType) typeMirror).getComponentType()) + "[]";
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) typeMirror;
+                StringBuilder source = new StringBuilder(((TypeElement) declaredType.asElement()).getQualifiedName());
+
+                if (!declaredType.getTypeArguments().isEmpty()) {
+                    source.append('<');
+
+                    for (int i = 0; i < declaredType.getTypeArguments().size(); i++) {
+                        source.append(i == 0 ? "" : ", ").append(typeSource(element, declaredType.getTypeArguments().get(i)));
+                    }
+
+                    source.append('>');
+                }
+
+                return source.toString();
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) typeMirror;
+
+                if (wildcardType.getExtendsBound() != null) {
+                    return "? extends " + typeSource(element, wildcardType.getExtendsBound());
+                }
+
+                if (wildcardType.getSuperBound() != null) {
+                    return "? super " + typeSource(element, wildcardType.getSuperBound());
+                }
+
+                return "?";
+            default:
+                throw new ProcessingException(element, "Type " + typeMirror + " of field " + element.getSimpleName() + " is not supported by @GenerateTypeAdapter");
+        }
+    }
+
+    /**
+     * Returns Java expression of {@link java.lang.reflect.Type} of the specified type, null if it contains wildcards
+     */
+    private String typeExpression(TypeMirror typeMirror) {
+        switch (typeMirror.getKind()) {
+            case ARRAY:
+                String componentExpression = typeExpression(((ArrayType) typeMirror).getComponentType());
+                return componentExpression != null ? "TypeToken.getArray(" + componentExpression + ").getType()" : null;
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) typeMirror;
+                String rawSource = ((TypeElement) declaredType.asElement()).getQualifiedName() + ".class";
+
+                if (declaredType.getTypeArguments().isEmpty()) {
+                    return rawSource;
+                }
+
+                StringBuilder expression = new StringBuilder("TypeToken.getParameterized(").append(rawSource);
+
+                for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+                    String argumentExpression = typeExpression(typeArgument);
+
+                    if (argumentExpression == null) {
+                        return null;
+                    }
+
+                    expression.append(", ").append(argumentExpression);
+                }
+
+                return expression.append(").getType()").toString();
+            default:
+                return typeMirror.getKind().isPrimitive() ? typeMirror.getKind().name().toLowerCase(Locale.ROOT) + ".class" : null;
+        }
+    }
+
+    /**
+     * Checks if the specified type has type arguments or array components which are annotated with {@link GenerateTypeAdapter}
+     */
+    private boolean isNestingGenerated(TypeMirror typeMirror) {
+        switch (typeMirror.getKind()) {
+            case ARRAY:
+                return isGenerated(((ArrayType) typeMirror).getComponentType()) || isNestingGenerated(((ArrayType) typeMirror).getComponentType());
+            case DECLARED:
+                for (TypeMirror typeArgument : ((DeclaredType) typeMirror).getTypeArguments()) {
+                    if (isGenerated(typeArgument) || isNestingGenerated(typeArgument)) {
+                        return true;
+                    }
+                }
+
+                return false;
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) typeMirror;
+                TypeMirror bound = wildcardType.getExtendsBound() != null ? wildcardType.getExtendsBound() : wildcardType.getSuperBound();
+                return bound != null && (isGenerated(bound) || isNestingGenerated(bound));
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isGenerated(TypeMirror typeMirror) {
+        return typeMirror.getKind() == TypeKind.DECLARED && ((DeclaredType) typeMirror).asElement().getAnnotation(GenerateTypeAdapter.class) != null;
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return annotationMirror;
+            }
+        }
+
+        return null;
+    }
+
+    private static Object getAnnotationValue(AnnotationMirror annotationMirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotationMirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns name of Lombok's {@code AccessLevel} specified in the annotation, {@code PUBLIC} by default
+     */
+    private static String getAccessLevel(AnnotationMirror annotationMirror, String name) {
+        Object value = getAnnotationValue(annotationMirror, name);
+        return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : "PUBLIC";
+    }
+
+    private static boolean isAccessible(String accessLevel, boolean samePackage) {
+        switch (accessLevel) {
+            case "PUBLIC":
+                return true;
+            case "PRIVATE":
+            case "NONE":
+                return false;
+            default:
+                return samePackage;
+        }
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * How the property is read and written by the generated adapter
+     */
+    private enum PropertyKind {
+        INT,
+        LONG,
+        BOOLEAN,
+        STRING,
+        ADAPTER
+    }
+
+    /**
+     * Bound field of the annotated class
+     */
+    @Getter
+    @Setter
+    private static final class Property {
+
+        private final String fieldName;
+        private final String typeSource;
+        private final List<String> alternateNames = new ArrayList<>();
+        private String jsonName;
+        private PropertyKind kind;
+        private boolean primitive;
+        private String adapterName;
+        private String adapterTypeSource;
+        private String typeTokenSource;
+        private boolean nestingGenerated;
+        private String runtimeClassSource;
+        private boolean selfReferencePossible;
+        private String getter;
+        private String setterPrefix;
+        private String setterSuffix;
+
+        private Property(String fieldName, String typeSource) {
+            this.fieldName = fieldName;
+            this.typeSource = typeSource;
+        }
+
+        /**
+         * Returns the JSON name and all alternate names
+         */
+        private List<String> getReadNames() {
+            List<String> names = new ArrayList<>();
+            names.add(jsonName);
+            names.addAll(alternateNames);
+            return names;
+        }
+    }
+
+    /**
+     * Writes source code of the generated {@link dev.mayuna.mayusjsonutils.GeneratedTypeAdapterFactory}
+     */
+    private static final class SourceWriter {
+
+        private final String packageName;
+        private final String generatedName;
+        private final String className;
+        private final List<Property> properties;
+        private final StringBuilder source = new StringBuilder();
+
+        private SourceWriter(String packageName, String generatedName, String className, List<Property> properties) {
+            this.packageName = packageName;
+            this.generatedName = generatedName;
+            this.className = className;
+            this.properties = properties;
+        }
+
+        private String write() {
+            if (!packageName.isEmpty()) {
+                line(0, "package " + packageName + ";");
+                line(0, "");
+            }
+
+            line(0, "import com.google.gson.Gson;");
+            line(0, "import com.google.gson.TypeAdapter;");
+            line(0, "import com.google.gson.reflect.TypeToken;");
+            line(0, "import com.google.gson.stream.JsonReader;");
+            line(0, "import com.google.gson.stream.JsonToken;");
+            line(0, "import com.google.gson.stream.JsonWriter;");
+            line(0, "import dev.mayuna.mayusjsonutils.GeneratedTypeAdapterFactory;");
+            line(0, "import dev.mayuna.mayusjsonutils.GeneratedTypeAdapters;");
+            line(0, "");
+            line(0, "import java.io.IOException;");
+            line(0, "");
+            line(0, "/**");
+            line(0, " * Generated by " + GeneratedTypeAdapterProcessor.class.getName() + " for {@link " + className + "}, do not edit");
+            line(0, " */");
+            line(0, "public final class " + generatedName + " extends TypeAdapter<" + className + "> implements GeneratedTypeAdapterFactory<" + className + "> {");
+            line(0, "");
+            writeBody();
+            line(0, "}");
+            return source.toString();
+        }
+
+        private void writeBody() {
+            line(1, "private final Gson gson;");
+
+            for (Property property : properties) {
+                if (property.kind == PropertyKind.ADAPTER) {
+                    line(1, "private TypeAdapter<" + property.adapterTypeSource + "> " + property.adapterName + ";");
+                }
+            }
+
+            line(0, "");
+            line(1, "/**");
+            line(1, " * Creates the factory, adapters are created with {@link #create(Gson)}");
+            line(1, " */");
+            line(1, "public " + generatedName + "() {");
+            line(2, "this(null);");
+            line(1, "}");
+            line(0, "");
+            line(1, "private " + generatedName + "(Gson gson) {");
+            line(2, "this.gson = gson;");
+            line(1, "}");
+            line(0, "");
+            line(1, "@Override");
+            line(1, "public Class<" + className + "> getType() {");
+            line(2, "return " + className + ".class;");
+            line(1, "}");
+            line(0, "");
+            line(1, "@Override");
+            line(1, "public " + className + " newInstance() {");
+            line(2, "return new " + className + "();");
+            line(1, "}");
+            line(0, "");
+            line(1, "@Override");
+            line(1, "public TypeAdapter<" + className + "> create(Gson gson) {");
+            line(2, "return new " + generatedName + "(gson);");
+            line(1, "}");
+
+            // Adapters of members are resolved lazily, so classes referencing each other do not recurse
+            for (Property property : properties) {
+                if (property.kind == PropertyKind.ADAPTER) {
+                    String method = property.nestingGenerated ? "getNestingMemberAdapter" : "getMemberAdapter";
+
+                    line(0, "");
+
+                    if (property.typeTokenSource.startsWith("(")) {
+                        line(1, "@SuppressWarnings(\"unchecked\")");
+                    }
+
+                    line(1, "private TypeAdapter<" + property.adapterTypeSource + "> " + property.adapterName + "() {");
+                    line(2, "if (" + property.adapterName + " == null) {");
+                    line(3, property.adapterName + " = GeneratedTypeAdapters." + method + "(gson, " + property.typeTokenSource + ");");
+                    line(2, "}");
+                    line(0, "");
+                    line(2, "return " + property.adapterName + ";");
+                    line(1, "}");
+                }
+            }
+
+            line(0, "");
+            writeWrite();
+            line(0, "");
+            writeRead();
+        }
+
+        private void writeWrite() {
+            line(1, "@Override");
+            line(1, "public void write(JsonWriter out, " + className + " value) throws IOException {");
+            line(2, "if (value == null) {");
+            line(3, "out.nullValue();");
+            line(3, "return;");
+            line(2, "}");
+            line(0, "");
+            line(2, "out.beginObject();");
+            boolean previousBlock = false;
+
+            for (Property property : properties) {
+                if (property.kind != PropertyKind.ADAPTER) {
+                    if (previousBlock) {
+                        line(0, "");
+                        previousBlock = false;
+                    }
+
+                    line(2, "out.name(" + literal(property.jsonName) + ");");
+                    line(2, "out.value(" + property.getter + ");");
+                    continue;
+                }
+
+                previousBlock = true;
+
+                String write = property.runtimeClassSource != null
+                               ? "GeneratedTypeAdapters.writeRuntimeType(gson, " + property.adapterName + "(), " + property.runtimeClassSource + ", out, fieldValue);"
+                               : property.adapterName + "().write(out, fieldValue);";
+
+                line(0, "");
+                line(2, "{");
+                line(3, property.adapterTypeSource + " fieldValue = " + property.getter + ";");
+
+                if (property.selfReferencePossible) {
+                    line(0, "");
+                    line(3, "if (fieldValue != value) {");
+                    line(4, "out.name(" + literal(property.jsonName) + ");");
+                    line(4, write);
+                    line(3, "}");
+                } else {
+                    line(3, "out.name(" + literal(property.jsonName) + ");");
+                    line(3, write);
+                }
+
+                line(2, "}");
+            }
+
+            line(0, "");
+            line(2, "out.endObject();");
+            line(1, "}");
+        }
+
+        private void writeRead() {
+            line(1, "@Override");
+            line(1, "public " + className + " read(JsonReader in) throws IOException {");
+            line(2, "if (in.peek() == JsonToken.NULL) {");
+            line(3, "in.nextNull();");
+            line(3, "return null;");
+            line(2, "}");
+            line(0, "");
+            line(2, className + " value = new " + className + "();");
+            line(2, "in.beginObject();");
+            line(0, "");
+            line(2, "while (in.hasNext()) {");
+            line(3, "switch (in.nextName()) {");
+
+            for (Property property : properties) {
+                for (String name : property.getReadNames()) {
+                    line(4, "case " + literal(name) + ":");
+                }
+
+                switch (property.kind) {
+                    case INT:
+                    case LONG:
+                    case BOOLEAN:
+                        // JSON null keeps the default value of primitive field, the same as Gson does
+                        String method = property.kind == PropertyKind.INT ? "readInt" : property.kind == PropertyKind.LONG ? "readLong" : "readBoolean";
+                        line(5, "if (in.peek() == JsonToken.NULL) {");
+                        line(6, "in.nextNull();");
+                        line(5, "} else {");
+                        line(6, property.setterPrefix + "GeneratedTypeAdapters." + method + "(in)" + property.setterSuffix + ";");
+                        line(5, "}");
+                        break;
+                    case STRING:
+                        line(5, property.setterPrefix + "GeneratedTypeAdapters.readString(in)" + property.setterSuffix + ";");
+                        break;
+                    default:
+                        if (property.primitive) {
+                            line(5, "{");
+                            line(6, property.adapterTypeSource + " fieldValue = " + property.adapterName + "().read(in);");
+                            line(0, "");
+                            line(6, "if (fieldValue != null) {");
+                            line(7, property.setterPrefix + "fieldValue" + property.setterSuffix + ";");
+                            line(6, "}");
+                            line(5, "}");
+                        } else {
+                            line(5, property.setterPrefix + property.adapterName + "().read(in)" + property.setterSuffix + ";");
+                        }
+                        break;
+                }
+
+                line(5, "break;");
+            }
+
+            line(4, "default:");
+            line(5, "in.skipValue();");
+            line(5, "break;");
+            line(3, "}");
+            line(2, "}");
+            line(0, "");
+            line(2, "in.endObject();");
+            line(2, "return value;");
+            line(1, "}");
+        }
+
+        private void line(int indentation, String line) {
+            if (!line.isEmpty()) {
+                for (int i = 0; i < indentation; i++) {
+                    source.append("    ");
+                }
+            }
+
+            source.append(line).append('\n');
+        }
+
+        private static String literal(String value) {
+            StringBuilder literal = new StringBuilder("\"");
+
+            for (char character : value.toCharArray()) {
+                if (character == '"' || character == '\\') {
+                    literal.append('\\').append(character);
+                } else if (character < 0x20 || character > 0x7E) {
+                    literal.append(String.format("\\u%04x", (int) character));
+                } else {
+                    literal.append(character);
+                }
+            }
+
+            return literal.append('"').toString();
+        }
+    }
+
+    /**
+     * Invalid usage of {@link GenerateTypeAdapter}, reported as compilation error on the element
+     */
+    private static final class ProcessingException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private final @Getter Element element;
+
+        private ProcessingException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of {@link MayuJsonJournal} recovery: journals left over after closing or after a crash must replay into the last saved state
+ */
+class MayuJsonJournalTest {
+
+    private final List<Exception> compactionExceptions = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void noCompactionExceptions() {
+        assertTrue(compactionExceptions.isEmpty(), () -> "Compaction failed: " + compactionExceptions);
+    }
+
+    @Test
+    void closeThenPlainSaveThenReopen() throws IOException {
+        Path path = directory.resolve("data.json");
+        MayuJsonJournal journal = createJournal();
+        MayuJson mayuJson = MayuJson.createOrLoadJsonObject(path);
+
+        journal.register(mayuJson);
+        mayuJson.addProperty("a", 1);
+        mayuJson.addProperty("b", 1);
+        journal.close();
+
+        assertNull(mayuJson.getJournal());
+        assertEquals(json("{\"a\":1,\"b\":1}"), MayuJson.loadJsonObject(path).getJsonObject());
+
+        mayuJson.addProperty("a", 2);
+        mayuJson.remove("b");
+        mayuJson.save();
+
+        assertEquals(json("{\"a\":2}"), MayuJson.loadJsonObject(path).getJsonObject());
+    }
+
+    @Test
+    void plainSaveDeletesLeftoverJournals() throws IOException {
+        Path path = directory.resolve("data.json");
+        Files.write(path, "{\"a\":0}".getBytes(StandardCharsets.UTF_8));
+        writeJournal(MayuJsonJournal.oldJournalPathOf(path), MayuJsonJournal.addRecord("a", json("1")));
+        writeJournal(MayuJsonJournal.journalPathOf(path), MayuJsonJournal.addRecord("b", json("1")));
+
+        MayuJson mayuJson = MayuJson.loadJsonObject(path);
+        assertEquals(json("{\"a\":1,\"b\":1}"), mayuJson.getJsonObject());
+
+        mayuJson.addProperty("a", 2);
+        mayuJson.save();
+
+        assertFalse(Files.exists(MayuJsonJournal.journalPathOf(path)));
+        assertFalse(Files.exists(MayuJsonJournal.oldJournalPathOf(path)));
+        assertEquals(json("{\"a\":2,\"b\":1}"), MayuJson.loadJsonObject(path).getJsonObject());
+
+        writeJournal(MayuJsonJournal.journalPathOf(path), MayuJsonJournal.addRecord("a", json("3")));
+        ConcurrentMayuJson concurrentMayuJson = ConcurrentMayuJson.loadJsonObject(path);
+        concurrentMayuJson.add("a", json("4"));
+        concurrentMayuJson.save();
+
+        assertFalse(Files.exists(MayuJsonJournal.journalPathOf(path)));
+        assertEquals(json("{\"a\":4,\"b\":1}"), MayuJson.loadJsonObject(path).getJsonObject());
+    }
+
+    @Test
+    void crashAfterRotationBeforeSnapshot() throws IOException {
+        // The journal was rotated, but the compacted file was not written yet
+        Path path = directory.resolve("data.json");
+        Files.write(path, "{\"a\":0,\"c\":0}".getBytes(StandardCharsets.UTF_8));
+        writeJournal(MayuJsonJournal.oldJournalPathOf(path), MayuJsonJournal.addRecord("a", json("1")), MayuJsonJournal.addRecord("b", json("1")),
+                     MayuJsonJournal.removeRecord("c"));
+        writeJournal(MayuJsonJournal.journalPathOf(path), MayuJsonJournal.addRecord("a", json("2")));
+
+        assertEquals(json("{\"a\":2,\"b\":1}"), MayuJson.loadJsonObject(path).getJsonObject());
+    }
+
+    @Test
+    void crashAfterSnapshotBeforeDeletingOldJournal() throws IOException {
+        // The compacted file already contains the rotated journal, which was not deleted yet
+        Path path = directory.resolve("data.json");
+        Files.write(path, "{\"x\":1,\"a\":1,\"b\":1}".getBytes(StandardCharsets.UTF_8));
+        writeJournal(MayuJsonJournal.oldJournalPathOf(path), MayuJsonJournal.setRecord(json("{\"x\":1}").getAsJsonObject()),
+                     MayuJsonJournal.addRecord("a", json("1")), MayuJsonJournal.addRecord("b", json("1")));
+        writeJournal(MayuJsonJournal.journalPathOf(path), MayuJsonJournal.addRecord("a", json("2")), MayuJsonJournal.removeRecord("x"));
+
+        assertEquals(json("{\"a\":2,\"b\":1}"), MayuJson.loadJsonObject(path).getJsonObject());
+    }
+
+    @Test
+    void crashWhileAppendingRecord() throws IOException {
+        Path path = directory.resolve("data.json");
+        Files.write(path, "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(MayuJsonJournal.journalPathOf(path), (MayuJsonJournal.addRecord("a", json("1")) + "\n{\"op\":\"add\",\"ke").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(json("{\"a\":1}"), MayuJson.loadJsonObject(path).getJsonObject());
+    }
+
+    @Test
+    void compactedJournalReplaysIntoSameState() throws IOException {
+        Path path = directory.resolve("data.json");
+        MayuJsonJournal journal = createJournal();
+        MayuJson mayuJson = MayuJson.createOrLoadJsonObject(path);
+
+        try {
+            journal.register(mayuJson);
+            mayuJson.addProperty("a", 1);
+            journal.compact(mayuJson);
+            mayuJson.addProperty("b", 2);
+            mayuJson.save();
+
+            assertEquals(json("{\"a\":1,\"b\":2}"), MayuJson.loadJsonObject(path).getJsonObject());
+        } finally {
+            journal.close();
+        }
+    }
+
+    private MayuJsonJournal createJournal() {
+        return MayuJsonJournal.builder()
+                              .compactionThreshold(Long.MAX_VALUE)
+                              .errorHandler((mayuJson, exception) -> compactionExceptions.add(exception))
+                              .build();
+    }
+
+    private static void writeJournal(Path journalPath, JsonObject... records) throws IOException {
+        StringBuilder content = new StringBuilder();
+
+        for (JsonObject record : records) {
+            content.append(record).append('\n');
+        }
+
+        Files.write(journalPath, content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JsonElement json(String json) {
+        return JsonParser.parseString(json);
+    }
+}
@@ -0,0 +1,277 @@
+package dev.mayuna.mayusjsonutils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential test of {@link Utf8JsonParser} against Gson's {@link JsonParser}, both must produce the same tree for any strict JSON
+ */
+class Utf8JsonParserTest {
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private static final String[] EDGE_CASES = {
+            "5", "  5", "5  ", "\n\t\r 5 \n", "-0", "0", "-12", "12.5", "0.0001", "1e5", "1E+5", "-1.5e-10", "123456789012345678901234567890",
+            "true", "false", "null", " true ", "\"\"", "\"text\"", "\"\\u00e9\\n\\\"\\\\\\/\\b\\f\\r\\t\"", "\"é ✓ \uD83D\uDE00\"",
+            "[]", "{}", " [ ] ", " { } ", "[1,2,3]", "[[[]]]", "{\"a\":{\"b\":[1,{\"c\":null}]}}", "{\"a\":1,\"a\":2}", "[0,-0,0e0,0.0E-0]",
+            "{\"\":\"\"}", "{\"\\u0041\":\"\\uD83D\\uDE00\"}", "[true,false,null]",
+    };
+
+    private static final String[] NOT_STRICT = {
+            "NaN", "Infinity", "-Infinity", "01", "1.", ".5", "1e", "-", "+1", "[1,]", "{\"a\":1,}", "{'a':1}", "{a:1}", "[1 2]", "1 2",
+            "// comment\n1", "tru", "nul", "truex", "\"unterminated", "[", "{", "{\"a\"}", "[1];", "\"\\x\"",
+    };
+
+    @Test
+    void edgeCases() throws Exception {
+        for (String json : EDGE_CASES) {
+            assertSameTree(json);
+            assertSameTree(BYTE_ORDER_MARK + json);
+        }
+    }
+
+    @Test
+    void emptyInputIsEmptyObject() throws Exception {
+        for (String json : new String[]{"", "   ", "\n\t", BYTE_ORDER_MARK, BYTE_ORDER_MARK + "  "}) {
+            for (int chunkSize = 1; chunkSize <= 3; chunkSize++) {
+                assertEquals(new JsonObject(), parse(json, chunkSize), "Input: " + escape(json));
+            }
+        }
+    }
+
+    @Test
+    void notStrictJson() {
+        for (String json : NOT_STRICT) {
+            for (int chunkSize = 1; chunkSize <= 3; chunkSize++) {
+                int finalChunkSize = chunkSize;
+                assertThrows(Utf8JsonParser.NotStrictJsonException.class, () -> parse(json, finalChunkSize), "Input: " + escape(json));
+            }
+        }
+    }
+
+    @Test
+    void randomDocuments() throws Exception {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder json = new StringBuilder();
+            writeValue(json, random, 0);
+            assertSameTree(json.toString());
+        }
+    }
+
+    @Test
+    void documentLargerThanBuffer() throws Exception {
+        Random random = new Random(7);
+        StringBuilder json = new StringBuilder("{");
+
+        for (int i = 0; json.length() < 200 * 1024; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+
+            json.append("\"member").append(i).append("\":");
+            writeValue(json, random, 1);
+        }
+
+        assertSameTree(json.append('}').toString());
+    }
+
+    /**
+     * Parses the JSON with both parsers, feeding {@link Utf8JsonParser} in chunks of various sizes, so the values cross buffer refills
+     */
+    private static void assertSameTree(String json) throws Exception {
+        String text = json.startsWith(BYTE_ORDER_MARK) ? json.substring(1) : json;
+        JsonElement expected = JsonParser.parseString(text);
+
+        for (int chunkSize : new int[]{1, 2, 3, 7, 8192}) {
+            JsonElement actual = parse(json, chunkSize);
+            String message = "Input: " + escape(json) + ", chunk size: " + chunkSize;
+            assertEquals(expected, actual, message);
+            assertEquals(expected.toString(), actual.toString(), message);
+        }
+    }
+
+    private static JsonElement parse(String json, int chunkSize) throws IOException, Utf8JsonParser.NotStrictJsonException {
+        return Utf8JsonParser.parse(new ChunkedInputStream(json.getBytes(StandardCharsets.UTF_8), chunkSize));
+    }
+
+    private static void writeValue(StringBuilder json, Random random, int depth) {
+        writeWhitespace(json, random);
+
+        switch (random.nextInt(depth < 5 ? 8 : 6)) {
+            case 0:
+                json.append(random.nextBoolean() ? "true" : "false");
+                break;
+            case 1:
+                json.append("null");
+                break;
+            case 2:
+            case 3:
+                writeNumber(json, random);
+                break;
+            case 4:
+            case 5:
+                writeString(json, random);
+                break;
+            case 6: {
+                json.append('[');
+                int count = random.nextInt(6);
+
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+
+                    writeValue(json, random, depth + 1);
+                }
+
+                writeWhitespace(json, random);
+                json.append(']');
+                break;
+            }
+            default: {
+                json.append('{');
+                int count = random.nextInt(6);
+
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+
+                    writeWhitespace(json, random);
+                    writeString(json, random);
+                    writeWhitespace(json, random);
+                    json.append(':');
+                    writeValue(json, random, depth + 1);
+                }
+
+                writeWhitespace(json, random);
+                json.append('}');
+                break;
+            }
+        }
+
+        writeWhitespace(json, random);
+    }
+
+    private static void writeNumber(StringBuilder json, Random random) {
+        if (random.nextBoolean()) {
+            json.append('-');
+        }
+
+        if (random.nextInt(4) == 0) {
+            json.append('0');
+        } else {
+            json.append(1 + random.nextInt(9));
+            int digits = random.nextInt(random.nextInt(4) == 0 ? 25 : 4);
+
+            for (int i = 0; i < digits; i++) {
+                json.append(random.nextInt(10));
+            }
+        }
+
+        if (random.nextBoolean()) {
+            json.append('.');
+            int digits = 1 + random.nextInt(6);
+
+            for (int i = 0; i < digits; i++) {
+                json.append(random.nextInt(10));
+            }
+        }
+
+        if (random.nextInt(3) == 0) {
+            json.append(random.nextBoolean() ? 'e' : 'E');
+
+            if (random.nextBoolean()) {
+                json.append(random.nextBoolean() ? '+' : '-');
+            }
+
+            json.append(random.nextInt(300));
+        }
+    }
+
+    private static void writeString(StringBuilder json, Random random) {
+        json.append('"');
+        int length = random.nextInt(12);
+
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(8)) {
+                case 0:
+                    json.append("\\\"\\\\\\/\\b\\f\\n\\r\\t".substring(random.nextInt(8) * 2).substring(0, 2));
+                    break;
+                case 1:
+                    json.append(String.format("\\u%04x", random.nextInt(0xD800)));
+                    break;
+                case 2:
+                    json.append((char) (0xA0 + random.nextInt(0xD000)));
+                    break;
+                case 3:
+                    json.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                    break;
+                default:
+                    json.append((char) ('a' + random.nextInt(26)));
+                    break;
+            }
+        }
+
+        json.append('"');
+    }
+
+    private static void writeWhitespace(StringBuilder json, Random random) {
+        while (random.nextInt(4) == 0) {
+            json.append(" \n\r\t".charAt(random.nextInt(4)));
+        }
+    }
+
+    private static String escape(String json) {
+        String shortened = json.length() > 200 ? json.substring(0, 200) + "..." : json;
+        return shortened.replace("\uFEFF", "<BOM>").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
+    }
+
+    /**
+     * {@link InputStream} which returns at most the specified number of bytes per read
+     */
+    private static final class ChunkedInputStream extends InputStream {
+
+        private final byte[] bytes;
+        private final int chunkSize;
+        private int position;
+
+        private ChunkedInputStream(byte[] bytes, int chunkSize) {
+            this.bytes = bytes;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (position == bytes.length) {
+                return -1;
+            }
+
+            int count = Math.min(Math.min(length, chunkSize), bytes.length - position);
+            System.arraycopy(bytes, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}